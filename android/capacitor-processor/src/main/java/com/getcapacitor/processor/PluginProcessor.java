@@ -0,0 +1,273 @@
+package com.getcapacitor.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates a {@code com.getcapacitor.PluginInvoker} for every class annotated with
+ * {@code @CapacitorPlugin}. The invoker lists the plugin methods and calls them through a
+ * switch on the method name, so the bridge does not need reflection to index and call them.
+ *
+ * The annotations are matched by name, so the processor does not depend on the Android library.
+ */
+public class PluginProcessor extends AbstractProcessor {
+
+    static final String CAPACITOR_PLUGIN = "com.getcapacitor.annotation.CapacitorPlugin";
+    static final String PLUGIN_METHOD = "com.getcapacitor.PluginMethod";
+    static final String PLUGIN_CALL = "com.getcapacitor.PluginCall";
+    static final String INVOKER_SUFFIX = "_PluginInvoker";
+
+    private static final String RETURN_PROMISE = "promise";
+    private static final String THREAD_DEFAULT = "default";
+    // The PluginMethod.THREAD_* constants
+    private static final Set<String> THREADS = new HashSet<>(Arrays.asList(THREAD_DEFAULT, "main", "background", "io", "caller"));
+
+    private Elements elements;
+    private Filer filer;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(CAPACITOR_PLUGIN);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement pluginAnnotation = elements.getTypeElement(CAPACITOR_PLUGIN);
+        if (pluginAnnotation == null) {
+            return false;
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(pluginAnnotation)) {
+            if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) {
+                continue;
+            }
+
+            TypeElement plugin = (TypeElement) element;
+            if (plugin.getModifiers().contains(Modifier.PRIVATE)) {
+                messager.printMessage(Diagnostic.Kind.WARNING, "Skipping private plugin class, it will be called through reflection", plugin);
+                continue;
+            }
+
+            try {
+                writeInvoker(plugin, collectMethods(plugin));
+            } catch (IOException ex) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Unable to write plugin invoker: " + ex.getMessage(), plugin);
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Collect the public {@code @PluginMethod} methods of a plugin and of its superclasses,
+     * keyed by name. Like {@code Class.getMethods()}, an override hides the inherited method.
+     */
+    private Map<String, MethodInfo> collectMethods(TypeElement plugin) {
+        Map<String, MethodInfo> methods = new LinkedHashMap<>();
+        Set<String> seen = new HashSet<>();
+
+        TypeElement type = plugin;
+        while (type != null) {
+            for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                String name = method.getSimpleName().toString();
+                if (!isPluginMethod(method) || !seen.add(name)) {
+                    continue;
+                }
+
+                AnnotationMirror annotation = getAnnotation(method, PLUGIN_METHOD);
+                if (annotation != null) {
+                    String thread = getStringValue(annotation, "thread", THREAD_DEFAULT);
+                    if (!THREADS.contains(thread)) {
+                        messager.printMessage(
+                            Diagnostic.Kind.ERROR,
+                            "Unknown thread \"" + thread + "\", use one of the PluginMethod.THREAD_* constants",
+                            method,
+                            annotation
+                        );
+                    }
+                    methods.put(
+                        name,
+                        new MethodInfo(
+                            name,
+                            getStringValue(annotation, "returnType", RETURN_PROMISE),
+                            thread,
+                            getBooleanValue(annotation, "syncSafe")
+                        )
+                    );
+                }
+            }
+
+            TypeMirror superclass = type.getSuperclass();
+            type = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+
+        return methods;
+    }
+
+    private boolean isPluginMethod(ExecutableElement method) {
+        if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC)) {
+            return false;
+        }
+
+        List<? extends VariableElement> parameters = method.getParameters();
+        if (parameters.size() != 1) {
+            return false;
+        }
+
+        TypeMirror parameter = parameters.get(0).asType();
+        return (
+            parameter.getKind() == TypeKind.DECLARED &&
+            ((TypeElement) ((DeclaredType) parameter).asElement()).getQualifiedName().contentEquals(PLUGIN_CALL)
+        );
+    }
+
+    private static AnnotationMirror getAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private String getStringValue(AnnotationMirror annotation, String attribute, String defaultValue) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements
+            .getElementValuesWithDefaults(annotation)
+            .entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(attribute)) {
+                return String.valueOf(entry.getValue().getValue());
+            }
+        }
+        return defaultValue;
+    }
+
+    private boolean getBooleanValue(AnnotationMirror annotation, String attribute) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements
+            .getElementValuesWithDefaults(annotation)
+            .entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(attribute)) {
+                return Boolean.TRUE.equals(entry.getValue().getValue());
+            }
+        }
+        return false;
+    }
+
+    private void writeInvoker(TypeElement plugin, Map<String, MethodInfo> methods) throws IOException {
+        PackageElement packageElement = elements.getPackageOf(plugin);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(plugin).toString();
+        String invokerName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + INVOKER_SUFFIX;
+        String pluginName = plugin.getQualifiedName().toString();
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("// Generated by the Capacitor plugin processor. Do not edit.\n");
+        source.append("public final class ").append(invokerName).append(" implements com.getcapacitor.PluginInvoker {\n\n");
+
+        source.append("    @Override\n");
+        source.append("    public com.getcapacitor.PluginMethodHandle[] getMethods() {\n");
+        source.append("        return new com.getcapacitor.PluginMethodHandle[] {\n");
+        for (MethodInfo method : methods.values()) {
+            source
+                .append("            new com.getcapacitor.PluginMethodHandle(")
+                .append(quote(method.name))
+                .append(", ")
+                .append(quote(method.returnType))
+                .append(", ")
+                .append(quote(method.thread))
+                .append(", ")
+                .append(method.syncSafe)
+                .append("),\n");
+        }
+        source.append("        };\n");
+        source.append("    }\n\n");
+
+        source.append("    @Override\n");
+        source.append(
+            "    public boolean invoke(com.getcapacitor.Plugin plugin, String methodName, com.getcapacitor.PluginCall call) throws Exception {\n"
+        );
+        source.append("        ").append(pluginName).append(" target = (").append(pluginName).append(") plugin;\n");
+        source.append("        switch (methodName) {\n");
+        for (MethodInfo method : methods.values()) {
+            source.append("            case ").append(quote(method.name)).append(":\n");
+            source.append("                target.").append(method.name).append("(call);\n");
+            source.append("                return true;\n");
+        }
+        source.append("            default:\n");
+        source.append("                return false;\n");
+        source.append("        }\n");
+        source.append("    }\n");
+        source.append("}\n");
+
+        String qualifiedInvokerName = packageName.isEmpty() ? invokerName : packageName + "." + invokerName;
+        JavaFileObject file = filer.createSourceFile(qualifiedInvokerName, plugin);
+        try (Writer writer = file.openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private static final class MethodInfo {
+
+        final String name;
+        final String returnType;
+        final String thread;
+        final boolean syncSafe;
+
+        MethodInfo(String name, String returnType, String thread, boolean syncSafe) {
+            this.name = name;
+            this.returnType = returnType;
+            this.thread = thread;
+            this.syncSafe = syncSafe;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.getcapacitor.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PluginProcessorTest {
+
+    // Minimal versions of the Capacitor types the processor and the generated invokers refer to
+    private static final String[][] CAPACITOR_SOURCES = {
+        {
+            "com.getcapacitor.annotation.CapacitorPlugin",
+            "package com.getcapacitor.annotation;\n" +
+            "public @interface CapacitorPlugin {\n" +
+            "    String name() default \"\";\n" +
+            "}\n",
+        },
+        {
+            "com.getcapacitor.PluginMethod",
+            "package com.getcapacitor;\n" +
+            "public @interface PluginMethod {\n" +
+            "    String returnType() default \"promise\";\n" +
+            "    String thread() default \"default\";\n" +
+            "    boolean syncSafe() default false;\n" +
+            "}\n",
+        },
+        { "com.getcapacitor.Plugin", "package com.getcapacitor;\npublic class Plugin {}\n" },
+        {
+            "com.getcapacitor.PluginCall",
+            "package com.getcapacitor;\n" +
+            "public class PluginCall {\n" +
+            "    public final java.util.List<String> invoked = new java.util.ArrayList<>();\n" +
+            "}\n",
+        },
+        {
+            "com.getcapacitor.PluginMethodHandle",
+            "package com.getcapacitor;\n" +
+            "public class PluginMethodHandle {\n" +
+            "    public final String name, returnType, thread;\n" +
+            "    public final boolean syncSafe;\n" +
+            "    public PluginMethodHandle(String name, String returnType, String thread, boolean syncSafe) {\n" +
+            "        this.name = name; this.returnType = returnType; this.thread = thread; this.syncSafe = syncSafe;\n" +
+            "    }\n" +
+            "}\n",
+        },
+        {
+            "com.getcapacitor.PluginInvoker",
+            "package com.getcapacitor;\n" +
+            "public interface PluginInvoker {\n" +
+            "    PluginMethodHandle[] getMethods();\n" +
+            "    boolean invoke(Plugin plugin, String methodName, PluginCall call) throws Exception;\n" +
+            "}\n",
+        },
+    };
+
+    private static final String BASE_PLUGIN =
+        "package com.example;\n" +
+        "import com.getcapacitor.*;\n" +
+        "public abstract class BasePlugin extends Plugin {\n" +
+        "    @PluginMethod\n" +
+        "    public void inherited(PluginCall call) { call.invoked.add(\"base.inherited\"); }\n" +
+        "    @PluginMethod\n" +
+        "    public void overridden(PluginCall call) { call.invoked.add(\"base.overridden\"); }\n" +
+        "}\n";
+
+    private static final String PLUGIN =
+        "package com.example;\n" +
+        "import com.getcapacitor.*;\n" +
+        "import com.getcapacitor.annotation.CapacitorPlugin;\n" +
+        "@CapacitorPlugin(name = \"Example\")\n" +
+        "public class ExamplePlugin extends BasePlugin {\n" +
+        "    @PluginMethod(thread = \"io\", syncSafe = true)\n" +
+        "    public void read(PluginCall call) { call.invoked.add(\"read\"); }\n" +
+        "    @PluginMethod(returnType = \"callback\")\n" +
+        "    public void watch(PluginCall call) { call.invoked.add(\"watch\"); }\n" +
+        "    @Override\n" +
+        "    @PluginMethod\n" +
+        "    public void overridden(PluginCall call) { call.invoked.add(\"overridden\"); }\n" +
+        "    public void notAnnotated(PluginCall call) {}\n" +
+        "    @PluginMethod\n" +
+        "    public void wrongParameters(String value) {}\n" +
+        "}\n";
+
+    private File outputDir;
+
+    @Before
+    public void setup() throws IOException {
+        outputDir = Files.createTempDirectory("plugin-processor").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        delete(outputDir);
+    }
+
+    @Test
+    public void generatesAnInvokerListingThePluginMethods() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(
+            source("com.example.BasePlugin", BASE_PLUGIN),
+            source("com.example.ExamplePlugin", PLUGIN)
+        );
+        assertTrue(diagnostics.getDiagnostics().toString(), errors(diagnostics).isEmpty());
+        assertTrue(new File(outputDir, "com/example/ExamplePlugin_PluginInvoker.java").isFile());
+        assertFalse(new File(outputDir, "com/example/BasePlugin_PluginInvoker.java").exists());
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { outputDir.toURI().toURL() })) {
+            Object invoker = loader.loadClass("com.example.ExamplePlugin_PluginInvoker").getDeclaredConstructor().newInstance();
+            Object[] handles = (Object[]) invoker.getClass().getMethod("getMethods").invoke(invoker);
+
+            List<String> described = new ArrayList<>();
+            for (Object handle : handles) {
+                Class<?> handleClass = handle.getClass();
+                described.add(
+                    handleClass.getField("name").get(handle) +
+                    ":" +
+                    handleClass.getField("returnType").get(handle) +
+                    ":" +
+                    handleClass.getField("thread").get(handle) +
+                    ":" +
+                    handleClass.getField("syncSafe").get(handle)
+                );
+            }
+            Collections.sort(described);
+            assertEquals(
+                Arrays.asList(
+                    "inherited:promise:default:false",
+                    "overridden:promise:default:false",
+                    "read:promise:io:true",
+                    "watch:callback:default:false"
+                ),
+                described
+            );
+
+            Object plugin = loader.loadClass("com.example.ExamplePlugin").getDeclaredConstructor().newInstance();
+            Class<?> callClass = loader.loadClass("com.getcapacitor.PluginCall");
+            Object call = callClass.getDeclaredConstructor().newInstance();
+            Method invoke = invoker.getClass().getMethod("invoke", loader.loadClass("com.getcapacitor.Plugin"), String.class, callClass);
+            for (String method : Arrays.asList("read", "overridden", "inherited", "notAnnotated")) {
+                assertEquals(!method.equals("notAnnotated"), invoke.invoke(invoker, plugin, method, call));
+            }
+            assertEquals(Arrays.asList("read", "overridden", "base.inherited"), callClass.getField("invoked").get(call));
+        }
+    }
+
+    @Test
+    public void rejectsUnknownThreads() throws Exception {
+        String plugin =
+            "package com.example;\n" +
+            "import com.getcapacitor.*;\n" +
+            "import com.getcapacitor.annotation.CapacitorPlugin;\n" +
+            "@CapacitorPlugin\n" +
+            "public class TypoPlugin extends Plugin {\n" +
+            "    @PluginMethod(thread = \"backgroud\")\n" +
+            "    public void run(PluginCall call) {}\n" +
+            "}\n";
+        List<Diagnostic<? extends JavaFileObject>> errors = errors(compile(source("com.example.TypoPlugin", plugin)));
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).getMessage(null).contains("backgroud"));
+    }
+
+    @Test
+    public void skipsPrivatePluginClasses() throws Exception {
+        String plugin =
+            "package com.example;\n" +
+            "import com.getcapacitor.*;\n" +
+            "import com.getcapacitor.annotation.CapacitorPlugin;\n" +
+            "public class Outer {\n" +
+            "    @CapacitorPlugin\n" +
+            "    private static class HiddenPlugin extends Plugin {\n" +
+            "        @PluginMethod\n" +
+            "        public void run(PluginCall call) {}\n" +
+            "    }\n" +
+            "}\n";
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(source("com.example.Outer", plugin));
+        assertTrue(errors(diagnostics).isEmpty());
+        assertFalse(new File(outputDir, "com/example/Outer$HiddenPlugin_PluginInvoker.java").exists());
+    }
+
+    private DiagnosticCollector<JavaFileObject> compile(JavaFileObject... pluginSources) throws IOException {
+        List<JavaFileObject> sources = new ArrayList<>();
+        for (String[] capacitorSource : CAPACITOR_SOURCES) {
+            sources.add(source(capacitorSource[0], capacitorSource[1]));
+        }
+        sources.addAll(Arrays.asList(pluginSources));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            List<String> options = Arrays.asList("-d", outputDir.getPath(), "-s", outputDir.getPath());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, sources);
+            task.setProcessors(Collections.singletonList(new PluginProcessor()));
+            task.call();
+        }
+        return diagnostics;
+    }
+
+    private static List<Diagnostic<? extends JavaFileObject>> errors(DiagnosticCollector<JavaFileObject> diagnostics) {
+        List<Diagnostic<? extends JavaFileObject>> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic);
+            }
+        }
+        return errors;
+    }
+
+    private static JavaFileObject source(String className, final String code) {
+        URI uri = URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
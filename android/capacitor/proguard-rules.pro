@@ -15,6 +15,11 @@
 
  -keep public class * extends com.getcapacitor.Plugin { *; }
 
+# Rules for plugin invokers generated by capacitor-processor, loaded by name
+-keep class * implements com.getcapacitor.PluginInvoker {
+  public <init>();
+}
+
 # Rules for Capacitor v2 plugins and annotations
 # These are deprecated but can still be used with Capacitor for now
 -keep @com.getcapacitor.NativePlugin public class * {
@@ -152,6 +152,70 @@ var nativeBridge = (function (exports) {
         bridgeUrl.searchParams.append(CAPACITOR_HTTP_INTERCEPTOR_URL_PARAM, url);
         return bridgeUrl.toString();
     };
+    // Binary values cross the bridge as a marker object, holding either the index
+    // of an ArrayBuffer posted along with the message or the bytes as base64
+    const BYTES_MARKER = '__capBytes';
+    const isBinary = (value) => value instanceof ArrayBuffer || ArrayBuffer.isView(value);
+    const toArrayBuffer = (value) => value instanceof ArrayBuffer
+        ? value
+        : value.buffer.slice(value.byteOffset, value.byteOffset + value.byteLength);
+    const bytesToBase64 = (buffer) => {
+        const bytes = new Uint8Array(buffer);
+        let binary = '';
+        // fromCharCode takes the bytes as arguments, so they go in chunks
+        for (let i = 0; i < bytes.length; i += 0x8000) {
+            binary += String.fromCharCode.apply(null, bytes.subarray(i, i + 0x8000));
+        }
+        return btoa(binary);
+    };
+    const base64ToBytes = (base64) => {
+        const binary = atob(base64);
+        const bytes = new Uint8Array(binary.length);
+        for (let i = 0; i < binary.length; i++) {
+            bytes[i] = binary.charCodeAt(i);
+        }
+        return bytes.buffer;
+    };
+    /**
+     * Replace the binary values of call options with markers. The buffers are
+     * appended to `buffers` if given, otherwise they are encoded as base64.
+     */
+    const encodeBinaryValues = (options, buffers) => {
+        if (!options || typeof options !== 'object' || Array.isArray(options)) {
+            return options;
+        }
+        let encoded = null;
+        for (const key of Object.keys(options)) {
+            const value = options[key];
+            if (isBinary(value)) {
+                encoded = encoded !== null && encoded !== void 0 ? encoded : Object.assign({}, options);
+                if (buffers) {
+                    encoded[key] = { [BYTES_MARKER]: buffers.length };
+                    buffers.push(toArrayBuffer(value));
+                }
+                else {
+                    encoded[key] = { [BYTES_MARKER]: bytesToBase64(toArrayBuffer(value)) };
+                }
+            }
+        }
+        return encoded !== null && encoded !== void 0 ? encoded : options;
+    };
+    /**
+     * Replace the markers of result data with ArrayBuffers.
+     */
+    const decodeBinaryValues = (data, buffers) => {
+        if (!data || typeof data !== 'object' || Array.isArray(data)) {
+            return data;
+        }
+        for (const key of Object.keys(data)) {
+            const value = data[key];
+            if (value && typeof value === 'object' && BYTES_MARKER in value) {
+                const marker = value[BYTES_MARKER];
+                data[key] = typeof marker === 'number' ? buffers === null || buffers === void 0 ? void 0 : buffers[marker] : base64ToBytes(marker);
+            }
+        }
+        return data;
+    };
     const initBridge = (w) => {
         const getPlatformId = (win) => {
             var _a, _b;
@@ -1069,11 +1133,11 @@ var nativeBridge = (function (exports) {
                 const platform = getPlatformId(win);
                 if (platform === 'android') {
                     try {
-                        const optionsJson = JSON.stringify(options || {});
+                        const optionsJson = JSON.stringify(encodeBinaryValues(options || {}));
                         const resultJson = win.androidBridge.callSync(pluginId, methodName, optionsJson);
                         const result = JSON.parse(resultJson);
                         if (result.success) {
-                            return result.data;
+                            return decodeBinaryValues(result.data);
                         }
                         else {
                             throw new cap.Exception(((_a = result.error) === null || _a === void 0 ? void 0 : _a.message) || 'Sync call failed');
@@ -1106,8 +1170,38 @@ var nativeBridge = (function (exports) {
                 }
                 throw new cap.Exception('Sync bridge not available');
             };
+            /**
+             * Run a list of sync calls in a single crossing of the bridge. Each result is
+             * `{ success: true, data }` or `{ success: false, error }`, in the order of the calls,
+             * so one failed call does not fail the others.
+             */
+            const callSyncBatch = (calls) => {
+                var _a, _b;
+                if (getPlatformId(win) === 'android' && typeof ((_a = win.androidBridge) === null || _a === void 0 ? void 0 : _a.callSyncBatch) === 'function') {
+                    const callsJson = JSON.stringify(calls.map((c) => ({
+                        pluginId: c.pluginId,
+                        methodName: c.methodName,
+                        options: encodeBinaryValues(c.options || {}),
+                    })));
+                    const results = JSON.parse(win.androidBridge.callSyncBatch(callsJson));
+                    if (!Array.isArray(results)) {
+                        throw new cap.Exception(((_b = results.error) === null || _b === void 0 ? void 0 : _b.message) || 'Sync batch failed');
+                    }
+                    return results.map((result) => result.success ? { success: true, data: decodeBinaryValues(result.data) } : result);
+                }
+                // Older native bridges run the calls one by one
+                return calls.map((c) => {
+                    try {
+                        return { success: true, data: callSync(c.pluginId, c.methodName, c.options) };
+                    }
+                    catch (e) {
+                        return { success: false, error: { message: e.message } };
+                    }
+                });
+            };
             // 暴露同步调用 API
             cap.callSync = callSync;
+            cap.callSyncBatch = callSyncBatch;
             cap.isSyncAvailable = isSyncBridgeAvailable;
             // ==================== 同步调用支持结束 ====================
             cap.getPlatform = getPlatform;
@@ -1116,15 +1210,49 @@ var nativeBridge = (function (exports) {
             // create the postToNative() fn if needed
             if (getPlatformId(win) === 'android') {
                 // android platform
-                postToNative = (data) => {
+                // only the object injected for web messages takes ArrayBuffers,
+                // the JavascriptInterface of the legacy bridge takes strings only
+                const canPostBuffers = () => { var _a; return cap.nativeArrayBuffers === true && typeof ((_a = win.androidBridge) === null || _a === void 0 ? void 0 : _a.addEventListener) === 'function'; };
+                const encodeCall = (data, buffers) => {
+                    if (data.type === 'js.error') {
+                        return data;
+                    }
+                    const options = encodeBinaryValues(data.options, buffers);
+                    return options === data.options ? data : Object.assign(Object.assign({}, data), { options });
+                };
+                const sendToNative = (payload) => {
                     var _a, _b;
                     try {
-                        (_a = win.androidBridge) === null || _a === void 0 ? void 0 : _a.postMessage(JSON.stringify(data));
+                        // the buffers go ahead of the message that points at them
+                        const buffers = canPostBuffers() ? [] : undefined;
+                        const message = Array.isArray(payload)
+                            ? payload.map((data) => encodeCall(data, buffers))
+                            : encodeCall(payload, buffers);
+                        buffers === null || buffers === void 0 ? void 0 : buffers.forEach((buffer) => { var _a; return (_a = win.androidBridge) === null || _a === void 0 ? void 0 : _a.postMessage(buffer); });
+                        (_a = win.androidBridge) === null || _a === void 0 ? void 0 : _a.postMessage(JSON.stringify(message));
                     }
                     catch (e) {
                         (_b = win === null || win === void 0 ? void 0 : win.console) === null || _b === void 0 ? void 0 : _b.error(e);
                     }
                 };
+                // calls made within the same microtask are coalesced into a single
+                // array envelope so native parses and schedules them in one go
+                let pendingCalls = [];
+                const flushPendingCalls = () => {
+                    const calls = pendingCalls;
+                    pendingCalls = [];
+                    sendToNative(calls.length === 1 ? calls[0] : calls);
+                };
+                postToNative = (data) => {
+                    if (data.type === 'js.error') {
+                        sendToNative(data);
+                        return;
+                    }
+                    pendingCalls.push(data);
+                    if (pendingCalls.length === 1) {
+                        Promise.resolve().then(flushPendingCalls);
+                    }
+                };
             }
             else if (getPlatformId(win) === 'ios') {
                 // ios platform
@@ -1164,6 +1292,85 @@ var nativeBridge = (function (exports) {
                 window.onerror = cap.handleWindowError;
             }
             initLogger(win, cap);
+            /**
+             * Native plugins may deliver an event through a dedicated message channel.
+             * Its port is handed over when the first listener of the event is added,
+             * and each message of the port is the data of one event, for every
+             * listener of the event. A port is only taken from native, for an event
+             * that has listeners. Native closes the previous stream of an event before
+             * opening another, and posts handshakes in order, so the latest port of an
+             * event replaces the previous one.
+             */
+            const EVENT_STREAM_PREFIX = 'capacitor.eventStream:';
+            const eventListenerIds = new Map();
+            const eventStreamPorts = new Map();
+            const closeEventStream = (key) => {
+                var _a, _b;
+                (_b = (_a = eventStreamPorts.get(key)) === null || _a === void 0 ? void 0 : _a.close) === null || _b === void 0 ? void 0 : _b.call(_a);
+                eventStreamPorts.delete(key);
+            };
+            const trackEventListener = (pluginName, methodName, options, callbackId) => {
+                var _a;
+                if (methodName === 'addListener' && (options === null || options === void 0 ? void 0 : options.eventName) && callbackId !== '-1') {
+                    const key = `${pluginName}:${options.eventName}`;
+                    const ids = (_a = eventListenerIds.get(key)) !== null && _a !== void 0 ? _a : new Set();
+                    ids.add(callbackId);
+                    eventListenerIds.set(key, ids);
+                }
+                else if (methodName === 'removeListener' && (options === null || options === void 0 ? void 0 : options.eventName)) {
+                    const key = `${pluginName}:${options.eventName}`;
+                    const ids = eventListenerIds.get(key);
+                    if ((ids === null || ids === void 0 ? void 0 : ids.delete(options.callbackId)) && ids.size === 0) {
+                        closeEventStream(key);
+                    }
+                }
+                else if (methodName === 'removeAllListeners') {
+                    eventListenerIds.forEach((_, key) => {
+                        if (key.startsWith(`${pluginName}:`)) {
+                            eventListenerIds.delete(key);
+                            closeEventStream(key);
+                        }
+                    });
+                }
+            };
+            if (getPlatformId(win) === 'android' && typeof win.addEventListener === 'function') {
+                win.addEventListener('message', (event) => {
+                    var _a, _b;
+                    // messages posted by native have no source window
+                    if (event.source !== null ||
+                        ((_a = event.ports) === null || _a === void 0 ? void 0 : _a.length) !== 1 ||
+                        typeof event.data !== 'string' ||
+                        !event.data.startsWith(EVENT_STREAM_PREFIX)) {
+                        return;
+                    }
+                    // the port is for the bridge only
+                    event.stopImmediatePropagation();
+                    const stream = JSON.parse(event.data.substring(EVENT_STREAM_PREFIX.length));
+                    const key = `${stream.pluginId}:${stream.eventName}`;
+                    if (!((_b = eventListenerIds.get(key)) === null || _b === void 0 ? void 0 : _b.size)) {
+                        return;
+                    }
+                    const port = event.ports[0];
+                    closeEventStream(key);
+                    eventStreamPorts.set(key, port);
+                    port.onmessage = (message) => {
+                        const ids = eventListenerIds.get(key);
+                        if (!ids || ids.size === 0) {
+                            return;
+                        }
+                        const data = JSON.parse(message.data);
+                        ids.forEach((id) => {
+                            var _a, _b, _c;
+                            try {
+                                (_b = (_a = callbacks.get(id)) === null || _a === void 0 ? void 0 : _a.callback) === null || _b === void 0 ? void 0 : _b.call(_a, data);
+                            }
+                            catch (e) {
+                                (_c = win === null || win === void 0 ? void 0 : win.console) === null || _c === void 0 ? void 0 : _c.error(e);
+                            }
+                        });
+                    };
+                });
+            }
             /**
              * Send a plugin method call to the native layer
              */
@@ -1242,6 +1449,7 @@ var nativeBridge = (function (exports) {
                             methodName: methodName,
                             options: options || {},
                         };
+                        trackEventListener(pluginName, methodName, options, callbackId);
                         if (cap.isLoggingEnabled && pluginName !== 'Console') {
                             cap.logToNative(callData);
                         }
@@ -1258,19 +1466,41 @@ var nativeBridge = (function (exports) {
                 }
                 return '';
             };
+            // the ArrayBuffers of a response arrive ahead of it
+            let pendingBuffers = [];
             if (win === null || win === void 0 ? void 0 : win.androidBridge) {
                 win.androidBridge.onmessage = function (event) {
-                    returnResult(JSON.parse(event.data));
+                    if (typeof event.data !== 'string') {
+                        pendingBuffers.push(event.data);
+                        return;
+                    }
+                    returnResults(JSON.parse(event.data));
                 };
             }
             /**
              * Process a response from the native layer.
              */
             cap.fromNative = (result) => {
-                returnResult(result);
+                returnResults(result);
+            };
+            /**
+             * The native layer may coalesce the responses produced within
+             * one frame into a single array message.
+             */
+            const returnResults = (results) => {
+                if (Array.isArray(results)) {
+                    results.forEach((result) => returnResult(result));
+                }
+                else {
+                    returnResult(results);
+                }
             };
             const returnResult = (result) => {
                 var _a, _b, _c, _d;
+                if (result.data) {
+                    const buffers = result.buffers ? pendingBuffers.splice(0, result.buffers) : undefined;
+                    decodeBinaryValues(result.data, buffers);
+                }
                 if (cap.isLoggingEnabled && result.pluginId !== 'Console') {
                     cap.logFromNative(result);
                 }
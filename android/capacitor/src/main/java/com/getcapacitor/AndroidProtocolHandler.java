@@ -5,11 +5,13 @@
 package com.getcapacitor;
 
 import android.content.Context;
+import android.content.res.AssetFileDescriptor;
 import android.content.res.AssetManager;
 import android.net.Uri;
 import android.util.TypedValue;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
@@ -26,6 +28,28 @@ public class AndroidProtocolHandler {
         return context.getAssets().open(path, AssetManager.ACCESS_STREAMING);
     }
 
+    /**
+     * Open an asset to serve byte ranges of it. Uncompressed assets are read from their offset
+     * in the APK, compressed ones have to be inflated up to the start of every range.
+     */
+    RangeSource openAssetRange(final String path) throws IOException {
+        try {
+            RangeSource source = RangeSource.of(context.getAssets().openFd(path));
+            if (source != null) {
+                return source;
+            }
+        } catch (FileNotFoundException ex) {
+            // The asset is compressed, or does not exist
+        }
+
+        long length;
+        try (InputStream stream = openAsset(path)) {
+            // The remaining length of an asset stream is exact
+            length = stream.available();
+        }
+        return RangeSource.of(() -> openAsset(path), length);
+    }
+
     public InputStream openResource(Uri uri) {
         assert uri.getPath() != null;
         // The path must be of the form ".../asset_type/asset_name.ext".
@@ -64,28 +88,53 @@ public class AndroidProtocolHandler {
     }
 
     public InputStream openFile(String filePath) throws IOException {
+        return new FileInputStream(getFile(filePath));
+    }
+
+    File getFile(String filePath) {
         String realPath = filePath.replace(Bridge.CAPACITOR_FILE_START, "");
-        File localFile = new File(realPath);
-        return new FileInputStream(localFile);
+        return new File(realPath);
     }
 
-    public InputStream openContentUrl(Uri uri) throws IOException {
-        Integer port = uri.getPort();
-        String baseUrl = uri.getScheme() + "://" + uri.getHost();
-        if (port != -1) {
-            baseUrl += ":" + port;
-        }
-        String realPath = uri.toString().replace(baseUrl + Bridge.CAPACITOR_CONTENT_START, "content:/");
+    RangeSource openFileRange(String filePath) throws IOException {
+        return RangeSource.of((FileInputStream) openFile(filePath));
+    }
 
+    public InputStream openContentUrl(Uri uri) throws IOException {
         InputStream stream = null;
         try {
-            stream = context.getContentResolver().openInputStream(Uri.parse(realPath));
+            stream = context.getContentResolver().openInputStream(getContentUri(uri));
         } catch (SecurityException e) {
             Logger.error("Unable to open content URL: " + uri, e);
         }
         return stream;
     }
 
+    /**
+     * Open a content URL to serve byte ranges of it.
+     * @return the source, or null if the content can only be streamed from its start
+     */
+    RangeSource openContentUrlRange(Uri uri) throws IOException {
+        AssetFileDescriptor descriptor;
+        try {
+            descriptor = context.getContentResolver().openAssetFileDescriptor(getContentUri(uri), "r");
+        } catch (SecurityException e) {
+            Logger.error("Unable to open content URL: " + uri, e);
+            return null;
+        }
+        return descriptor != null ? RangeSource.of(descriptor) : null;
+    }
+
+    private static Uri getContentUri(Uri uri) {
+        Integer port = uri.getPort();
+        String baseUrl = uri.getScheme() + "://" + uri.getHost();
+        if (port != -1) {
+            baseUrl += ":" + port;
+        }
+        String realPath = uri.toString().replace(baseUrl + Bridge.CAPACITOR_CONTENT_START, "content:/");
+        return Uri.parse(realPath);
+    }
+
     private static int getValueType(Context context, int fieldId) {
         TypedValue value = new TypedValue();
         context.getResources().getValue(fieldId, value, true);
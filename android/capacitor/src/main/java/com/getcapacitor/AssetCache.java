@@ -0,0 +1,140 @@
+package com.getcapacitor;
+
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+import androidx.annotation.NonNull;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A byte-bounded LRU cache of the bodies served by {@link WebViewLocalServer}, so hot assets
+ * are not inflated from the APK or read from disk again on every request.
+ *
+ * Entries carry a version, the modification time for files, and an entry only hits when the
+ * version matches. The cache registers for memory callbacks and drops its entries when the
+ * system runs low on memory.
+ */
+class AssetCache implements ComponentCallbacks2 {
+
+    private static final long DEFAULT_MAX_BYTES = 16 * 1024 * 1024;
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long size;
+    private long hitCount;
+    private long missCount;
+
+    AssetCache() {
+        this(Math.min(DEFAULT_MAX_BYTES, Runtime.getRuntime().maxMemory() / 32));
+    }
+
+    AssetCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        // A single large body should not flush every other entry
+        this.maxEntryBytes = maxBytes / 4;
+    }
+
+    /**
+     * @param length the length of a body
+     * @return whether a body of that length can be cached
+     */
+    boolean accepts(long length) {
+        return length >= 0 && length <= maxEntryBytes;
+    }
+
+    /**
+     * @param key the resolved path of the body, with its asset or file mode
+     * @param version the current version of the body
+     * @return the cached body, or null if it is not cached for that version
+     */
+    synchronized byte[] get(String key, long version) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.version != version) {
+            missCount++;
+            return null;
+        }
+
+        hitCount++;
+        return entry.body;
+    }
+
+    /**
+     * @return whether a body is cached for that version, without counting a hit or a miss
+     */
+    synchronized boolean contains(String key, long version) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.version == version;
+    }
+
+    synchronized void put(String key, long version, byte[] body) {
+        if (!accepts(body.length)) {
+            return;
+        }
+
+        Entry previous = entries.put(key, new Entry(version, body));
+        if (previous != null) {
+            size -= previous.body.length;
+        }
+        size += body.length;
+        trimToSize(maxBytes);
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    /**
+     * Evict the least recently used entries until the cache holds at most {@code maxSize} bytes.
+     */
+    synchronized void trimToSize(long maxSize) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().getValue().body.length;
+            iterator.remove();
+        }
+    }
+
+    synchronized long getSize() {
+        return size;
+    }
+
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_RUNNING_CRITICAL) {
+            clear();
+        } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+            trimToSize(maxBytes / 2);
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        clear();
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {}
+
+    private static final class Entry {
+
+        final long version;
+        final byte[] body;
+
+        Entry(long version, byte[] body) {
+            this.version = version;
+            this.body = body;
+        }
+    }
+}
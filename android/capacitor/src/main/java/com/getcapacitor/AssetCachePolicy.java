@@ -0,0 +1,102 @@
+package com.getcapacitor;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * The HTTP caching headers of the files served by {@link WebViewLocalServer}, enabled with
+ * {@link CapConfig#isAssetCaching()}.
+ *
+ * Fingerprinted files, recognized by {@link CapConfig#getImmutableAssetPattern()}, never change
+ * under the same name and are sent as immutable. Every other file must be revalidated and is
+ * sent with {@code ETag} and {@code Last-Modified} validators. Files on disk are versioned by
+ * their size and modification time; bundled assets can only change with the app, so they are
+ * versioned by the time the app was installed or updated, which is part of every validator.
+ */
+class AssetCachePolicy {
+
+    /** A hash of at least 8 letters and digits, containing both, before the extension. */
+    static final String DEFAULT_IMMUTABLE_PATTERN =
+        "^.+[.-](?=[A-Za-z0-9_]*[0-9])(?=[A-Za-z0-9_]*[A-Za-z])[A-Za-z0-9_]{8,}\\.[A-Za-z0-9]+$";
+
+    static final String CACHE_CONTROL_IMMUTABLE = "public, max-age=31536000, immutable";
+    static final String CACHE_CONTROL_REVALIDATE = "no-cache";
+
+    private static final String HTTP_DATE_FORMAT = "EEE, dd MMM yyyy HH:mm:ss 'GMT'";
+
+    private final Pattern immutablePattern;
+    private final long appUpdateTime;
+
+    /**
+     * @param immutablePattern the pattern of fingerprinted file names
+     * @param appUpdateTime when the app was last installed or updated, in milliseconds
+     */
+    AssetCachePolicy(String immutablePattern, long appUpdateTime) {
+        this.immutablePattern = compile(immutablePattern);
+        this.appUpdateTime = appUpdateTime;
+    }
+
+    /**
+     * @param fileName the last segment of a served path
+     * @return whether the file is fingerprinted and can be cached forever
+     */
+    boolean isImmutable(String fileName) {
+        return fileName != null && immutablePattern.matcher(fileName).matches();
+    }
+
+    /**
+     * Set the caching headers of a response.
+     * @param headers the headers of the response, which are modified
+     * @param fileName the last segment of the served path
+     * @param length the length of a file, or -1 for an asset
+     * @param lastModified the modification time of a file, or 0 for an asset
+     */
+    void apply(Map<String, String> headers, String fileName, long length, long lastModified) {
+        headers.put("Cache-Control", isImmutable(fileName) ? CACHE_CONTROL_IMMUTABLE : CACHE_CONTROL_REVALIDATE);
+        headers.put("ETag", getETag(length, lastModified));
+        headers.put("Last-Modified", formatHttpDate(Math.max(lastModified, appUpdateTime)));
+    }
+
+    /**
+     * Set the caching headers of an asset listed in the {@link AssetManifest}, which is
+     * validated by the hash of its content instead of the time the app was updated.
+     * @param headers the headers of the response, which are modified
+     * @param fileName the last segment of the served path
+     * @param contentHash the hash of the content of the asset
+     */
+    void apply(Map<String, String> headers, String fileName, String contentHash) {
+        headers.put("Cache-Control", isImmutable(fileName) ? CACHE_CONTROL_IMMUTABLE : CACHE_CONTROL_REVALIDATE);
+        headers.put("ETag", "\"" + contentHash + "\"");
+        headers.put("Last-Modified", formatHttpDate(appUpdateTime));
+    }
+
+    String getETag(long length, long lastModified) {
+        StringBuilder etag = new StringBuilder("W/\"").append(Long.toHexString(appUpdateTime));
+        if (length >= 0) {
+            etag.append('-').append(Long.toHexString(length)).append('-').append(Long.toHexString(lastModified));
+        }
+        return etag.append('"').toString();
+    }
+
+    static String formatHttpDate(long time) {
+        SimpleDateFormat format = new SimpleDateFormat(HTTP_DATE_FORMAT, Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        return format.format(new Date(time));
+    }
+
+    private static Pattern compile(String pattern) {
+        if (pattern != null) {
+            try {
+                return Pattern.compile(pattern);
+            } catch (PatternSyntaxException ex) {
+                Logger.warn("Invalid android.immutableAssetPattern, using the default: " + ex.getDescription());
+            }
+        }
+        return Pattern.compile(DEFAULT_IMMUTABLE_PATTERN);
+    }
+}
@@ -0,0 +1,87 @@
+package com.getcapacitor;
+
+import android.content.res.AssetManager;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers whether hosted assets and files exist from directory listings, which are read
+ * once per directory, instead of opening every candidate path and catching the exception.
+ * Assets listed in the {@link AssetManifest} are found in it without listing their directory,
+ * other assets, such as the ones added after the manifest was written, fall back to the listing.
+ *
+ * Listings are kept until {@link #clear()}, so a file written to a listed directory afterwards is
+ * not found. File listings only hold regular files, while asset listings also hold the names of
+ * subdirectories, as the {@link AssetManager} does not tell them apart. The index is meant to find
+ * the precompressed siblings of a file, and is not a proof that a path can be opened.
+ */
+class AssetIndex {
+
+    private final AssetManager assets;
+    private final AssetManifest manifest;
+    private final ConcurrentHashMap<String, Set<String>> assetDirectories = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> fileDirectories = new ConcurrentHashMap<>();
+
+    AssetIndex(AssetManager assets, AssetManifest manifest) {
+        this.assets = assets;
+        this.manifest = manifest;
+    }
+
+    /**
+     * @param asset whether the path is an asset path or a file path
+     * @param path the path to look up
+     * @return whether a file exists at that path
+     */
+    boolean exists(boolean asset, String path) {
+        if (asset && manifest != null && manifest.get(path) != null) {
+            return true;
+        }
+
+        int slash = path.lastIndexOf('/');
+        String directory = slash >= 0 ? path.substring(0, slash) : "";
+        String name = path.substring(slash + 1);
+        if (name.isEmpty()) {
+            return false;
+        }
+
+        Set<String> names = asset
+            ? assetDirectories.computeIfAbsent(directory, this::listAssets)
+            : fileDirectories.computeIfAbsent(directory, AssetIndex::listFiles);
+        return names.contains(name);
+    }
+
+    /**
+     * Forget the listings, when the hosted root changes.
+     */
+    void clear() {
+        assetDirectories.clear();
+        fileDirectories.clear();
+    }
+
+    private Set<String> listAssets(String directory) {
+        try {
+            String[] names = assets.list(directory.startsWith("/") ? directory.substring(1) : directory);
+            return names != null ? new HashSet<>(Arrays.asList(names)) : Collections.emptySet();
+        } catch (IOException ex) {
+            return Collections.emptySet();
+        }
+    }
+
+    private static Set<String> listFiles(String directory) {
+        File[] files = new File(directory.replace(Bridge.CAPACITOR_FILE_START, "")).listFiles(File::isFile);
+        if (files == null) {
+            return Collections.emptySet();
+        }
+
+        Set<String> names = new HashSet<>();
+        for (File file : files) {
+            names.add(file.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,132 @@
+package com.getcapacitor;
+
+import android.content.Context;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The manifest of the web assets, written by the CLI when it copies them to the app: the path,
+ * size and content hash of every file, and which files have precompressed siblings. MIME types
+ * are not recorded, they come from {@link MimeTypes}.
+ *
+ * It is read once per process, and the assets it lists are then looked up in memory instead of
+ * in the APK. Assets can still change after the manifest is written, by build hooks or Gradle
+ * tasks for instance, so an asset missing from the manifest is looked up in the APK.
+ */
+class AssetManifest {
+
+    static final String FILE_NAME = "capacitor.assets.bin";
+
+    static final int FLAG_BROTLI = 1;
+    static final int FLAG_GZIP = 2;
+
+    // Must be kept in sync with cli/src/android/assets.ts
+    private static final int MAGIC = 0x4341504D;
+    private static final int VERSION = 2;
+
+    private static final Object lock = new Object();
+    private static boolean loaded;
+    private static AssetManifest instance;
+
+    private final Map<String, Entry> entries;
+
+    private AssetManifest(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * @return the manifest of the app, or null if the app was built without one
+     */
+    static AssetManifest get(Context context) {
+        synchronized (lock) {
+            if (!loaded) {
+                loaded = true;
+                instance = load(context);
+            }
+            return instance;
+        }
+    }
+
+    private static AssetManifest load(Context context) {
+        try (InputStream input = context.getAssets().open(FILE_NAME)) {
+            return read(input);
+        } catch (FileNotFoundException ex) {
+            return null;
+        } catch (IOException ex) {
+            Logger.warn("Unable to read " + FILE_NAME + ", assets will be looked up in the APK: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    static AssetManifest read(InputStream input) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(input));
+        if (data.readInt() != MAGIC || data.readUnsignedByte() != VERSION) {
+            throw new IOException("Unsupported manifest format");
+        }
+
+        String root = readString(data);
+        if (root.isEmpty()) {
+            throw new IOException("Missing manifest root");
+        }
+        String prefix = root + "/";
+
+        int count = data.readInt();
+        Map<String, Entry> entries = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            String path = prefix + readString(data);
+            long size = data.readLong();
+            long hash = data.readLong();
+            int flags = data.readUnsignedByte();
+            entries.put(path, new Entry(size, hash, flags));
+        }
+
+        return new AssetManifest(entries);
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        byte[] bytes = new byte[data.readUnsignedShort()];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param path an asset path
+     * @return the file at that path, or null if there is none or the path is not covered
+     */
+    Entry get(String path) {
+        return entries.get(normalize(path));
+    }
+
+    private static String normalize(String path) {
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+
+    /**
+     * A file of the manifest.
+     */
+    static final class Entry {
+
+        final long size;
+        final long hash;
+        final int flags;
+
+        Entry(long size, long hash, int flags) {
+            this.size = size;
+            this.hash = hash;
+            this.flags = flags;
+        }
+
+        /**
+         * @return the hash of the content of the file, as hexadecimal
+         */
+        String getHashString() {
+            return String.format("%016x", hash);
+        }
+    }
+}
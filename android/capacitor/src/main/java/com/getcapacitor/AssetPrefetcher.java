@@ -0,0 +1,242 @@
+package com.getcapacitor;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads the scripts and stylesheets of the app page into the {@link AssetCache} before the
+ * WebView requests them, instead of the WebView discovering them one round trip at a time.
+ *
+ * The links are found while the page is served, see {@link #scan(InputStream, String, String)}.
+ * They are recorded per start page once the page has been served whole, so that on the next
+ * launch they are read as soon as the page is requested, see {@link #start(String)}.
+ */
+class AssetPrefetcher {
+
+    /**
+     * Reads a path of the app into the asset cache.
+     */
+    interface Loader {
+        void load(String path) throws IOException;
+    }
+
+    private static final String THREAD_NAME_PREFIX = "CapacitorPrefetch-";
+    private static final int MAX_THREADS = 2;
+    private static final int MAX_RECORDS = 8;
+    private static final String RECORD_EXTENSION = ".txt";
+
+    private final File recordDir;
+    private final Loader loader;
+    private final Executor executor;
+    private final Map<String, Boolean> pending = new ConcurrentHashMap<>();
+    // The links recorded for each start page, as last read or written
+    private final Map<String, List<String>> records = new ConcurrentHashMap<>();
+
+    /**
+     * @param recordDir where the links of the start pages are recorded
+     * @param loader reads the links into the asset cache
+     */
+    AssetPrefetcher(File recordDir, Loader loader) {
+        this(recordDir, loader, createPool());
+    }
+
+    AssetPrefetcher(File recordDir, Loader loader, Executor executor) {
+        this.recordDir = recordDir;
+        this.loader = loader;
+        this.executor = executor;
+    }
+
+    private static ExecutorService createPool() {
+        final AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            MAX_THREADS,
+            MAX_THREADS,
+            1,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Start reading the links recorded for a start page.
+     * @param startKey identifies the start page and where it is read from
+     */
+    void start(final String startKey) {
+        executor.execute(() -> {
+            for (String path : getRecord(startKey)) {
+                prefetch(path);
+            }
+        });
+    }
+
+    /**
+     * Scan a start page for links while it is read, reading them as soon as they are found.
+     * The links are recorded for the page once it has been read whole.
+     * @param document the start page
+     * @param startKey identifies the start page and where it is read from
+     * @param documentPath the path the page is served at
+     * @return the page, to serve in place of the original stream
+     */
+    InputStream scan(InputStream document, final String startKey, String documentPath) {
+        HtmlLinkScanner scanner = new HtmlLinkScanner(documentPath, path -> executor.execute(() -> prefetch(path)));
+        return new ScanningInputStream(document, scanner, () -> {
+            final List<String> links = scanner.getLinks();
+            executor.execute(() -> {
+                if (!links.equals(getRecord(startKey))) {
+                    records.put(startKey, links);
+                    writeRecord(startKey, links);
+                }
+            });
+        });
+    }
+
+    /**
+     * Stop the pool, once the server is destroyed.
+     */
+    void shutdown() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdownNow();
+        }
+    }
+
+    private void prefetch(String path) {
+        // The same link may be found in the page while its recorded read is still running
+        if (pending.putIfAbsent(path, Boolean.TRUE) != null) {
+            return;
+        }
+
+        try {
+            loader.load(path);
+        } catch (IOException ex) {
+            Logger.debug("Unable to prefetch " + path + ": " + ex.getMessage());
+        } finally {
+            pending.remove(path);
+        }
+    }
+
+    List<String> getRecord(String startKey) {
+        List<String> record = records.get(startKey);
+        if (record == null) {
+            record = readRecord(startKey);
+            records.put(startKey, record);
+        }
+        return record;
+    }
+
+    private List<String> readRecord(String startKey) {
+        File file = getRecordFile(startKey);
+        if (!file.exists()) {
+            return Collections.emptyList();
+        }
+
+        try (DataInputStream input = new DataInputStream(new FileInputStream(file))) {
+            byte[] content = new byte[(int) file.length()];
+            input.readFully(content);
+            List<String> lines = Arrays.asList(new String(content, StandardCharsets.UTF_8).split("\n"));
+            // The file name is a hash of the key, the key itself comes first
+            if (!lines.get(0).equals(startKey)) {
+                return Collections.emptyList();
+            }
+            return new ArrayList<>(lines.subList(1, lines.size()));
+        } catch (IOException ex) {
+            Logger.debug("Unable to read the prefetched links of " + startKey + ": " + ex.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Store the links of a start page. The file is replaced atomically, and the oldest records
+     * are removed so the links of past live updates do not pile up.
+     */
+    private void writeRecord(String startKey, List<String> links) {
+        if (!recordDir.exists() && !recordDir.mkdirs()) {
+            Logger.debug("Unable to create the prefetch directory");
+            return;
+        }
+
+        StringBuilder content = new StringBuilder(startKey);
+        for (String link : links) {
+            content.append('\n').append(link);
+        }
+
+        File file = getRecordFile(startKey);
+        File tmp = new File(file.getPath() + ".tmp");
+        try (OutputStream output = new FileOutputStream(tmp)) {
+            output.write(content.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            Logger.debug("Unable to record the prefetched links: " + ex.getMessage());
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+            return;
+        }
+
+        File[] files = recordDir.listFiles((dir, name) -> name.endsWith(RECORD_EXTENSION));
+        if (files != null && files.length > MAX_RECORDS) {
+            Arrays.sort(files, (a, b) -> Long.compare(b.lastModified(), a.lastModified()));
+            for (int i = MAX_RECORDS; i < files.length; i++) {
+                files[i].delete();
+            }
+        }
+    }
+
+    private File getRecordFile(String startKey) {
+        return new File(recordDir, Integer.toHexString(startKey.hashCode()) + RECORD_EXTENSION);
+    }
+
+    /**
+     * A document fed to a {@link HtmlLinkScanner} as it is read.
+     */
+    private static final class ScanningInputStream extends TransformingInputStream {
+
+        private final HtmlLinkScanner scanner;
+        private final Runnable onEnd;
+        private boolean ended;
+
+        ScanningInputStream(InputStream in, HtmlLinkScanner scanner, Runnable onEnd) {
+            super(in);
+            this.scanner = scanner;
+            this.onEnd = onEnd;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read > 0) {
+                scanner.write(b, off, read);
+            } else if (read < 0 && !ended) {
+                ended = true;
+                onEnd.run();
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.getcapacitor;
+
+import android.util.Base64;
+import java.util.List;
+import org.json.JSONObject;
+
+/**
+ * Binary values of plugin calls and results, as they cross the bridge.
+ *
+ * A binary value is replaced in the JSON message by a marker object. When the WebView supports
+ * ArrayBuffer web messages, the marker holds the index of an ArrayBuffer posted along with the
+ * message. Otherwise it holds the bytes encoded as base64.
+ */
+class BinaryValues {
+
+    static final String MARKER = "__capBytes";
+
+    /**
+     * @return a marker pointing at a buffer posted along with the message
+     */
+    static JSObject marker(int index) {
+        JSObject marker = new JSObject();
+        marker.put(MARKER, index);
+        return marker;
+    }
+
+    /**
+     * @return a marker holding the bytes themselves
+     */
+    static JSObject marker(byte[] value) {
+        JSObject marker = new JSObject();
+        marker.put(MARKER, Base64.encodeToString(value, Base64.NO_WRAP));
+        return marker;
+    }
+
+    /**
+     * Read a binary value of a message.
+     * @param value a marker, or a plain base64 string
+     * @param buffers the buffers posted along with the message, or null
+     * @return the bytes, or null if the value is not binary or its buffer is missing
+     */
+    static byte[] read(Object value, List<byte[]> buffers) {
+        if (value instanceof JSONObject) {
+            value = ((JSONObject) value).opt(MARKER);
+            if (value instanceof Number) {
+                int index = ((Number) value).intValue();
+                return buffers != null && index >= 0 && index < buffers.size() ? buffers.get(index) : null;
+            }
+        }
+
+        if (value instanceof String) {
+            try {
+                return Base64.decode((String) value, Base64.DEFAULT);
+            } catch (IllegalArgumentException ex) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -49,10 +49,15 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.cordova.ConfigXmlParser;
@@ -61,6 +66,7 @@ import org.apache.cordova.CordovaWebView;
 import org.apache.cordova.PluginEntry;
 import org.apache.cordova.PluginManager;
 import org.json.JSONException;
+import org.json.JSONObject;
 
 /**
  * The Bridge class is the main engine of Capacitor. It manages
@@ -137,9 +143,15 @@ public class Bridge {
     // The ThreadHandler for executing plugin calls
     private final HandlerThread handlerThread = new HandlerThread("CapacitorPlugins");
 
-    // Our Handler for posting plugin calls. Created from the ThreadHandler
+    // Our Handler for posting tasks through Bridge.execute. Created from the ThreadHandler
     private Handler taskHandler = null;
 
+    // The executors plugin methods are dispatched to, one serial lane per plugin
+    private final PluginDispatcher pluginDispatcher = new PluginDispatcher();
+
+    // Where the startup goes, see StartupTimeline
+    private final StartupTimeline startupTimeline = new StartupTimeline();
+
     private final List<Class<? extends Plugin>> initialPlugins;
 
     private final List<Plugin> pluginInstances;
@@ -147,11 +159,12 @@ public class Bridge {
     // A map of Plugin Id's to PluginHandle's
     private Map<String, PluginHandle> plugins = new HashMap<>();
 
-    // Stored plugin calls that we're keeping around to call again someday
-    private Map<String, PluginCall> savedCalls = new HashMap<>();
+    // Stored plugin calls that we're keeping around to call again someday. Plugin lanes save and
+    // release calls concurrently, while the main thread reads them in activity and permission results
+    private final Map<String, PluginCall> savedCalls = new ConcurrentHashMap<>();
 
     // The call IDs of saved plugin calls with associated plugin id for handling permissions
-    private Map<String, LinkedList<String>> savedPermissionCallIds = new HashMap<>();
+    private final ConcurrentHashMap<String, Queue<String>> savedPermissionCallIds = new ConcurrentHashMap<>();
 
     // Store a plugin that started a new activity, in case we need to resume
     // the app and return that data back
@@ -216,8 +229,26 @@ public class Bridge {
         handlerThread.start();
         taskHandler = new Handler(handlerThread.getLooper());
 
+        // Read the config, the JS assets and the plugin classes in the background while the main
+        // thread sets up the WebView. Each phase is joined where its result is first needed
+        BridgeStartup startup = new BridgeStartup(startupTimeline);
+        Future<CapConfig> configPhase = config == null ? startup.submit("CapConfig", () -> CapConfig.loadDefault(getActivity())) : null;
+        final List<Class<? extends Plugin>> startupPlugins = getStartupPluginClasses();
+        Future<Map<Class<? extends Plugin>, PluginHandle>> pluginsPhase = startup.submit(
+            "indexPlugins",
+            () -> indexPlugins(startupPlugins)
+        );
+        // With a cached JSInjector script the assets are most likely not needed
+        Future<JSExport.Assets> assetsPhase = JSInjectorCache.getFile(context).exists()
+            ? null
+            : startup.submit("JSExport.readAssets", () -> JSExport.readAssets(context));
+
+        if (configPhase != null) {
+            config = startup.join("CapConfig", configPhase);
+        }
         this.config = config != null ? config : CapConfig.loadDefault(getActivity());
         Logger.init(this.config);
+        startupTimeline.setEnabled(this.config.isStartupTracing());
 
         // Initialize web view and message handler for it
         this.initWebView();
@@ -228,9 +259,10 @@ public class Bridge {
         Intent intent = context.getIntent();
         this.intentUri = intent.getData();
         // Register our core plugins
-        this.registerAllPlugins();
+        this.registerAllPlugins(startupPlugins, startup.join("indexPlugins", pluginsPhase));
 
-        this.loadWebView();
+        this.loadWebView(assetsPhase != null ? startup.join("JSExport.readAssets", assetsPhase) : null);
+        startup.finish();
     }
 
     private void setAllowedOriginRules() {
@@ -258,18 +290,23 @@ public class Bridge {
         return app;
     }
 
-    private void loadWebView() {
+    private void loadWebView(JSExport.Assets assets) {
         final boolean html5mode = this.config.isHTML5Mode();
 
         // Start the local web server
-        JSInjector injector = getJSInjector();
+        long section = startupTimeline.beginSection("JSExport");
+        JSInjector injector = getJSInjector(assets);
+        startupTimeline.endSection("JSExport", section);
         if (WebViewFeature.isFeatureSupported(WebViewFeature.DOCUMENT_START_SCRIPT)) {
             String allowedOrigin = Uri.parse(appUrl).buildUpon().path(null).fragment(null).clearQuery().build().toString();
+            section = startupTimeline.beginSection("addDocumentStartJavaScript");
             try {
                 WebViewCompat.addDocumentStartJavaScript(webView, injector.getScriptString(), Collections.singleton(allowedOrigin));
                 injector = null;
             } catch (IllegalArgumentException ex) {
                 Logger.warn("Invalid url, using fallback");
+            } finally {
+                startupTimeline.endSection("addDocumentStartJavaScript", section);
             }
         }
         localServer = new WebViewLocalServer(context, this, injector, authorities, html5mode);
@@ -321,6 +358,7 @@ public class Bridge {
             }
         } else {
             // Get to work
+            startupTimeline.mark("loadUrl");
             webView.loadUrl(appUrl);
         }
     }
@@ -572,9 +610,11 @@ public class Bridge {
     }
 
     public void reset() {
-        savedCalls = new HashMap<>();
+        savedCalls.clear();
         for (PluginHandle handle : this.plugins.values()) {
-            handle.getInstance().removeAllListeners();
+            if (handle.isLoaded()) {
+                handle.getInstance().removeAllListeners();
+            }
         }
     }
 
@@ -655,13 +695,16 @@ public class Bridge {
     /**
      * Register our core Plugin APIs
      */
-    private void registerAllPlugins() {
-        this.registerPlugin(com.getcapacitor.plugin.CapacitorCookies.class);
-        this.registerPlugin(com.getcapacitor.plugin.WebView.class);
-        this.registerPlugin(com.getcapacitor.plugin.CapacitorHttp.class);
-
-        for (Class<? extends Plugin> pluginClass : this.initialPlugins) {
-            this.registerPlugin(pluginClass);
+    private void registerAllPlugins(
+        List<Class<? extends Plugin>> pluginClasses,
+        Map<Class<? extends Plugin>, PluginHandle> indexedPlugins
+    ) {
+        for (Class<? extends Plugin> pluginClass : pluginClasses) {
+            if (indexedPlugins != null && indexedPlugins.containsKey(pluginClass)) {
+                this.registerIndexedPlugin(pluginClass, indexedPlugins.remove(pluginClass));
+            } else {
+                this.registerPlugin(pluginClass);
+            }
         }
 
         for (Plugin plugin : pluginInstances) {
@@ -669,6 +712,34 @@ public class Bridge {
         }
     }
 
+    /**
+     * The core plugin classes, followed by the plugin classes the bridge was built with
+     */
+    private List<Class<? extends Plugin>> getStartupPluginClasses() {
+        List<Class<? extends Plugin>> pluginClasses = new ArrayList<>();
+        pluginClasses.add(com.getcapacitor.plugin.CapacitorCookies.class);
+        pluginClasses.add(com.getcapacitor.plugin.WebView.class);
+        pluginClasses.add(com.getcapacitor.plugin.CapacitorHttp.class);
+        pluginClasses.addAll(this.initialPlugins);
+        return pluginClasses;
+    }
+
+    /**
+     * Index plugin classes without loading them, so it can be done off the main thread.
+     * @return the handles by plugin class, with a null handle for invalid plugins
+     */
+    private Map<Class<? extends Plugin>, PluginHandle> indexPlugins(List<Class<? extends Plugin>> pluginClasses) {
+        Map<Class<? extends Plugin>, PluginHandle> handles = new HashMap<>();
+        for (Class<? extends Plugin> pluginClass : pluginClasses) {
+            try {
+                handles.put(pluginClass, PluginHandle.index(this, pluginClass));
+            } catch (InvalidPluginException ex) {
+                handles.put(pluginClass, null);
+            }
+        }
+        return handles;
+    }
+
     /**
      * Register additional plugins
      * @param pluginClasses the plugins to register
@@ -705,11 +776,33 @@ public class Bridge {
         if (pluginId == null) return;
 
         try {
-            this.plugins.put(pluginId, new PluginHandle(this, pluginClass));
+            this.attachPlugin(pluginId, PluginHandle.index(this, pluginClass));
         } catch (InvalidPluginException ex) {
             logInvalidPluginException(pluginClass);
+        }
+    }
+
+    private void registerIndexedPlugin(Class<? extends Plugin> pluginClass, PluginHandle handle) {
+        String pluginId = pluginId(pluginClass);
+        if (pluginId == null) return;
+
+        if (handle == null) {
+            logInvalidPluginException(pluginClass);
+            return;
+        }
+
+        this.attachPlugin(pluginId, handle);
+    }
+
+    private void attachPlugin(String pluginId, PluginHandle handle) {
+        long section = startupTimeline.beginSection("registerPlugin " + pluginId);
+        try {
+            handle.attach(config.isLazyPluginLoading());
+            this.plugins.put(pluginId, handle);
         } catch (PluginLoadException ex) {
-            logPluginLoadException(pluginClass, ex);
+            logPluginLoadException(handle.getPluginClass(), ex);
+        } finally {
+            startupTimeline.endSection("registerPlugin " + pluginId, section);
         }
     }
 
@@ -718,10 +811,13 @@ public class Bridge {
         String pluginId = pluginId(clazz);
         if (pluginId == null) return;
 
+        long section = startupTimeline.beginSection("registerPlugin " + pluginId);
         try {
             this.plugins.put(pluginId, new PluginHandle(this, plugin));
         } catch (InvalidPluginException ex) {
             logInvalidPluginException(clazz);
+        } finally {
+            startupTimeline.endSection("registerPlugin " + pluginId, section);
         }
     }
 
@@ -766,6 +862,20 @@ public class Bridge {
         return this.plugins.get(pluginId);
     }
 
+    /**
+     * Get the instance of a plugin, loading it if plugins are loaded lazily
+     * @param handle the plugin
+     * @return the instance, or null if it failed to load
+     */
+    private Plugin loadPluginInstance(PluginHandle handle) {
+        try {
+            return handle.load();
+        } catch (PluginLoadException ex) {
+            logPluginLoadException(handle.getPluginClass(), ex);
+            return null;
+        }
+    }
+
     /**
      * Find the plugin handle that responds to the given request code. This will
      * fire after certain Android OS intent results/permission checks/etc.
@@ -835,29 +945,120 @@ public class Bridge {
                     ", methodName: " +
                     methodName +
                     ", methodData: " +
-                    call.getData().toString()
+                    call.getRawData()
                 );
             }
 
-            Runnable currentThreadTask = () -> {
-                try {
-                    plugin.invoke(methodName, call);
+            final Executor executor = plugin.getExecutor(methodName);
+            plugin.executeWhenLoaded(() -> executor.execute(() -> invokePluginMethod(plugin, methodName, call)));
+        } catch (Exception ex) {
+            Logger.error(Logger.tags("callPluginMethod"), "error : " + ex, null);
+            call.errorCallback(ex.toString());
+        }
+    }
+
+    /**
+     * Call a method on a plugin for a synchronous call from the web layer. The call runs on
+     * the executor returned by {@link PluginHandle#getSyncExecutor(String)}, inline for
+     * {@code syncSafe} methods and after the calls queued on the method's executor otherwise.
+     * @param pluginId the plugin id to use to lookup the plugin handle
+     * @param methodName the name of the method to call
+     * @param call the call object to pass to the method
+     */
+    void callPluginMethodSync(String pluginId, final String methodName, final PluginCall call) {
+        final PluginHandle plugin = this.getPlugin(pluginId);
+        if (plugin == null) {
+            Logger.error("unable to find plugin : " + pluginId);
+            call.errorCallback("unable to find plugin : " + pluginId);
+            return;
+        }
+
+        final Executor executor = plugin.getSyncExecutor(methodName);
+        if (executor == null) {
+            call.errorCallback("No method " + methodName + " found for plugin " + pluginId);
+            return;
+        }
+
+        plugin.executeWhenLoaded(() -> executor.execute(() -> invokePluginMethod(plugin, methodName, call)));
+    }
+
+    /**
+     * Call a list of plugin methods. The calls are grouped by plugin and by the executor
+     * their method runs on, and each group is executed in a single task, so a batch of
+     * calls coming from the WebView costs one thread hop per executor instead of one per
+     * call. Calls sharing an executor keep their order.
+     * @param calls the calls to execute
+     */
+    public void callPluginMethods(final List<PluginCall> calls) {
+        final Map<PluginHandle, Map<Executor, List<Runnable>>> tasksByPlugin = new LinkedHashMap<>();
+
+        for (PluginCall call : calls) {
+            PluginHandle plugin = this.getPlugin(call.getPluginId());
+            if (plugin == null) {
+                Logger.error("unable to find plugin : " + call.getPluginId());
+                call.errorCallback("unable to find plugin : " + call.getPluginId());
+                continue;
+            }
+
+            if (Logger.shouldLog()) {
+                Logger.verbose(
+                    "callback: " +
+                    call.getCallbackId() +
+                    ", pluginId: " +
+                    plugin.getId() +
+                    ", methodName: " +
+                    call.getMethodName() +
+                    ", methodData: " +
+                    call.getRawData()
+                );
+            }
+
+            Map<Executor, List<Runnable>> tasksByExecutor = tasksByPlugin.get(plugin);
+            if (tasksByExecutor == null) {
+                tasksByExecutor = new LinkedHashMap<>();
+                tasksByPlugin.put(plugin, tasksByExecutor);
+            }
 
-                    if (call.isKeptAlive()) {
-                        saveCall(call);
+            Executor executor = plugin.getExecutor(call.getMethodName());
+            List<Runnable> tasks = tasksByExecutor.get(executor);
+            if (tasks == null) {
+                tasks = new ArrayList<>();
+                tasksByExecutor.put(executor, tasks);
+            }
+            tasks.add(() -> invokePluginMethod(plugin, call.getMethodName(), call));
+        }
+
+        for (Map.Entry<PluginHandle, Map<Executor, List<Runnable>>> pluginEntry : tasksByPlugin.entrySet()) {
+            final Map<Executor, List<Runnable>> tasksByExecutor = pluginEntry.getValue();
+            pluginEntry
+                .getKey()
+                .executeWhenLoaded(() -> {
+                    for (Map.Entry<Executor, List<Runnable>> entry : tasksByExecutor.entrySet()) {
+                        final List<Runnable> tasks = entry.getValue();
+                        entry
+                            .getKey()
+                            .execute(() -> {
+                                for (Runnable task : tasks) {
+                                    task.run();
+                                }
+                            });
                     }
-                } catch (PluginLoadException | InvalidPluginMethodException ex) {
-                    Logger.error("Unable to execute plugin method", ex);
-                } catch (Exception ex) {
-                    Logger.error("Serious error executing plugin", ex);
-                    throw new RuntimeException(ex);
-                }
-            };
+                });
+        }
+    }
+
+    private void invokePluginMethod(PluginHandle plugin, String methodName, PluginCall call) {
+        try {
+            plugin.invoke(methodName, call);
 
-            taskHandler.post(currentThreadTask);
+            if (call.isKeptAlive()) {
+                saveCall(call);
+            }
+        } catch (PluginLoadException | InvalidPluginMethodException ex) {
+            Logger.error("Unable to execute plugin method", ex);
         } catch (Exception ex) {
-            Logger.error(Logger.tags("callPluginMethod"), "error : " + ex, null);
-            call.errorCallback(ex.toString());
+            Logger.error("Serious error executing plugin", ex);
+            throw new RuntimeException(ex);
         }
     }
 
@@ -909,6 +1110,23 @@ public class Bridge {
         taskHandler.post(runnable);
     }
 
+    /**
+     * Get the dispatcher that owns the executors plugin methods run on
+     * @return
+     */
+    public PluginDispatcher getPluginDispatcher() {
+        return this.pluginDispatcher;
+    }
+
+    /**
+     * Get the timeline of the app startup. It only holds entries when
+     * {@link CapConfig#isStartupTracing()} is set.
+     * @return the startup timeline
+     */
+    public StartupTimeline getStartupTimeline() {
+        return this.startupTimeline;
+    }
+
     public void executeOnMainThread(Runnable runnable) {
         Handler mainHandler = new Handler(context.getMainLooper());
 
@@ -920,6 +1138,11 @@ public class Bridge {
      * @param call
      */
     public void saveCall(PluginCall call) {
+        // Calls without an id could never be looked up again
+        if (call.getCallbackId() == null) {
+            return;
+        }
+
         this.savedCalls.put(call.getCallbackId(), call);
     }
 
@@ -959,6 +1182,10 @@ public class Bridge {
      * @param callbackId an ID of a callback to release
      */
     public void releaseCall(String callbackId) {
+        if (callbackId == null) {
+            return;
+        }
+
         this.savedCalls.remove(callbackId);
     }
 
@@ -969,7 +1196,7 @@ public class Bridge {
      * @return The saved plugin call
      */
     protected PluginCall getPermissionCall(String pluginId) {
-        LinkedList<String> permissionCallIds = this.savedPermissionCallIds.get(pluginId);
+        Queue<String> permissionCallIds = pluginId != null ? this.savedPermissionCallIds.get(pluginId) : null;
         String savedCallId = null;
         if (permissionCallIds != null) {
             savedCallId = permissionCallIds.poll();
@@ -985,12 +1212,15 @@ public class Bridge {
      */
     protected void savePermissionCall(PluginCall call) {
         if (call != null) {
-            if (!savedPermissionCallIds.containsKey(call.getPluginId())) {
-                savedPermissionCallIds.put(call.getPluginId(), new LinkedList<>());
+            Queue<String> permissionCallIds = savedPermissionCallIds.get(call.getPluginId());
+            if (permissionCallIds == null) {
+                savedPermissionCallIds.putIfAbsent(call.getPluginId(), new ConcurrentLinkedQueue<>());
+                permissionCallIds = savedPermissionCallIds.get(call.getPluginId());
             }
 
-            savedPermissionCallIds.get(call.getPluginId()).add(call.getCallbackId());
+            // Save the call first, so it can be found as soon as its id is queued
             saveCall(call);
+            permissionCallIds.add(call.getCallbackId());
         }
     }
 
@@ -1016,29 +1246,105 @@ public class Bridge {
     /**
      * Build the JSInjector that will be used to inject JS into files served to the app,
      * to ensure that Capacitor's JS and the JS for all the plugins is loaded each time.
+     * @param assets the scripts read from the assets during startup, or null to read them now
      */
-    private JSInjector getJSInjector() {
+    private JSInjector getJSInjector(JSExport.Assets assets) {
+        String cacheKey = getJSInjectorCacheKey();
+        JSInjectorCache cache = cacheKey != null ? new JSInjectorCache(context, cacheKey) : null;
+        if (cache != null) {
+            String cachedScript = cache.read();
+            if (cachedScript != null) {
+                miscJSFileInjections = new ArrayList<>();
+                canInjectJS = false;
+                return new JSInjector(cachedScript);
+            }
+        }
+
         try {
             // 使用带配置参数的方法，将配置注入到 window.Capacitor.config
-            String globalJS = JSExport.getGlobalJS(context, config.isLoggingEnabled(), isDevMode(), config);
-            String bridgeJS = JSExport.getBridgeJS(context);
+            String globalJS = JSExport.getGlobalJS(
+                context,
+                config.isLoggingEnabled(),
+                isDevMode(),
+                config,
+                msgHandler.isArrayBufferChannel()
+            );
+            if (assets == null) {
+                assets = JSExport.readAssets(context);
+            }
+            String bridgeJS = assets.bridgeJS;
             String pluginJS = JSExport.getPluginJS(plugins.values());
-            String cordovaJS = JSExport.getCordovaJS(context);
-            String cordovaPluginsJS = JSExport.getCordovaPluginJS(context);
-            String cordovaPluginsFileJS = JSExport.getCordovaPluginsFileJS(context);
+            String cordovaJS = assets.cordovaJS;
+            String cordovaPluginsJS = assets.cordovaPluginsJS;
+            String cordovaPluginsFileJS = assets.cordovaPluginsFileJS;
             String localUrlJS = "window.WEBVIEW_SERVER_URL = '" + localUrl + "';";
             String miscJS = JSExport.getMiscFileJS(miscJSFileInjections, context);
 
             miscJSFileInjections = new ArrayList<>();
             canInjectJS = false;
 
-            return new JSInjector(globalJS, bridgeJS, pluginJS, cordovaJS, cordovaPluginsJS, cordovaPluginsFileJS, localUrlJS, miscJS);
+            final JSInjector injector = new JSInjector(
+                globalJS,
+                bridgeJS,
+                pluginJS,
+                cordovaJS,
+                cordovaPluginsJS,
+                cordovaPluginsFileJS,
+                localUrlJS,
+                miscJS
+            );
+            if (cache != null) {
+                final String script = injector.getScriptString();
+                execute(() -> cache.write(script));
+            }
+            return injector;
         } catch (Exception ex) {
             Logger.error("Unable to export Capacitor JS. App will not function!", ex);
         }
         return null;
     }
 
+    /**
+     * Build the key of the cached JSInjector script from everything the script depends on:
+     * the installed binary, the plugins and their methods, the config, the server URL and the features of the WebView.
+     * @return the key, or null if the script should not be cached
+     */
+    private String getJSInjectorCacheKey() {
+        StringBuilder key = new StringBuilder();
+        try {
+            PackageManager pm = getContext().getPackageManager();
+            PackageInfo pInfo = InternalUtils.getPackageInfo(pm, getContext().getPackageName());
+            // The update time changes on every install, even when the version is unchanged during development
+            key
+                .append(PackageInfoCompat.getLongVersionCode(pInfo))
+                .append('|')
+                .append(pInfo.versionName)
+                .append('|')
+                .append(pInfo.lastUpdateTime);
+        } catch (Exception ex) {
+            Logger.warn("Unable to get package info, Capacitor JS will not be cached");
+            return null;
+        }
+
+        key.append('|').append(config.isLoggingEnabled()).append('|').append(isDevMode()).append('|').append(localUrl);
+        key.append('|').append(msgHandler.isArrayBufferChannel());
+        JSONObject configJSON = config.getConfigJSON();
+        key.append('|').append(configJSON != null ? configJSON.toString() : "");
+
+        for (PluginHandle plugin : plugins.values()) {
+            key.append('|').append(plugin.getId());
+            for (PluginMethodHandle method : plugin.getMethods()) {
+                key.append(',').append(method.getName()).append(':').append(method.getReturnType());
+            }
+        }
+
+        for (String path : miscJSFileInjections) {
+            key.append('|').append(path);
+        }
+
+        return key.toString();
+    }
+
     /**
      * Inject JavaScript from an external file before the WebView loads.
      * @param path relative to public folder
@@ -1079,8 +1385,9 @@ public class Bridge {
             // Let the plugin restore any state it needs
             Bundle bundleData = savedInstanceState.getBundle(BUNDLE_PLUGIN_CALL_BUNDLE_KEY);
             PluginHandle lastPlugin = getPlugin(lastPluginId);
-            if (bundleData != null && lastPlugin != null) {
-                lastPlugin.getInstance().restoreState(bundleData);
+            Plugin lastPluginInstance = lastPlugin != null ? loadPluginInstance(lastPlugin) : null;
+            if (bundleData != null && lastPluginInstance != null) {
+                lastPluginInstance.restoreState(bundleData);
             } else {
                 Logger.error("Unable to restore last plugin call");
             }
@@ -1096,7 +1403,7 @@ public class Bridge {
             PluginCall call = pluginCallForLastActivity;
             PluginHandle handle = getPlugin(call.getPluginId());
 
-            if (handle != null) {
+            if (handle != null && handle.isLoaded()) {
                 Bundle bundle = handle.getInstance().saveInstanceState();
                 if (bundle != null) {
                     outState.putString(BUNDLE_LAST_PLUGIN_ID_KEY, call.getPluginId());
@@ -1273,7 +1580,7 @@ public class Bridge {
     boolean onActivityResult(int requestCode, int resultCode, Intent data) {
         PluginHandle plugin = getPluginWithRequestCode(requestCode);
 
-        if (plugin == null || plugin.getInstance() == null) {
+        if (plugin == null || loadPluginInstance(plugin) == null) {
             Logger.debug("Unable to find a Capacitor plugin to handle requestCode, trying Cordova plugins " + requestCode);
             return cordovaInterface.onActivityResult(requestCode, resultCode, data);
         }
@@ -1303,7 +1610,9 @@ public class Bridge {
      */
     public void onNewIntent(Intent intent) {
         for (PluginHandle plugin : plugins.values()) {
-            plugin.getInstance().handleOnNewIntent(intent);
+            if (plugin.isLoaded()) {
+                plugin.getInstance().handleOnNewIntent(intent);
+            }
         }
 
         if (cordovaWebView != null) {
@@ -1317,7 +1626,9 @@ public class Bridge {
      */
     public void onConfigurationChanged(Configuration newConfig) {
         for (PluginHandle plugin : plugins.values()) {
-            plugin.getInstance().handleOnConfigurationChanged(newConfig);
+            if (plugin.isLoaded()) {
+                plugin.getInstance().handleOnConfigurationChanged(newConfig);
+            }
         }
     }
 
@@ -1326,7 +1637,9 @@ public class Bridge {
      */
     public void onRestart() {
         for (PluginHandle plugin : plugins.values()) {
-            plugin.getInstance().handleOnRestart();
+            if (plugin.isLoaded()) {
+                plugin.getInstance().handleOnRestart();
+            }
         }
     }
 
@@ -1335,7 +1648,9 @@ public class Bridge {
      */
     public void onStart() {
         for (PluginHandle plugin : plugins.values()) {
-            plugin.getInstance().handleOnStart();
+            if (plugin.isLoaded()) {
+                plugin.getInstance().handleOnStart();
+            }
         }
 
         if (cordovaWebView != null) {
@@ -1348,7 +1663,9 @@ public class Bridge {
      */
     public void onResume() {
         for (PluginHandle plugin : plugins.values()) {
-            plugin.getInstance().handleOnResume();
+            if (plugin.isLoaded()) {
+                plugin.getInstance().handleOnResume();
+            }
         }
 
         if (cordovaWebView != null) {
@@ -1361,7 +1678,9 @@ public class Bridge {
      */
     public void onPause() {
         for (PluginHandle plugin : plugins.values()) {
-            plugin.getInstance().handleOnPause();
+            if (plugin.isLoaded()) {
+                plugin.getInstance().handleOnPause();
+            }
         }
 
         if (cordovaWebView != null) {
@@ -1375,7 +1694,9 @@ public class Bridge {
      */
     public void onStop() {
         for (PluginHandle plugin : plugins.values()) {
-            plugin.getInstance().handleOnStop();
+            if (plugin.isLoaded()) {
+                plugin.getInstance().handleOnStop();
+            }
         }
 
         if (cordovaWebView != null) {
@@ -1388,10 +1709,17 @@ public class Bridge {
      */
     public void onDestroy() {
         for (PluginHandle plugin : plugins.values()) {
-            plugin.getInstance().handleOnDestroy();
+            if (plugin.isLoaded()) {
+                plugin.getInstance().handleOnDestroy();
+            }
         }
 
         handlerThread.quitSafely();
+        pluginDispatcher.shutdown();
+
+        if (localServer != null) {
+            localServer.destroy();
+        }
 
         if (cordovaWebView != null) {
             cordovaWebView.handleDestroy();
@@ -1441,6 +1769,14 @@ public class Bridge {
         return localUrl;
     }
 
+    /**
+     * Open a dedicated channel for an event of a plugin, see {@link Plugin#enableEventStream(String)}.
+     * @return the stream, or null if the WebView does not support message channels
+     */
+    EventStream openEventStream(String pluginId, String eventName) {
+        return msgHandler.openEventStream(pluginId, eventName);
+    }
+
     public WebViewLocalServer getLocalServer() {
         return localServer;
     }
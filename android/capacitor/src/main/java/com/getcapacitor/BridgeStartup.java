@@ -0,0 +1,118 @@
+package com.getcapacitor;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the independent phases of the {@link Bridge} startup concurrently on a small,
+ * short-lived pool, while the main thread goes on with the work that must stay on it.
+ *
+ * Each phase is submitted under a name and joined where its result is first needed.
+ * The time spent in every phase, and the time the main thread spent waiting for it,
+ * is logged once the startup is finished. Phases are also recorded as sections of the
+ * {@link StartupTimeline}.
+ */
+class BridgeStartup {
+
+    private static final String THREAD_NAME_PREFIX = "CapacitorStartup-";
+    private static final int MAX_THREADS = 3;
+
+    private final ExecutorService pool;
+    private final StartupTimeline timeline;
+    private final long startTime = System.nanoTime();
+    private final Map<String, Long> timings = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    BridgeStartup(StartupTimeline timeline) {
+        this.timeline = timeline;
+        final AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            MAX_THREADS,
+            MAX_THREADS,
+            1,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> new Thread(runnable, THREAD_NAME_PREFIX + threadCount.incrementAndGet())
+        );
+        executor.allowCoreThreadTimeOut(true);
+        this.pool = executor;
+    }
+
+    /**
+     * Start a phase in the background.
+     * @param phase the name the phase is reported under
+     * @param task the work of the phase
+     * @return the future to pass to {@link #join(String, Future)}
+     */
+    <T> Future<T> submit(final String phase, final Callable<T> task) {
+        return pool.submit(() -> {
+            long start = System.nanoTime();
+            long section = timeline.beginSection(phase);
+            try {
+                return task.call();
+            } finally {
+                timeline.endSection(phase, section);
+                record(phase, start);
+            }
+        });
+    }
+
+    /**
+     * Wait for a phase to finish.
+     * @param phase the name the phase was submitted under
+     * @param future the future returned by {@link #submit(String, Callable)}
+     * @return the result of the phase, or null if it failed. The caller is expected to
+     *         fall back to doing the work itself in that case
+     */
+    <T> T join(String phase, Future<T> future) {
+        long start = System.nanoTime();
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            Logger.warn("Startup phase " + phase + " failed: " + ex.getCause());
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            record(phase + " (wait)", start);
+        }
+    }
+
+    /**
+     * Release the pool and log the phase timings.
+     */
+    void finish() {
+        pool.shutdown();
+        record("total", startTime);
+
+        StringBuilder report = new StringBuilder("Startup timings:");
+        synchronized (timings) {
+            for (Map.Entry<String, Long> timing : timings.entrySet()) {
+                report.append(' ').append(timing.getKey()).append('=').append(timing.getValue()).append("ms");
+            }
+        }
+        Logger.debug(report.toString());
+    }
+
+    /**
+     * @return the duration in milliseconds of every finished phase, in the order they finished
+     */
+    Map<String, Long> getTimings() {
+        synchronized (timings) {
+            return new LinkedHashMap<>(timings);
+        }
+    }
+
+    private void record(String phase, long start) {
+        timings.put(phase, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
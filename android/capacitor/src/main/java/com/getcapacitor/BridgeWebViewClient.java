@@ -20,6 +20,7 @@ public class BridgeWebViewClient extends WebViewClient {
 
     @Override
     public WebResourceResponse shouldInterceptRequest(WebView view, WebResourceRequest request) {
+        bridge.getStartupTimeline().markOnce("shouldInterceptRequest");
         return bridge.getLocalServer().shouldInterceptRequest(request);
     }
 
@@ -38,6 +39,9 @@ public class BridgeWebViewClient extends WebViewClient {
     @Override
     public void onPageFinished(WebView view, String url) {
         super.onPageFinished(view, url);
+        StartupTimeline startupTimeline = bridge.getStartupTimeline();
+        startupTimeline.mark("onPageFinished");
+        startupTimeline.finish();
         List<WebViewListener> webViewListeners = bridge.getWebViewListeners();
 
         if (webViewListeners != null && view.getProgress() == 100) {
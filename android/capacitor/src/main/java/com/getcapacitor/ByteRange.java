@@ -0,0 +1,116 @@
+package com.getcapacitor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A range of bytes requested with an HTTP {@code Range} header, see RFC 9110 section 14.
+ */
+final class ByteRange {
+
+    // Requests asking for more ranges are served whole, splitting a body in many parts is never useful
+    private static final int MAX_RANGES = 64;
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    final long start;
+    final long end;
+
+    ByteRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @return the number of bytes in the range, which includes its last byte
+     */
+    long getLength() {
+        return end - start + 1;
+    }
+
+    /**
+     * @param totalLength the length of the whole body
+     * @return the value of the {@code Content-Range} header for this range
+     */
+    String toContentRange(long totalLength) {
+        return "bytes " + start + "-" + end + "/" + totalLength;
+    }
+
+    /**
+     * Parse a {@code Range} header.
+     * @param header the header value, for example {@code bytes=0-499, -500}
+     * @param totalLength the length of the body the ranges apply to
+     * @return the satisfiable ranges, clamped to the body, in the requested order. The list is
+     *         empty when none of the ranges can be satisfied. Returns null if the header is
+     *         invalid or not worth honoring, in which case the whole body should be served
+     */
+    static List<ByteRange> parse(String header, long totalLength) {
+        if (header == null || !header.regionMatches(true, 0, BYTES_UNIT, 0, BYTES_UNIT.length())) {
+            return null;
+        }
+
+        String[] specs = header.substring(BYTES_UNIT.length()).split(",");
+        if (specs.length > MAX_RANGES) {
+            return null;
+        }
+
+        List<ByteRange> ranges = new ArrayList<>(specs.length);
+        for (String spec : specs) {
+            spec = spec.trim();
+            int dash = spec.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // A suffix range, the last bytes of the body
+                long suffixLength = parseLength(last);
+                if (suffixLength < 0) {
+                    return null;
+                }
+                if (suffixLength == 0 || totalLength == 0) {
+                    continue;
+                }
+                start = Math.max(0, totalLength - suffixLength);
+                end = totalLength - 1;
+            } else {
+                start = parseLength(first);
+                end = last.isEmpty() ? totalLength - 1 : parseLength(last);
+                if (start < 0 || (!last.isEmpty() && (end < 0 || end < start))) {
+                    return null;
+                }
+                if (start >= totalLength) {
+                    continue;
+                }
+                end = Math.min(end, totalLength - 1);
+            }
+
+            ranges.add(new ByteRange(start, end));
+        }
+
+        return ranges;
+    }
+
+    private static long parseLength(String value) {
+        if (value.isEmpty()) {
+            return -1;
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return -1;
+            }
+        }
+
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            // Larger than any body
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.getcapacitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONException;
+
+/**
+ * The envelope of a message posted by the web layer, read without parsing the options of the call.
+ *
+ * A message is a JSON object holding the type of the message, the ids of the call and its options.
+ * It is scanned in a single pass: the fields of the envelope are read, while the options are kept
+ * as raw JSON text, only parsed once the plugin reads them, see {@link PluginCall#getData()}.
+ */
+class CallEnvelope {
+
+    final String type;
+    final String callbackId;
+    final String pluginId;
+    final String methodName;
+    // The raw JSON of the options, or null if the message has none
+    final String options;
+
+    private CallEnvelope(String type, String callbackId, String pluginId, String methodName, String options) {
+        this.type = type;
+        this.callbackId = callbackId;
+        this.pluginId = pluginId;
+        this.methodName = methodName;
+        this.options = options;
+    }
+
+    /**
+     * Read the envelope of a message.
+     * @param json a JSON object
+     * @throws JSONException if the envelope is malformed. The options are only checked to
+     *                       be a complete value, they are validated once parsed
+     */
+    static CallEnvelope parse(String json) throws JSONException {
+        Scanner scanner = new Scanner(json);
+        String type = null;
+        String callbackId = null;
+        String pluginId = null;
+        String methodName = null;
+        String options = null;
+
+        scanner.skipSpace();
+        scanner.expect('{');
+        scanner.skipSpace();
+        if (scanner.peek() == '}') {
+            scanner.pos++;
+        } else {
+            while (true) {
+                scanner.skipSpace();
+                String key = scanner.readString();
+                scanner.skipSpace();
+                scanner.expect(':');
+                scanner.skipSpace();
+                int start = scanner.pos;
+                switch (key) {
+                    case "type":
+                        type = scanner.readStringValue();
+                        break;
+                    case "callbackId":
+                        callbackId = scanner.readStringValue();
+                        break;
+                    case "pluginId":
+                        pluginId = scanner.readStringValue();
+                        break;
+                    case "methodName":
+                        methodName = scanner.readStringValue();
+                        break;
+                    case "options":
+                        scanner.skipValue();
+                        options = json.substring(start, scanner.pos);
+                        break;
+                    default:
+                        scanner.skipValue();
+                        break;
+                }
+
+                scanner.skipSpace();
+                if (scanner.peek() == ',') {
+                    scanner.pos++;
+                } else {
+                    scanner.expect('}');
+                    break;
+                }
+            }
+        }
+        scanner.expectEnd();
+
+        return new CallEnvelope(type, callbackId, pluginId, methodName, options);
+    }
+
+    /**
+     * Split a batch of messages into the raw JSON of each message, without parsing them.
+     * @param json a JSON array
+     * @throws JSONException if the batch is not a JSON array of complete values
+     */
+    static List<String> split(String json) throws JSONException {
+        Scanner scanner = new Scanner(json);
+        List<String> messages = new ArrayList<>();
+
+        scanner.skipSpace();
+        scanner.expect('[');
+        scanner.skipSpace();
+        if (scanner.peek() == ']') {
+            scanner.pos++;
+        } else {
+            while (true) {
+                scanner.skipSpace();
+                int start = scanner.pos;
+                scanner.skipValue();
+                messages.add(json.substring(start, scanner.pos));
+
+                scanner.skipSpace();
+                if (scanner.peek() == ',') {
+                    scanner.pos++;
+                } else {
+                    scanner.expect(']');
+                    break;
+                }
+            }
+        }
+        scanner.expectEnd();
+
+        return messages;
+    }
+
+    private static final class Scanner {
+
+        private final String json;
+        private int pos;
+
+        Scanner(String json) {
+            this.json = json;
+        }
+
+        char peek() throws JSONException {
+            if (pos >= json.length()) {
+                throw error("Unexpected end of message");
+            }
+            return json.charAt(pos);
+        }
+
+        void expect(char c) throws JSONException {
+            if (peek() != c) {
+                throw error("Expected '" + c + "'");
+            }
+            pos++;
+        }
+
+        void expectEnd() throws JSONException {
+            skipSpace();
+            if (pos != json.length()) {
+                throw error("Unexpected trailing characters");
+            }
+        }
+
+        void skipSpace() {
+            while (pos < json.length()) {
+                char c = json.charAt(pos);
+                if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                    return;
+                }
+                pos++;
+            }
+        }
+
+        /**
+         * @return the value if it is a string, otherwise null, as {@link JSObject#getString(String)}
+         */
+        String readStringValue() throws JSONException {
+            if (peek() == '"') {
+                return readString();
+            }
+            skipValue();
+            return null;
+        }
+
+        String readString() throws JSONException {
+            expect('"');
+            int start = pos;
+            // Ids and names rarely hold escapes, they are copied as is
+            while (pos < json.length()) {
+                char c = json.charAt(pos);
+                if (c == '"') {
+                    return json.substring(start, pos++);
+                }
+                if (c == '\\') {
+                    break;
+                }
+                pos++;
+            }
+
+            StringBuilder value = new StringBuilder(json.substring(start, pos));
+            while (true) {
+                char c = peek();
+                pos++;
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+
+                char escaped = peek();
+                pos++;
+                switch (escaped) {
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'u':
+                        if (pos + 4 > json.length()) {
+                            throw error("Unterminated escape sequence");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(json.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw error("Invalid escape sequence");
+                        }
+                        pos += 4;
+                        break;
+                    default:
+                        value.append(escaped);
+                        break;
+                }
+            }
+        }
+
+        /**
+         * Skip a value of any type, tracking strings so their brackets are not counted.
+         */
+        void skipValue() throws JSONException {
+            char c = peek();
+            if (c == '"') {
+                skipString();
+                return;
+            }
+
+            if (c != '{' && c != '[') {
+                // A number, a boolean or null
+                int start = pos;
+                while (pos < json.length() && ",}] \t\n\r".indexOf(json.charAt(pos)) < 0) {
+                    pos++;
+                }
+                if (pos == start) {
+                    throw error("Expected a value");
+                }
+                return;
+            }
+
+            int depth = 0;
+            do {
+                c = peek();
+                if (c == '"') {
+                    skipString();
+                    continue;
+                }
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+                pos++;
+            } while (depth > 0);
+        }
+
+        private void skipString() throws JSONException {
+            pos++;
+            while (true) {
+                char c = peek();
+                pos++;
+                if (c == '"') {
+                    return;
+                }
+                if (c == '\\') {
+                    peek();
+                    pos++;
+                }
+            }
+        }
+
+        private JSONException error(String message) {
+            return new JSONException(message + " at character " + pos);
+        }
+    }
+}
@@ -49,6 +49,12 @@ public class CapConfig {
     private boolean loggingEnabled = true;
     private boolean initialFocus = true;
     private boolean useLegacyBridge = false;
+    private boolean batchBridgeResponses = false;
+    private boolean lazyPluginLoading = false;
+    private boolean startupTracing = false;
+    private boolean assetCaching = false;
+    private String immutableAssetPattern = AssetCachePolicy.DEFAULT_IMMUTABLE_PATTERN;
+    private Map<String, String> mimeTypes = new HashMap<>();
     private int minWebViewVersion = DEFAULT_ANDROID_WEBVIEW_VERSION;
     private int minHuaweiWebViewVersion = DEFAULT_HUAWEI_WEBVIEW_VERSION;
     private String errorPath;
@@ -177,6 +183,12 @@ public class CapConfig {
         this.loggingEnabled = builder.loggingEnabled;
         this.initialFocus = builder.initialFocus;
         this.useLegacyBridge = builder.useLegacyBridge;
+        this.batchBridgeResponses = builder.batchBridgeResponses;
+        this.lazyPluginLoading = builder.lazyPluginLoading;
+        this.startupTracing = builder.startupTracing;
+        this.assetCaching = builder.assetCaching;
+        this.immutableAssetPattern = builder.immutableAssetPattern;
+        this.mimeTypes = builder.mimeTypes;
         this.minWebViewVersion = builder.minWebViewVersion;
         this.minHuaweiWebViewVersion = builder.minHuaweiWebViewVersion;
         this.errorPath = builder.errorPath;
@@ -285,6 +297,12 @@ public class CapConfig {
         minHuaweiWebViewVersion = JSONUtils.getInt(configJSON, "android.minHuaweiWebViewVersion", DEFAULT_HUAWEI_WEBVIEW_VERSION);
         captureInput = JSONUtils.getBoolean(configJSON, "android.captureInput", captureInput);
         useLegacyBridge = JSONUtils.getBoolean(configJSON, "android.useLegacyBridge", useLegacyBridge);
+        batchBridgeResponses = JSONUtils.getBoolean(configJSON, "android.batchBridgeResponses", batchBridgeResponses);
+        lazyPluginLoading = JSONUtils.getBoolean(configJSON, "android.lazyPluginLoading", lazyPluginLoading);
+        startupTracing = JSONUtils.getBoolean(configJSON, "android.startupTracing", startupTracing);
+        assetCaching = JSONUtils.getBoolean(configJSON, "android.assetCaching", assetCaching);
+        immutableAssetPattern = JSONUtils.getString(configJSON, "android.immutableAssetPattern", immutableAssetPattern);
+        mimeTypes = deserializeMimeTypes(JSONUtils.getObject(configJSON, "android.mimeTypes"));
         webContentsDebuggingEnabled = JSONUtils.getBoolean(configJSON, "android.webContentsDebuggingEnabled", isDebug);
         zoomableWebView = JSONUtils.getBoolean(configJSON, "android.zoomEnabled", JSONUtils.getBoolean(configJSON, "zoomEnabled", false));
         resolveServiceWorkerRequests = JSONUtils.getBoolean(configJSON, "android.resolveServiceWorkerRequests", true);
@@ -405,6 +423,33 @@ public class CapConfig {
         return useLegacyBridge;
     }
 
+    public boolean isBatchingBridgeResponses() {
+        return batchBridgeResponses;
+    }
+
+    public boolean isLazyPluginLoading() {
+        return lazyPluginLoading;
+    }
+
+    public boolean isStartupTracing() {
+        return startupTracing;
+    }
+
+    public boolean isAssetCaching() {
+        return assetCaching;
+    }
+
+    public String getImmutableAssetPattern() {
+        return immutableAssetPattern;
+    }
+
+    /**
+     * @return the MIME types of served files by extension, added to or overriding the defaults
+     */
+    public Map<String, String> getMimeTypes() {
+        return mimeTypes;
+    }
+
     public String adjustMarginsForEdgeToEdge() {
         return adjustMarginsForEdgeToEdge;
     }
@@ -570,6 +615,24 @@ public class CapConfig {
         return pluginsMap;
     }
 
+    private static Map<String, String> deserializeMimeTypes(JSONObject mimeTypesConfig) {
+        Map<String, String> mimeTypesMap = new HashMap<>();
+        if (mimeTypesConfig == null) {
+            return mimeTypesMap;
+        }
+
+        Iterator<String> extensions = mimeTypesConfig.keys();
+        while (extensions.hasNext()) {
+            String extension = extensions.next();
+            String mimeType = mimeTypesConfig.optString(extension, null);
+            if (mimeType != null) {
+                mimeTypesMap.put(extension, mimeType);
+            }
+        }
+
+        return mimeTypesMap;
+    }
+
     /**
      * Builds a Capacitor Configuration in code
      */
@@ -595,6 +658,12 @@ public class CapConfig {
         private boolean loggingEnabled = true;
         private boolean initialFocus = false;
         private boolean useLegacyBridge = false;
+        private boolean batchBridgeResponses = false;
+        private boolean lazyPluginLoading = false;
+        private boolean startupTracing = false;
+        private boolean assetCaching = false;
+        private String immutableAssetPattern = AssetCachePolicy.DEFAULT_IMMUTABLE_PATTERN;
+        private Map<String, String> mimeTypes = new HashMap<>();
         private int minWebViewVersion = DEFAULT_ANDROID_WEBVIEW_VERSION;
         private int minHuaweiWebViewVersion = DEFAULT_HUAWEI_WEBVIEW_VERSION;
         private boolean zoomableWebView = false;
@@ -699,6 +768,36 @@ public class CapConfig {
             return this;
         }
 
+        public Builder setBatchBridgeResponses(boolean batchBridgeResponses) {
+            this.batchBridgeResponses = batchBridgeResponses;
+            return this;
+        }
+
+        public Builder setLazyPluginLoading(boolean lazyPluginLoading) {
+            this.lazyPluginLoading = lazyPluginLoading;
+            return this;
+        }
+
+        public Builder setStartupTracing(boolean startupTracing) {
+            this.startupTracing = startupTracing;
+            return this;
+        }
+
+        public Builder setAssetCaching(boolean assetCaching) {
+            this.assetCaching = assetCaching;
+            return this;
+        }
+
+        public Builder setImmutableAssetPattern(String immutableAssetPattern) {
+            this.immutableAssetPattern = immutableAssetPattern;
+            return this;
+        }
+
+        public Builder setMimeTypes(Map<String, String> mimeTypes) {
+            this.mimeTypes = mimeTypes != null ? mimeTypes : new HashMap<>();
+            return this;
+        }
+
         public Builder setResolveServiceWorkerRequests(boolean resolveServiceWorkerRequests) {
             this.resolveServiceWorkerRequests = resolveServiceWorkerRequests;
             return this;
@@ -0,0 +1,90 @@
+package com.getcapacitor;
+
+import androidx.webkit.WebMessageCompat;
+import androidx.webkit.WebMessagePortCompat;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A dedicated message channel delivering an event of a plugin to its listeners in the web layer,
+ * see {@link Plugin#enableEventStream(String)}.
+ *
+ * Each message of the channel is the JSON of the data of one event, without the call metadata of
+ * a plugin response, and the web layer hands it to every listener of the event. Events posted
+ * before the channel is open are held, and posted in order once it is.
+ */
+class EventStream {
+
+    static final String HANDSHAKE_PREFIX = "capacitor.eventStream:";
+
+    private final String pluginId;
+    private final String eventName;
+    private WebMessagePortCompat port;
+    private List<String> pending = new ArrayList<>();
+    private boolean closed;
+
+    EventStream(String pluginId, String eventName) {
+        this.pluginId = pluginId;
+        this.eventName = eventName;
+    }
+
+    /**
+     * @return the message handing the other port of the channel to the web layer
+     */
+    String getHandshake() {
+        JSObject stream = new JSObject();
+        stream.put("pluginId", pluginId);
+        stream.put("eventName", eventName);
+        return HANDSHAKE_PREFIX + stream;
+    }
+
+    /**
+     * Start posting to the native port of the channel, once its other port has been handed over.
+     */
+    synchronized void open(WebMessagePortCompat port) {
+        if (closed) {
+            port.close();
+            return;
+        }
+
+        for (String message : pending) {
+            port.postMessage(new WebMessageCompat(message));
+        }
+        pending = null;
+        this.port = port;
+    }
+
+    /**
+     * Post an event to the listeners.
+     * @return false if the stream is closed, and the event should be delivered otherwise
+     */
+    synchronized boolean post(JSObject data) {
+        if (closed) {
+            return false;
+        }
+
+        String message = data.toString();
+        if (port != null) {
+            port.postMessage(new WebMessageCompat(message));
+        } else {
+            pending.add(message);
+        }
+        return true;
+    }
+
+    /**
+     * Close the channel, once the event has no listener left or the page is gone.
+     */
+    synchronized void close() {
+        closed = true;
+        pending = null;
+        if (port != null) {
+            port.close();
+            port = null;
+        }
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+}
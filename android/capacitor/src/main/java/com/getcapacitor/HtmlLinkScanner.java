@@ -0,0 +1,299 @@
+package com.getcapacitor;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds the module scripts, module preloads and stylesheets of an HTML document while it is
+ * being served, so they can be read ahead of the requests of the WebView.
+ *
+ * The document is fed in chunks as it is read. Only start tags are parsed, comments and the
+ * content of {@code <script>} and {@code <style>} elements are skipped, and only links to the
+ * same origin as the document are reported, as paths.
+ */
+class HtmlLinkScanner {
+
+    /**
+     * Notified of every link, as soon as its tag has been read.
+     */
+    interface Listener {
+        void onLink(String path);
+    }
+
+    // Past these, the rest of the document is not worth holding the tags of
+    static final int MAX_LINKS = 64;
+    private static final int MAX_TAG_LENGTH = 4096;
+
+    private static final int TEXT = 0;
+    private static final int TAG = 1;
+    private static final int COMMENT = 2;
+    private static final int RAW_TEXT = 3;
+    private static final int SKIP_TAG = 4;
+
+    private final String documentPath;
+    private final Listener listener;
+    private final Set<String> links = new LinkedHashSet<>();
+
+    private int state = TEXT;
+    private byte[] tag = new byte[256];
+    private int tagLength;
+    private byte quote;
+    private int dashes;
+    private byte[] rawTextEnd;
+    private int rawTextMatched;
+    private String baseHref;
+
+    /**
+     * @param documentPath the path the document is served at, relative links are resolved
+     *                     against it
+     * @param listener notified of the links as they are found, or null
+     */
+    HtmlLinkScanner(String documentPath, Listener listener) {
+        this.documentPath = documentPath;
+        this.listener = listener;
+    }
+
+    /**
+     * Scan the next chunk of the document.
+     */
+    void write(byte[] b, int off, int len) {
+        for (int i = off; i < off + len && links.size() < MAX_LINKS; i++) {
+            byte c = b[i];
+            switch (state) {
+                case TEXT:
+                    if (c == '<') {
+                        state = TAG;
+                        tagLength = 0;
+                        quote = 0;
+                    }
+                    break;
+                case TAG:
+                    readTag(c);
+                    break;
+                case COMMENT:
+                    if (c == '>' && dashes >= 2) {
+                        state = TEXT;
+                    }
+                    dashes = c == '-' ? dashes + 1 : 0;
+                    break;
+                case RAW_TEXT:
+                    readRawText(c);
+                    break;
+                default:
+                    if (quote != 0) {
+                        quote = c == quote ? 0 : quote;
+                    } else if (c == '"' || c == '\'') {
+                        quote = c;
+                    } else if (c == '>') {
+                        state = TEXT;
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * @return the paths of the links found so far, in document order
+     */
+    List<String> getLinks() {
+        return new ArrayList<>(links);
+    }
+
+    private void readTag(byte c) {
+        if (quote != 0) {
+            quote = c == quote ? 0 : quote;
+        } else if (c == '"' || c == '\'') {
+            quote = c;
+        } else if (c == '>') {
+            state = TEXT;
+            onTag(new String(tag, 0, tagLength, StandardCharsets.UTF_8));
+            return;
+        }
+
+        if (tagLength == tag.length) {
+            if (tagLength >= MAX_TAG_LENGTH) {
+                state = SKIP_TAG;
+                return;
+            }
+            byte[] grown = new byte[tag.length * 2];
+            System.arraycopy(tag, 0, grown, 0, tagLength);
+            tag = grown;
+        }
+        tag[tagLength++] = c;
+
+        if (tagLength == 3 && tag[0] == '!' && tag[1] == '-' && tag[2] == '-') {
+            state = COMMENT;
+            dashes = 0;
+        }
+    }
+
+    private void readRawText(byte c) {
+        byte lower = c >= 'A' && c <= 'Z' ? (byte) (c + ('a' - 'A')) : c;
+        if (lower == rawTextEnd[rawTextMatched]) {
+            rawTextMatched++;
+        } else {
+            rawTextMatched = lower == '<' ? 1 : 0;
+        }
+
+        if (rawTextMatched == rawTextEnd.length) {
+            state = SKIP_TAG;
+            quote = 0;
+        }
+    }
+
+    private void onTag(String tag) {
+        int nameEnd = 0;
+        while (nameEnd < tag.length() && !isSpace(tag.charAt(nameEnd)) && tag.charAt(nameEnd) != '/') {
+            nameEnd++;
+        }
+        String name = tag.substring(0, nameEnd).toLowerCase(Locale.ROOT);
+
+        switch (name) {
+            case "script": {
+                Map<String, String> attributes = parseAttributes(tag, nameEnd);
+                String type = attributes.get("type");
+                if (type != null && type.trim().equalsIgnoreCase("module")) {
+                    addLink(attributes.get("src"));
+                }
+                startRawText("</script");
+                break;
+            }
+            case "style":
+                startRawText("</style");
+                break;
+            case "link": {
+                Map<String, String> attributes = parseAttributes(tag, nameEnd);
+                if (isPrefetchedRel(attributes.get("rel"))) {
+                    addLink(attributes.get("href"));
+                }
+                break;
+            }
+            case "base":
+                if (baseHref == null) {
+                    baseHref = parseAttributes(tag, nameEnd).get("href");
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void startRawText(String end) {
+        state = RAW_TEXT;
+        rawTextEnd = end.getBytes(StandardCharsets.US_ASCII);
+        rawTextMatched = 0;
+    }
+
+    private static boolean isPrefetchedRel(String rel) {
+        if (rel == null) {
+            return false;
+        }
+
+        boolean prefetched = false;
+        for (String token : rel.trim().split("\\s+")) {
+            if (token.equalsIgnoreCase("alternate")) {
+                // Alternate stylesheets are not applied, nor fetched early
+                return false;
+            }
+            prefetched |= token.equalsIgnoreCase("modulepreload") || token.equalsIgnoreCase("stylesheet");
+        }
+        return prefetched;
+    }
+
+    private void addLink(String href) {
+        String path = resolve(href);
+        if (path != null && links.add(path) && listener != null) {
+            listener.onLink(path);
+        }
+    }
+
+    /**
+     * @return the path a link points at, or null if it points at another origin or is invalid
+     */
+    private String resolve(String href) {
+        if (href == null || href.trim().isEmpty()) {
+            return null;
+        }
+
+        try {
+            URI base = new URI(null, null, documentPath, null);
+            if (baseHref != null) {
+                base = base.resolve(new URI(baseHref.trim()));
+            }
+            URI target = base.resolve(new URI(href.trim()));
+            String path = target.getPath();
+            if (target.getScheme() != null || target.getRawAuthority() != null || path == null || !path.startsWith("/")) {
+                return null;
+            }
+            if ((path + "/").contains("/../") || path.indexOf('\n') >= 0 || path.indexOf('\r') >= 0) {
+                return null;
+            }
+            return path;
+        } catch (URISyntaxException | IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Parse the attributes of a start tag, the names in lower case.
+     */
+    static Map<String, String> parseAttributes(String tag, int start) {
+        Map<String, String> attributes = new HashMap<>();
+        int i = start;
+        int length = tag.length();
+        while (i < length) {
+            char c = tag.charAt(i);
+            if (isSpace(c) || c == '/') {
+                i++;
+                continue;
+            }
+
+            int nameStart = i;
+            while (i < length && !isSpace(tag.charAt(i)) && tag.charAt(i) != '=' && tag.charAt(i) != '/') {
+                i++;
+            }
+            String name = tag.substring(nameStart, i).toLowerCase(Locale.ROOT);
+
+            while (i < length && isSpace(tag.charAt(i))) {
+                i++;
+            }
+            String value = "";
+            if (i < length && tag.charAt(i) == '=') {
+                i++;
+                while (i < length && isSpace(tag.charAt(i))) {
+                    i++;
+                }
+                if (i < length && (tag.charAt(i) == '"' || tag.charAt(i) == '\'')) {
+                    char quote = tag.charAt(i);
+                    int end = tag.indexOf(quote, i + 1);
+                    end = end < 0 ? length : end;
+                    value = tag.substring(i + 1, end);
+                    i = end + 1;
+                } else {
+                    int valueStart = i;
+                    while (i < length && !isSpace(tag.charAt(i))) {
+                        i++;
+                    }
+                    value = tag.substring(valueStart, i);
+                }
+            }
+
+            if (!name.isEmpty() && !attributes.containsKey(name)) {
+                attributes.put(name, value.replace("&amp;", "&"));
+            }
+        }
+        return attributes;
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+    }
+}
@@ -0,0 +1,185 @@
+package com.getcapacitor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * An HTML document with a script spliced in after its {@code <head>} tag, or before its
+ * {@code </head>} tag when the opening tag is missing.
+ *
+ * Only the beginning of the document is buffered, until the tag is found, and everything after
+ * it is read straight from the original stream. The document is expected to be UTF-8 or another
+ * ASCII compatible encoding.
+ */
+class InjectingInputStream extends TransformingInputStream {
+
+    // The head of a document is at its very beginning, past this the document is passed through
+    static final int MAX_SCAN_LENGTH = 64 * 1024;
+
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+    private static final byte[] EMPTY = new byte[0];
+    private static final byte[] HEAD_OPEN = { '<', 'h', 'e', 'a', 'd' };
+    private static final byte[] HEAD_CLOSE = { '<', '/', 'h', 'e', 'a', 'd' };
+
+    private final byte[] script;
+    private final int maxScanLength;
+
+    private boolean scanned;
+    private byte[] buffer = EMPTY;
+    private int count;
+    private int searched;
+    private int split;
+    private byte[] insert = EMPTY;
+    private int position;
+
+    /**
+     * @param in the HTML document
+     * @param script the encoded script to splice in, with its {@code <script>} tags
+     */
+    InjectingInputStream(InputStream in, byte[] script) {
+        this(in, script, MAX_SCAN_LENGTH);
+    }
+
+    InjectingInputStream(InputStream in, byte[] script, int maxScanLength) {
+        super(in);
+        this.script = script;
+        this.maxScanLength = maxScanLength;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+
+        if (!scanned) {
+            scan();
+        }
+
+        int bufferedLength = count + insert.length;
+        if (position >= bufferedLength) {
+            return in.read(b, off, len);
+        }
+
+        int read;
+        if (position < split) {
+            read = Math.min(len, split - position);
+            System.arraycopy(buffer, position, b, off, read);
+        } else if (position < split + insert.length) {
+            read = Math.min(len, split + insert.length - position);
+            System.arraycopy(insert, position - split, b, off, read);
+        } else {
+            int bufferPosition = position - insert.length;
+            read = Math.min(len, count - bufferPosition);
+            System.arraycopy(buffer, bufferPosition, b, off, read);
+        }
+
+        position += read;
+        if (position == bufferedLength) {
+            // Everything left comes from the original stream
+            buffer = EMPTY;
+            insert = EMPTY;
+            count = 0;
+            split = 0;
+            position = 0;
+        }
+        return read;
+    }
+
+    /**
+     * Passes on the {@code -1} of the lazy streams of {@link WebViewLocalServer}, which tells
+     * that the document does not exist, without reading it.
+     */
+    @Override
+    public int available() throws IOException {
+        int buffered = count + insert.length - position;
+        return buffered > 0 ? buffered : in.available();
+    }
+
+    /**
+     * Buffer the document until the position of the script is known.
+     */
+    private void scan() throws IOException {
+        scanned = true;
+        buffer = new byte[Math.min(INITIAL_BUFFER_SIZE, maxScanLength)];
+
+        while (true) {
+            int found = findInsertPosition();
+            if (found >= 0) {
+                split = found;
+                insert = script;
+                return;
+            }
+
+            if (count == buffer.length) {
+                if (buffer.length >= maxScanLength) {
+                    break;
+                }
+                buffer = Arrays.copyOf(buffer, Math.min(buffer.length * 2, maxScanLength));
+            }
+
+            int read = in.read(buffer, count, buffer.length - count);
+            if (read < 0) {
+                break;
+            }
+            count += read;
+        }
+
+        Logger.error("Unable to inject Capacitor, Plugins won't work");
+        split = count;
+    }
+
+    /**
+     * Search the buffered part of the document, from where the previous search stopped.
+     * @return the position right after the first complete {@code <head>} tag, the position of a
+     *         {@code </head>} tag met before it, or -1 if more of the document is needed
+     */
+    private int findInsertPosition() {
+        for (int i = searched; i < count; i++) {
+            if (buffer[i] != '<') {
+                continue;
+            }
+
+            if (isTag(i, HEAD_CLOSE)) {
+                return i;
+            }
+
+            if (isTag(i, HEAD_OPEN)) {
+                for (int end = i + HEAD_OPEN.length; end < count; end++) {
+                    if (buffer[end] == '>') {
+                        return end + 1;
+                    }
+                }
+                // The end of the tag is not buffered yet
+                searched = i;
+                return -1;
+            }
+        }
+
+        // A tag may be cut by the end of the buffer, search it again with the next read
+        searched = Math.max(searched, count - HEAD_CLOSE.length);
+        return -1;
+    }
+
+    /**
+     * @return whether the tag name at {@code start} is followed by the end of the tag or by its
+     *         attributes, so {@code <header>} is not taken for {@code <head>}
+     */
+    private boolean isTag(int start, byte[] tag) {
+        int nameEnd = start + tag.length;
+        if (nameEnd >= count) {
+            return false;
+        }
+
+        for (int i = 0; i < tag.length; i++) {
+            byte c = buffer[start + i];
+            if (c != tag[i] && !(c >= 'A' && c <= 'Z' && c + ('a' - 'A') == tag[i])) {
+                return false;
+            }
+        }
+
+        byte next = buffer[nameEnd];
+        return next == '>' || next == '/' || next == ' ' || next == '\t' || next == '\n' || next == '\r' || next == '\f';
+    }
+}
@@ -22,6 +22,19 @@ public class JSExport {
     }
     
     public static String getGlobalJS(Context context, boolean loggingEnabled, boolean isDebug, CapConfig config) {
+        return getGlobalJS(context, loggingEnabled, isDebug, config, false);
+    }
+
+    /**
+     * @param nativeArrayBuffers whether binary values are exchanged with native as ArrayBuffers
+     */
+    public static String getGlobalJS(
+        Context context,
+        boolean loggingEnabled,
+        boolean isDebug,
+        CapConfig config,
+        boolean nativeArrayBuffers
+    ) {
         // 注入配置到 window.Capacitor.config
         String configJson = "{}";
         try {
@@ -35,6 +48,7 @@ public class JSExport {
         
         return "window.Capacitor = { DEBUG: " + isDebug + 
                ", isLoggingEnabled: " + loggingEnabled + 
+               ", nativeArrayBuffers: " + nativeArrayBuffers +
                ", Plugins: {}" +
                ", config: " + configJson + 
                " };";
@@ -171,6 +185,33 @@ public class JSExport {
         return getFilesContent(context, "native-bridge.js");
     }
 
+    /**
+     * Read the parts of the exported JS that only depend on the app assets.
+     * @param context the context to read the assets from
+     * @return the scripts read
+     */
+    static Assets readAssets(Context context) throws JSExportException {
+        return new Assets(getBridgeJS(context), getCordovaJS(context), getCordovaPluginJS(context), getCordovaPluginsFileJS(context));
+    }
+
+    /**
+     * The scripts read by {@link #readAssets(Context)}.
+     */
+    static final class Assets {
+
+        final String bridgeJS;
+        final String cordovaJS;
+        final String cordovaPluginsJS;
+        final String cordovaPluginsFileJS;
+
+        Assets(String bridgeJS, String cordovaJS, String cordovaPluginsJS, String cordovaPluginsFileJS) {
+            this.bridgeJS = bridgeJS;
+            this.cordovaJS = cordovaJS;
+            this.cordovaPluginsJS = cordovaPluginsJS;
+            this.cordovaPluginsFileJS = cordovaPluginsFileJS;
+        }
+    }
+
     private static String generateMethodJS(PluginHandle plugin, PluginMethodHandle method) {
         List<String> lines = new ArrayList<>();
 
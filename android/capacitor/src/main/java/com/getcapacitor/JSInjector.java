@@ -1,9 +1,6 @@
 package com.getcapacitor;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -21,6 +18,17 @@ class JSInjector {
     private String cordovaPluginsFileJS;
     private String localUrlJS;
     private String miscJS;
+    private String scriptString;
+    private volatile byte[] scriptBytes;
+
+    /**
+     * Create an injector for a script that was already assembled, for instance
+     * one restored from the {@link JSInjectorCache}.
+     * @param scriptString the assembled script
+     */
+    public JSInjector(String scriptString) {
+        this.scriptString = scriptString;
+    }
 
     public JSInjector(
         String globalJS,
@@ -60,6 +68,10 @@ class JSInjector {
      * @return
      */
     public String getScriptString() {
+        if (this.scriptString != null) {
+            return this.scriptString;
+        }
+
         String scriptString =
             globalJS +
             "\n\n" +
@@ -79,49 +91,32 @@ class JSInjector {
             scriptString += "\n\n" + miscJS;
         }
 
+        this.scriptString = scriptString;
+
         return scriptString;
     }
 
     /**
-     * Given an InputStream from the web server, prepend it with
-     * our JS stream
+     * Given an InputStream from the web server, splice our JS into it
+     * after the head tag. The document is not read up front, only until
+     * the head tag is found.
      * @param responseStream
      * @return
      */
     public InputStream getInjectedStream(InputStream responseStream) {
-        String js = "<script type=\"text/javascript\">" + getScriptString() + "</script>";
-        String html = this.readAssetStream(responseStream);
-
-        // Insert the js string at the position after <head> or before </head> using StringBuilder
-        StringBuilder modifiedHtml = new StringBuilder(html);
-        if (html.contains("<head>")) {
-            modifiedHtml.insert(html.indexOf("<head>") + "<head>".length(), "\n" + js + "\n");
-            html = modifiedHtml.toString();
-        } else if (html.contains("</head>")) {
-            modifiedHtml.insert(html.indexOf("</head>"), "\n" + js + "\n");
-            html = modifiedHtml.toString();
-        } else {
-            Logger.error("Unable to inject Capacitor, Plugins won't work");
-        }
-        return new ByteArrayInputStream(html.getBytes(StandardCharsets.UTF_8));
+        return new InjectingInputStream(responseStream, getScriptBytes());
     }
 
-    private String readAssetStream(InputStream stream) {
-        try {
-            final int bufferSize = 1024;
-            final char[] buffer = new char[bufferSize];
-            final StringBuilder out = new StringBuilder();
-            Reader in = new InputStreamReader(stream, StandardCharsets.UTF_8);
-            for (;;) {
-                int rsz = in.read(buffer, 0, buffer.length);
-                if (rsz < 0) break;
-                out.append(buffer, 0, rsz);
-            }
-            return out.toString();
-        } catch (Exception e) {
-            Logger.error("Unable to process HTML asset file. This is a fatal error", e);
+    /**
+     * The script tag spliced into documents, encoded once.
+     */
+    private byte[] getScriptBytes() {
+        byte[] scriptBytes = this.scriptBytes;
+        if (scriptBytes == null) {
+            String js = "<script type=\"text/javascript\">" + getScriptString() + "</script>";
+            scriptBytes = ("\n" + js + "\n").getBytes(StandardCharsets.UTF_8);
+            this.scriptBytes = scriptBytes;
         }
-
-        return "";
+        return scriptBytes;
     }
 }
@@ -0,0 +1,122 @@
+package com.getcapacitor;
+
+import android.content.Context;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Persists the script assembled by {@link JSInjector} between launches, so it does
+ * not have to be rebuilt from the assets and the plugin list on every start.
+ *
+ * The cache file starts with the hash of a key describing everything the script
+ * depends on, followed by a line break and the script itself. A cached script is
+ * only used when the stored key matches the current one.
+ */
+class JSInjectorCache {
+
+    private static final String CACHE_DIR = "capacitor";
+    private static final String CACHE_FILE = "js-injector.js";
+
+    private final File file;
+    private final byte[] header;
+
+    JSInjectorCache(Context context, String key) {
+        this(getFile(context), key);
+    }
+
+    JSInjectorCache(File file, String key) {
+        this.file = file;
+        this.header = (hash(key) + "\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * The cache file of an app, which may hold a script cached for another key.
+     * @param context the app context
+     * @return the cache file
+     */
+    static File getFile(Context context) {
+        // The code cache directory is also cleared by the system when the app is updated
+        return new File(new File(context.getCodeCacheDir(), CACHE_DIR), CACHE_FILE);
+    }
+
+    /**
+     * Read the cached script, memory mapping the cache file.
+     * @return the script, or null if there is no script cached for the current key
+     */
+    String read() {
+        if (!file.exists()) {
+            return null;
+        }
+
+        try (FileInputStream input = new FileInputStream(file); FileChannel channel = input.getChannel()) {
+            long size = channel.size();
+            if (size < header.length || size > Integer.MAX_VALUE) {
+                return null;
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            for (byte b : header) {
+                if (buffer.get() != b) {
+                    return null;
+                }
+            }
+
+            return StandardCharsets.UTF_8.decode(buffer).toString();
+        } catch (IOException ex) {
+            Logger.warn("Unable to read the cached Capacitor JS: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Store the script for the current key. The file is replaced atomically, so a
+     * concurrent or interrupted write never leaves a partial script behind.
+     * @param script the assembled script
+     */
+    void write(String script) {
+        File dir = file.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            Logger.warn("Unable to create the Capacitor JS cache directory");
+            return;
+        }
+
+        File tmp = new File(file.getPath() + ".tmp");
+        try (OutputStream output = new FileOutputStream(tmp)) {
+            output.write(header);
+            ByteBuffer encoded = StandardCharsets.UTF_8.encode(script);
+            output.write(encoded.array(), encoded.arrayOffset() + encoded.position(), encoded.remaining());
+        } catch (IOException ex) {
+            Logger.warn("Unable to cache the Capacitor JS: " + ex.getMessage());
+            tmp.delete();
+            return;
+        }
+
+        if (!tmp.renameTo(file)) {
+            Logger.warn("Unable to cache the Capacitor JS");
+            tmp.delete();
+        }
+    }
+
+    private static String hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-256 is available on every Android version
+            return Integer.toHexString(key.hashCode());
+        }
+    }
+}
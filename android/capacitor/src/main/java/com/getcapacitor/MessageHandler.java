@@ -1,17 +1,24 @@
 package com.getcapacitor;
 
+import android.net.Uri;
+import android.view.Choreographer;
 import android.webkit.JavascriptInterface;
 import android.webkit.WebView;
 import androidx.webkit.JavaScriptReplyProxy;
+import androidx.webkit.WebMessageCompat;
+import androidx.webkit.WebMessagePortCompat;
 import androidx.webkit.WebViewCompat;
 import androidx.webkit.WebViewFeature;
 import org.apache.cordova.PluginManager;
-import org.json.JSONException;
-import org.json.JSONObject;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import org.json.JSONException;
+import org.json.JSONObject;
 
 /**
  * MessageHandler handles messages from the WebView, dispatching them
@@ -23,11 +30,30 @@ public class MessageHandler {
     private WebView webView;
     private PluginManager cordovaPluginManager;
     private JavaScriptReplyProxy javaScriptReplyProxy;
+
+    // Responses waiting for the next frame when response batching is enabled
+    private static final int RESPONSE_QUEUE_FLUSH_THRESHOLD = 64;
+    private final Object responseQueueLock = new Object();
+    private List<String> responseQueue = new ArrayList<>();
+    private boolean responseFlushScheduled = false;
+    private final Choreographer.FrameCallback responseFlushCallback = frameTimeNanos -> flushResponseQueue();
+
+    // Binary values cross the bridge as ArrayBuffer web messages, posted ahead of their JSON message
+    private boolean arrayBufferChannel = false;
+    // The buffers received ahead of the next JSON message, only touched on the UI thread
+    private List<byte[]> pendingBuffers;
+    private final Object binaryPostLock = new Object();
+
+    // Plugin events can be delivered through dedicated message channels
+    private boolean eventStreams = false;
     
     // 同步调用相关
     private static final String SYNC_CALL_PREFIX = "sync_";
+    private static final long DEFAULT_SYNC_TIMEOUT_MS = 30000;
     private final ConcurrentHashMap<String, SyncCallResult> syncCallResults = new ConcurrentHashMap<>();
-    private long syncCallCounter = 0;
+    // callSync is called on any of the WebView's binder threads
+    private final AtomicLong syncCallCounter = new AtomicLong();
+    private volatile PluginConfig syncBridgeConfig;
 
     public MessageHandler(Bridge bridge, WebView webView, PluginManager cordovaPluginManager) {
         this.bridge = bridge;
@@ -37,7 +63,16 @@ public class MessageHandler {
         if (WebViewFeature.isFeatureSupported(WebViewFeature.WEB_MESSAGE_LISTENER) && !bridge.getConfig().isUsingLegacyBridge()) {
             WebViewCompat.WebMessageListener capListener = (view, message, sourceOrigin, isMainFrame, replyProxy) -> {
                 if (isMainFrame) {
-                    postMessage(message.getData());
+                    if (message.getType() == WebMessageCompat.TYPE_ARRAY_BUFFER) {
+                        if (pendingBuffers == null) {
+                            pendingBuffers = new ArrayList<>();
+                        }
+                        pendingBuffers.add(message.getArrayBuffer());
+                        return;
+                    }
+                    List<byte[]> buffers = pendingBuffers;
+                    pendingBuffers = null;
+                    postMessage(message.getData(), buffers);
                     javaScriptReplyProxy = replyProxy;
                 } else {
                     Logger.warn("Plugin execution is allowed in Main Frame only");
@@ -45,6 +80,7 @@ public class MessageHandler {
             };
             try {
                 WebViewCompat.addWebMessageListener(webView, "androidBridge", bridge.getAllowedOriginRules(), capListener);
+                arrayBufferChannel = WebViewFeature.isFeatureSupported(WebViewFeature.WEB_MESSAGE_ARRAY_BUFFER);
                 // 同时添加 JavascriptInterface 以支持同步调用 (callSync 等方法)
                 webView.addJavascriptInterface(this, "androidBridge");
             } catch (Exception ex) {
@@ -53,64 +89,146 @@ public class MessageHandler {
         } else {
             webView.addJavascriptInterface(this, "androidBridge");
         }
+
+        eventStreams =
+            !bridge.getConfig().isUsingLegacyBridge() &&
+            WebViewFeature.isFeatureSupported(WebViewFeature.CREATE_WEB_MESSAGE_CHANNEL) &&
+            WebViewFeature.isFeatureSupported(WebViewFeature.POST_WEB_MESSAGE) &&
+            WebViewFeature.isFeatureSupported(WebViewFeature.WEB_MESSAGE_PORT_POST_MESSAGE) &&
+            WebViewFeature.isFeatureSupported(WebViewFeature.WEB_MESSAGE_PORT_CLOSE);
     }
 
     /**
      * The main message handler that will be called from JavaScript
      * to send a message to the native bridge.
+     *
+     * The message is either a single call object, or a batch envelope: a JSON array
+     * of call objects that the web layer coalesced within the same microtask.
      * @param jsonStr
      */
     @JavascriptInterface
     @SuppressWarnings("unused")
     public void postMessage(String jsonStr) {
-        try {
-            JSObject postData = new JSObject(jsonStr);
+        postMessage(jsonStr, null);
+    }
 
-            String type = postData.getString("type");
-
-            boolean typeIsNotNull = type != null;
-            boolean isCordovaPlugin = typeIsNotNull && type.equals("cordova");
-            boolean isJavaScriptError = typeIsNotNull && type.equals("js.error");
-
-            String callbackId = postData.getString("callbackId");
-
-            if (isCordovaPlugin) {
-                String service = postData.getString("service");
-                String action = postData.getString("action");
-                String actionArgs = postData.getString("actionArgs");
-
-                Logger.verbose(
-                    Logger.tags("Plugin"),
-                    "To native (Cordova plugin): callbackId: " +
-                    callbackId +
-                    ", service: " +
-                    service +
-                    ", action: " +
-                    action +
-                    ", actionArgs: " +
-                    actionArgs
-                );
-
-                this.callCordovaPluginMethod(callbackId, service, action, actionArgs);
-            } else if (isJavaScriptError) {
-                Logger.error("JavaScript Error: " + jsonStr);
-            } else {
-                String pluginId = postData.getString("pluginId");
-                String methodName = postData.getString("methodName");
-                JSObject methodData = postData.getJSObject("options", new JSObject());
+    /**
+     * Whether binary values are exchanged with the web layer as ArrayBuffers, rather than
+     * as base64 strings.
+     */
+    public boolean isArrayBufferChannel() {
+        return arrayBufferChannel;
+    }
 
-                Logger.verbose(
-                    Logger.tags("Plugin"),
-                    "To native (Capacitor plugin): callbackId: " + callbackId + ", pluginId: " + pluginId + ", methodName: " + methodName
-                );
+    /**
+     * @param jsonStr the message
+     * @param buffers the ArrayBuffers posted ahead of the message, or null
+     */
+    private void postMessage(String jsonStr, List<byte[]> buffers) {
+        try {
+            if (isBatchEnvelope(jsonStr)) {
+                postBatchMessage(jsonStr, buffers);
+                return;
+            }
 
-                this.callPluginMethod(callbackId, pluginId, methodName, methodData);
+            PluginCall call = handleMessage(jsonStr, buffers);
+            if (call != null) {
+                bridge.callPluginMethod(call.getPluginId(), call.getMethodName(), call);
             }
         } catch (Exception ex) {
             Logger.error("Post message error:", ex);
         }
     }
 
+    /**
+     * Dispatch every call of a batch envelope. Cordova and error messages are handled
+     * as they are encountered, while all Capacitor plugin calls are handed to the
+     * Bridge together so they are scheduled with a single hop per plugin thread.
+     * @param envelope the array of call objects
+     * @param buffers the ArrayBuffers posted ahead of the envelope, shared by all of its calls
+     */
+    private void postBatchMessage(String envelope, List<byte[]> buffers) throws JSONException {
+        List<String> messages = CallEnvelope.split(envelope);
+        List<PluginCall> calls = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            try {
+                PluginCall call = handleMessage(message, buffers);
+                if (call != null) {
+                    calls.add(call);
+                }
+            } catch (Exception ex) {
+                Logger.error("Post message error:", ex);
+            }
+        }
+
+        if (!calls.isEmpty()) {
+            bridge.callPluginMethods(calls);
+        }
+    }
+
+    /**
+     * Handle a single message from the web layer. Only the envelope of a Capacitor plugin call
+     * is read here, its options are parsed once the plugin reads them.
+     * @param jsonStr the message
+     * @param buffers the ArrayBuffers referenced by the binary values of the call, or null
+     * @return the call to dispatch if the message is a Capacitor plugin call, otherwise null
+     */
+    private PluginCall handleMessage(String jsonStr, List<byte[]> buffers) throws JSONException {
+        CallEnvelope envelope = CallEnvelope.parse(jsonStr);
+        String type = envelope.type;
+
+        boolean typeIsNotNull = type != null;
+        boolean isCordovaPlugin = typeIsNotNull && type.equals("cordova");
+        boolean isJavaScriptError = typeIsNotNull && type.equals("js.error");
+
+        String callbackId = envelope.callbackId;
+
+        if (isCordovaPlugin) {
+            JSObject postData = new JSObject(jsonStr);
+            String service = postData.getString("service");
+            String action = postData.getString("action");
+            String actionArgs = postData.getString("actionArgs");
+
+            Logger.verbose(
+                Logger.tags("Plugin"),
+                "To native (Cordova plugin): callbackId: " +
+                callbackId +
+                ", service: " +
+                service +
+                ", action: " +
+                action +
+                ", actionArgs: " +
+                actionArgs
+            );
+
+            this.callCordovaPluginMethod(callbackId, service, action, actionArgs);
+        } else if (isJavaScriptError) {
+            Logger.error("JavaScript Error: " + jsonStr);
+        } else {
+            String pluginId = envelope.pluginId;
+            String methodName = envelope.methodName;
+
+            Logger.verbose(
+                Logger.tags("Plugin"),
+                "To native (Capacitor plugin): callbackId: " + callbackId + ", pluginId: " + pluginId + ", methodName: " + methodName
+            );
+
+            return new PluginCall(this, pluginId, callbackId, methodName, envelope.options, buffers);
+        }
+
+        return null;
+    }
+
+    private static boolean isBatchEnvelope(String jsonStr) {
+        for (int i = 0; i < jsonStr.length(); i++) {
+            char c = jsonStr.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '[';
+            }
+        }
+        return false;
+    }
+
     public void sendResponseMessage(PluginCall call, PluginResult successResult, PluginResult errorResult) {
         // 检查是否是同步调用
         if (isSyncCallback(call.getCallbackId())) {
@@ -138,13 +256,16 @@ public class MessageHandler {
             }
 
             boolean isValidCallbackId = !call.getCallbackId().equals(PluginCall.CALLBACK_ID_DANGLING);
-            if (isValidCallbackId) {
-                if (bridge.getConfig().isUsingLegacyBridge()) {
-                    legacySendResponseMessage(data);
-                } else if (WebViewFeature.isFeatureSupported(WebViewFeature.WEB_MESSAGE_LISTENER) && javaScriptReplyProxy != null) {
-                    javaScriptReplyProxy.postMessage(data.toString());
+            if (isValidCallbackId && successResult != null && successResult.hasBytes() && canPostBuffers()) {
+                List<byte[]> buffers = new ArrayList<>();
+                data.jsonPut("data", successResult.toJSON(buffers));
+                data.put("buffers", buffers.size());
+                postBinaryResponseMessage(data.toString(), buffers);
+            } else if (isValidCallbackId) {
+                if (bridge.getConfig().isBatchingBridgeResponses() && !call.isBypassingResponseQueue()) {
+                    enqueueResponseMessage(data.toString());
                 } else {
-                    legacySendResponseMessage(data);
+                    postResponseMessage(data.toString());
                 }
             } else {
                 bridge.getApp().fireRestoredResult(data);
@@ -157,15 +278,132 @@ public class MessageHandler {
         }
     }
 
-    private void legacySendResponseMessage(PluginResult data) {
-        final String runScript = "window.Capacitor.fromNative(" + data.toString() + ")";
+    private void postResponseMessage(String message) {
+        if (bridge.getConfig().isUsingLegacyBridge()) {
+            legacySendResponseMessage(message);
+        } else if (WebViewFeature.isFeatureSupported(WebViewFeature.WEB_MESSAGE_LISTENER) && javaScriptReplyProxy != null) {
+            javaScriptReplyProxy.postMessage(message);
+        } else {
+            legacySendResponseMessage(message);
+        }
+    }
+
+    private boolean canPostBuffers() {
+        return arrayBufferChannel && !bridge.getConfig().isUsingLegacyBridge() && javaScriptReplyProxy != null;
+    }
+
+    /**
+     * Post a response along with the ArrayBuffers of its binary values. The buffers are posted
+     * first, and the web layer takes as many as the response counts once it arrives. Responses
+     * still queued are sent ahead, so responses keep their order.
+     * @param message the serialized response
+     * @param buffers the buffers the markers of the response point at
+     */
+    private void postBinaryResponseMessage(String message, List<byte[]> buffers) {
+        flushResponseQueue();
+        synchronized (binaryPostLock) {
+            for (byte[] buffer : buffers) {
+                javaScriptReplyProxy.postMessage(buffer);
+            }
+            javaScriptReplyProxy.postMessage(message);
+        }
+    }
+
+    private void legacySendResponseMessage(String message) {
+        final String runScript = "window.Capacitor.fromNative(" + message + ")";
         final WebView webView = this.webView;
         webView.post(() -> webView.evaluateJavascript(runScript, null));
     }
 
-    private void callPluginMethod(String callbackId, String pluginId, String methodName, JSObject methodData) {
-        PluginCall call = new PluginCall(this, pluginId, callbackId, methodName, methodData);
-        bridge.callPluginMethod(pluginId, methodName, call);
+    /**
+     * Queue a response to be delivered with the other responses of the current frame.
+     * The queue is drained on the next frame callback, or right away once it holds
+     * {@link #RESPONSE_QUEUE_FLUSH_THRESHOLD} responses.
+     * @param message the serialized response
+     */
+    private void enqueueResponseMessage(String message) {
+        boolean flushNow = false;
+        boolean scheduleFlush = false;
+        synchronized (responseQueueLock) {
+            responseQueue.add(message);
+            if (responseQueue.size() >= RESPONSE_QUEUE_FLUSH_THRESHOLD) {
+                flushNow = true;
+            } else if (!responseFlushScheduled) {
+                responseFlushScheduled = true;
+                scheduleFlush = true;
+            }
+        }
+
+        if (flushNow) {
+            flushResponseQueue();
+        } else if (scheduleFlush) {
+            webView.post(() -> Choreographer.getInstance().postFrameCallback(responseFlushCallback));
+        }
+    }
+
+    /**
+     * Send every queued response to the WebView. A single response is sent as is,
+     * several are sent together as a JSON array that the web layer unpacks.
+     */
+    private void flushResponseQueue() {
+        List<String> pending;
+        synchronized (responseQueueLock) {
+            responseFlushScheduled = false;
+            if (responseQueue.isEmpty()) {
+                return;
+            }
+            pending = responseQueue;
+            responseQueue = new ArrayList<>();
+        }
+
+        try {
+            if (pending.size() == 1) {
+                postResponseMessage(pending.get(0));
+            } else {
+                postResponseMessage("[" + String.join(",", pending) + "]");
+            }
+        } catch (Exception ex) {
+            Logger.error("flushResponseQueue: error: " + ex);
+        }
+    }
+
+    /**
+     * Open a dedicated channel delivering an event of a plugin to the web layer. The channel is
+     * created on the UI thread, the events posted to the stream until then are held.
+     * @param pluginId the plugin firing the event
+     * @param eventName the event
+     * @return the stream, or null if the WebView does not support message channels
+     */
+    EventStream openEventStream(final String pluginId, final String eventName) {
+        if (!eventStreams) {
+            return null;
+        }
+
+        final EventStream stream = new EventStream(pluginId, eventName);
+        webView.post(() -> {
+            if (stream.isClosed()) {
+                return;
+            }
+
+            try {
+                WebMessagePortCompat[] ports = WebViewCompat.createWebMessageChannel(webView);
+                WebMessageCompat handshake = new WebMessageCompat(stream.getHandshake(), new WebMessagePortCompat[] { ports[1] });
+                WebViewCompat.postWebMessage(webView, handshake, getAppOrigin());
+                stream.open(ports[0]);
+            } catch (Exception ex) {
+                Logger.warn("Unable to open the event stream of " + pluginId + "." + eventName + ": " + ex.getMessage());
+                stream.close();
+            }
+        });
+        return stream;
+    }
+
+    /**
+     * @return the origin of the app, so ports are only handed over to the app itself
+     */
+    private Uri getAppOrigin() {
+        Uri appUri = Uri.parse(bridge.getAppUrl());
+        return new Uri.Builder().scheme(appUri.getScheme()).encodedAuthority(appUri.getEncodedAuthority()).build();
     }
 
     private void callCordovaPluginMethod(String callbackId, String service, String action, String actionArgs) {
@@ -191,52 +429,116 @@ public class MessageHandler {
         Logger.verbose(Logger.tags("Plugin"), 
             "Sync call: " + pluginId + "." + methodName);
         
+        long startTime = System.nanoTime();
+        return awaitSyncCall(startSyncCall(pluginId, methodName, optionsJson), startTime);
+    }
+
+    /**
+     * Run a list of synchronous calls in a single crossing of the bridge.
+     *
+     * Every call is dispatched before any is waited for: {@code syncSafe} methods run inline,
+     * in order, while the others run on their sync executor, so calls to different plugins or
+     * to methods of the shared pools run concurrently and calls on a plugin lane keep their
+     * order. Each call waits for its own timeout, counted from the start of the batch.
+     *
+     * @param callsJson a JSON array of {@code {pluginId, methodName, options}} objects
+     * @return a JSON array holding the result of each call, in order, shaped as the result of
+     *         {@link #callSync(String, String, String)}
+     */
+    @JavascriptInterface
+    @SuppressWarnings("unused")
+    public String callSyncBatch(String callsJson) {
+        long startTime = System.nanoTime();
+
+        List<String> calls;
         try {
-            // 解析参数
-            JSObject options = new JSObject(optionsJson);
-            
-            // 生成唯一的同步调用 ID
-            String syncCallId = SYNC_CALL_PREFIX + (++syncCallCounter);
-            
-            // 创建同步结果容器
-            SyncCallResult syncResult = new SyncCallResult();
-            syncCallResults.put(syncCallId, syncResult);
-            
+            calls = CallEnvelope.split(callsJson);
+        } catch (JSONException e) {
+            Logger.error("Sync batch error: ", e);
+            return createErrorJson(e.getMessage());
+        }
+        Logger.verbose(Logger.tags("Plugin"), "Sync batch: " + calls.size() + " calls");
+
+        SyncCallResult[] syncResults = new SyncCallResult[calls.size()];
+        for (int i = 0; i < syncResults.length; i++) {
             try {
-                // 创建 PluginCall，使用特殊的 callbackId
-                PluginCall call = new PluginCall(this, pluginId, syncCallId, methodName, options);
-                
-                // 执行插件方法
-                bridge.callPluginMethod(pluginId, methodName, call);
-                
-                // 等待结果（最多 30 秒超时）
-                boolean completed = syncResult.latch.await(30, TimeUnit.SECONDS);
-                
-                if (!completed) {
-                    return createErrorJson("Sync call timeout after 30 seconds");
-                }
-                
-                // 返回结果
-                if (syncResult.error != null) {
-                    JSONObject result = new JSONObject();
-                    result.put("success", false);
-                    result.put("error", syncResult.error);
-                    return result.toString();
+                CallEnvelope envelope = CallEnvelope.parse(calls.get(i));
+                syncResults[i] = startSyncCall(envelope.pluginId, envelope.methodName, envelope.options);
+            } catch (JSONException e) {
+                Logger.error("Sync batch error: ", e);
+            }
+        }
+
+        StringBuilder results = new StringBuilder("[");
+        for (int i = 0; i < syncResults.length; i++) {
+            if (i > 0) {
+                results.append(',');
+            }
+            results.append(syncResults[i] != null ? awaitSyncCall(syncResults[i], startTime) : createErrorJson("Malformed sync call"));
+        }
+        return results.append(']').toString();
+    }
+
+    private SyncCallResult startSyncCall(String pluginId, String methodName, String optionsJson) {
+        // 生成唯一的同步调用 ID
+        String syncCallId = SYNC_CALL_PREFIX + syncCallCounter.incrementAndGet();
+
+        // 创建同步结果容器
+        SyncCallResult syncResult = new SyncCallResult(syncCallId, pluginId, methodName);
+        syncCallResults.put(syncCallId, syncResult);
+
+        try {
+            // 创建 PluginCall，使用特殊的 callbackId
+            PluginCall call = new PluginCall(this, pluginId, syncCallId, methodName, optionsJson, null);
+
+            // 执行插件方法，syncSafe 方法在当前线程直接执行
+            bridge.callPluginMethodSync(pluginId, methodName, call);
+        } catch (Exception e) {
+            Logger.error("Sync call error: ", e);
+            syncResult.failure = e;
+            syncResult.latch.countDown();
+        }
+        return syncResult;
+    }
+
+    /**
+     * Wait for a synchronous call to resolve.
+     * @param startTime the {@link System#nanoTime()} its timeout is counted from
+     * @return the result JSON
+     */
+    private String awaitSyncCall(SyncCallResult syncResult, long startTime) {
+        try {
+            // Calls run inline have already resolved, only the others are waited for
+            if (syncResult.latch.getCount() > 0) {
+                long timeout = getSyncTimeout(getSyncBridgeConfig(), syncResult.pluginId, syncResult.methodName);
+                long remaining = timeout - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+                if (!syncResult.latch.await(Math.max(0, remaining), TimeUnit.MILLISECONDS)) {
+                    return createErrorJson("Sync call timeout after " + timeout + " ms");
                 }
-                
+            }
+
+            // 返回结果
+            if (syncResult.failure != null) {
+                return createErrorJson(syncResult.failure.getMessage());
+            }
+
+            if (syncResult.error != null) {
                 JSONObject result = new JSONObject();
-                result.put("success", true);
-                result.put("data", syncResult.data != null ? syncResult.data : new JSONObject());
+                result.put("success", false);
+                result.put("error", syncResult.error.toJSON(null));
                 return result.toString();
-                
-            } finally {
-                // 清理
-                syncCallResults.remove(syncCallId);
             }
-            
+
+            JSONObject result = new JSONObject();
+            result.put("success", true);
+            result.put("data", syncResult.data != null ? syncResult.data.toJSON(null) : new JSONObject());
+            return result.toString();
         } catch (Exception e) {
             Logger.error("Sync call error: ", e);
             return createErrorJson(e.getMessage());
+        } finally {
+            // 清理
+            syncCallResults.remove(syncResult.id);
         }
     }
     
@@ -258,6 +560,35 @@ public class MessageHandler {
         return "1.0.0";
     }
     
+    private PluginConfig getSyncBridgeConfig() {
+        if (syncBridgeConfig == null) {
+            syncBridgeConfig = bridge.getConfig().getPluginConfiguration("SyncBridge");
+        }
+        return syncBridgeConfig;
+    }
+
+    /**
+     * Get how long a synchronous call waits for a plugin method to resolve. The SyncBridge
+     * plugin config sets it per method in {@code methodTimeouts}, keyed by
+     * {@code "PluginId.methodName"} or by plugin id, and for every other method in {@code timeout}.
+     * @return the timeout in milliseconds
+     */
+    static long getSyncTimeout(PluginConfig config, String pluginId, String methodName) {
+        JSONObject methodTimeouts = config.getObject("methodTimeouts");
+        if (methodTimeouts != null) {
+            long timeout = methodTimeouts.optLong(pluginId + "." + methodName, 0);
+            if (timeout <= 0) {
+                timeout = methodTimeouts.optLong(pluginId, 0);
+            }
+            if (timeout > 0) {
+                return timeout;
+            }
+        }
+
+        int timeout = config.getInt("timeout", 0);
+        return timeout > 0 ? timeout : DEFAULT_SYNC_TIMEOUT_MS;
+    }
+
     /**
      * 检查是否是同步调用的回调
      */
@@ -298,7 +629,18 @@ public class MessageHandler {
      */
     private static class SyncCallResult {
         final CountDownLatch latch = new CountDownLatch(1);
+        final String id;
+        final String pluginId;
+        final String methodName;
         volatile PluginResult data;
         volatile PluginResult error;
+        // The call could not be dispatched, or threw while running inline
+        volatile Exception failure;
+
+        SyncCallResult(String id, String pluginId, String methodName) {
+            this.id = id;
+            this.pluginId = pluginId;
+            this.methodName = methodName;
+        }
     }
 }
@@ -0,0 +1,128 @@
+package com.getcapacitor;
+
+import android.webkit.MimeTypeMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The MIME types of the files served by {@link WebViewLocalServer}, by file extension.
+ *
+ * Types are looked up from the name only, so a lazily opened body is not opened to sniff it.
+ * The defaults cover the common web types and can be extended or overridden with the
+ * {@code android.mimeTypes} config. Other extensions are looked up in the platform's
+ * {@link MimeTypeMap}. A file without a known extension gets no type, and the WebView sniffs it
+ * itself.
+ */
+class MimeTypes {
+
+    private static final Map<String, String> DEFAULTS;
+
+    static {
+        Map<String, String> types = new HashMap<>();
+        types.put("html", "text/html");
+        types.put("htm", "text/html");
+        types.put("xhtml", "application/xhtml+xml");
+        types.put("css", "text/css");
+        // Required for ES modules, which are rejected with any other type
+        types.put("js", "application/javascript");
+        types.put("mjs", "application/javascript");
+        types.put("cjs", "application/javascript");
+        types.put("json", "application/json");
+        types.put("map", "application/json");
+        types.put("webmanifest", "application/manifest+json");
+        types.put("wasm", "application/wasm");
+        types.put("xml", "application/xml");
+        types.put("txt", "text/plain");
+        types.put("csv", "text/csv");
+        types.put("vtt", "text/vtt");
+        types.put("svg", "image/svg+xml");
+        types.put("png", "image/png");
+        types.put("jpg", "image/jpeg");
+        types.put("jpeg", "image/jpeg");
+        types.put("gif", "image/gif");
+        types.put("webp", "image/webp");
+        types.put("avif", "image/avif");
+        types.put("bmp", "image/bmp");
+        types.put("ico", "image/x-icon");
+        types.put("woff", "font/woff");
+        types.put("woff2", "font/woff2");
+        types.put("ttf", "font/ttf");
+        types.put("otf", "font/otf");
+        types.put("mp3", "audio/mpeg");
+        types.put("m4a", "audio/mp4");
+        types.put("ogg", "audio/ogg");
+        types.put("wav", "audio/wav");
+        types.put("mp4", "video/mp4");
+        types.put("webm", "video/webm");
+        types.put("pdf", "application/pdf");
+        types.put("zip", "application/zip");
+        DEFAULTS = Collections.unmodifiableMap(types);
+    }
+
+    private final Map<String, String> types;
+
+    /**
+     * @param custom types by extension, with or without leading dot, taking precedence over
+     *               the defaults
+     */
+    MimeTypes(Map<String, String> custom) {
+        this.types = new HashMap<>(DEFAULTS);
+        if (custom != null) {
+            for (Map.Entry<String, String> entry : custom.entrySet()) {
+                String extension = normalize(entry.getKey());
+                if (!extension.isEmpty() && entry.getValue() != null && !entry.getValue().isEmpty()) {
+                    this.types.put(extension, entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * @param path a path or file name
+     * @return the type of the file, or null if its extension is unknown
+     */
+    String get(String path) {
+        String extension = getExtension(path);
+        if (extension == null) {
+            return null;
+        }
+
+        String type = types.get(extension);
+        return type != null ? type : getPlatformType(extension);
+    }
+
+    /**
+     * @param extension an extension in lower case, without leading dot
+     * @return the type the platform knows for the extension, or null
+     */
+    String getPlatformType(String extension) {
+        return MimeTypeMap.getSingleton().getMimeTypeFromExtension(extension);
+    }
+
+    /**
+     * @return the extension of the last segment of a path in lower case, or null if it has none
+     */
+    static String getExtension(String path) {
+        if (path == null) {
+            return null;
+        }
+
+        for (int i = path.length() - 1; i >= 0; i--) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                return i < path.length() - 1 ? path.substring(i + 1).toLowerCase(Locale.ROOT) : null;
+            }
+            if (c == '/') {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static String normalize(String extension) {
+        String trimmed = extension.trim();
+        return (trimmed.startsWith(".") ? trimmed.substring(1) : trimmed).toLowerCase(Locale.ROOT);
+    }
+}
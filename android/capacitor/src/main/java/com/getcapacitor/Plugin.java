@@ -23,13 +23,14 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
 import org.json.JSONException;
 
 /**
@@ -65,9 +66,14 @@ public class Plugin {
     @Deprecated
     protected PluginCall savedLastCall;
 
-    // Stored event listeners
+    // Stored event listeners. The listener methods of a concurrent plugin run in parallel, so
+    // this map and retainedEventArguments are only accessed while holding this map's lock.
     private final Map<String, List<PluginCall>> eventListeners;
 
+    // Events delivered through dedicated message channels, and the channels open for their listeners
+    private final Set<String> streamedEvents = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final Map<String, EventStream> eventStreams = new ConcurrentHashMap<>();
+
     /**
      * Launchers used by the plugin to handle activity results
      */
@@ -100,16 +106,7 @@ public class Plugin {
      * activities started for result.
      */
     void initializeActivityLaunchers() {
-        List<Method> pluginClassMethods = new ArrayList<>();
-        for (
-            Class<?> pluginCursor = getClass();
-            !pluginCursor.getName().equals(Object.class.getName());
-            pluginCursor = pluginCursor.getSuperclass()
-        ) {
-            pluginClassMethods.addAll(Arrays.asList(pluginCursor.getDeclaredMethods()));
-        }
-
-        for (final Method method : pluginClassMethods) {
+        for (final Method method : getActivityLauncherMethods(getClass())) {
             if (method.isAnnotationPresent(ActivityCallback.class)) {
                 // register callbacks annotated with ActivityCallback for activity results
                 ActivityResultLauncher<Intent> launcher = bridge.registerForActivityResult(
@@ -130,7 +127,39 @@ public class Plugin {
         }
     }
 
-    private void triggerPermissionCallback(Method method, Map<String, Boolean> permissionResultMap) {
+    /**
+     * Use activity launchers registered on behalf of the plugin, by a {@link PluginHandle} that
+     * loads the plugin lazily, instead of registering them in {@link #initializeActivityLaunchers()}.
+     */
+    void setActivityLaunchers(
+        Map<String, ActivityResultLauncher<Intent>> activityLaunchers,
+        Map<String, ActivityResultLauncher<String[]>> permissionLaunchers
+    ) {
+        this.activityLaunchers.putAll(activityLaunchers);
+        this.permissionLaunchers.putAll(permissionLaunchers);
+    }
+
+    /**
+     * Find the methods of a plugin class annotated with {@link ActivityCallback} or
+     * {@link PermissionCallback}, including the inherited ones.
+     */
+    static List<Method> getActivityLauncherMethods(Class<? extends Plugin> pluginClass) {
+        List<Method> launcherMethods = new ArrayList<>();
+        for (
+            Class<?> pluginCursor = pluginClass;
+            !pluginCursor.getName().equals(Object.class.getName());
+            pluginCursor = pluginCursor.getSuperclass()
+        ) {
+            for (Method method : pluginCursor.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(ActivityCallback.class) || method.isAnnotationPresent(PermissionCallback.class)) {
+                    launcherMethods.add(method);
+                }
+            }
+        }
+        return launcherMethods;
+    }
+
+    void triggerPermissionCallback(Method method, Map<String, Boolean> permissionResultMap) {
         PluginCall savedCall = bridge.getPermissionCall(handle.getId());
 
         // validate permissions and invoke the permission result callback
@@ -144,7 +173,7 @@ public class Plugin {
         }
     }
 
-    private void triggerActivityCallback(Method method, ActivityResult result) {
+    void triggerActivityCallback(Method method, ActivityResult result) {
         PluginCall savedCall = bridge.getSavedCall(lastPluginCallId);
         if (savedCall == null) {
             savedCall = bridge.getPluginCallForLastActivity();
@@ -625,18 +654,24 @@ public class Plugin {
      * @param call
      */
     private void addEventListener(String eventName, PluginCall call) {
-        List<PluginCall> listeners = eventListeners.get(eventName);
-        if (listeners == null || listeners.isEmpty()) {
+        List<JSObject> retainedArgs;
+        synchronized (eventListeners) {
+            List<PluginCall> listeners = eventListeners.get(eventName);
+            if (listeners != null && !listeners.isEmpty()) {
+                listeners.add(call);
+                return;
+            }
+
             listeners = new ArrayList<>();
             eventListeners.put(eventName, listeners);
 
             // Must add the call before sending retained arguments
             listeners.add(call);
 
-            sendRetainedArgumentsForEvent(eventName);
-        } else {
-            listeners.add(call);
+            openEventStream(eventName);
+            retainedArgs = retainedEventArguments.remove(eventName);
         }
+        sendRetainedArgumentsForEvent(eventName, retainedArgs);
     }
 
     /**
@@ -645,12 +680,58 @@ public class Plugin {
      * @param call
      */
     private void removeEventListener(String eventName, PluginCall call) {
-        List<PluginCall> listeners = eventListeners.get(eventName);
-        if (listeners == null) {
+        synchronized (eventListeners) {
+            List<PluginCall> listeners = eventListeners.get(eventName);
+            if (listeners == null) {
+                return;
+            }
+
+            listeners.remove(call);
+            if (listeners.isEmpty()) {
+                closeEventStream(eventName);
+            }
+        }
+    }
+
+    /**
+     * Deliver an event to its listeners in the web layer through a dedicated message channel,
+     * rather than as responses to their plugin calls. Meant for events fired at a high rate, such
+     * as sensor readings, so they do not delay the responses of other calls. The event is
+     * delivered as usual when the WebView does not support message channels.
+     *
+     * Call this from {@link #load()}.
+     * @param eventName the event to stream
+     * @since 7.5.0
+     */
+    protected void enableEventStream(String eventName) {
+        streamedEvents.add(eventName);
+    }
+
+    private void openEventStream(String eventName) {
+        if (!streamedEvents.contains(eventName) || bridge == null || handle == null) {
             return;
         }
 
-        listeners.remove(call);
+        EventStream stream = bridge.openEventStream(handle.getId(), eventName);
+        if (stream != null) {
+            EventStream previous = eventStreams.put(eventName, stream);
+            if (previous != null) {
+                previous.close();
+            }
+        }
+    }
+
+    private void closeEventStream(String eventName) {
+        EventStream stream = eventStreams.remove(eventName);
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void closeEventStreams() {
+        for (String eventName : eventStreams.keySet()) {
+            closeEventStream(eventName);
+        }
     }
 
     /**
@@ -660,23 +741,31 @@ public class Plugin {
      */
     protected void notifyListeners(String eventName, JSObject data, boolean retainUntilConsumed) {
         Logger.verbose(getLogTag(), "Notifying listeners for event " + eventName);
-        List<PluginCall> listeners = eventListeners.get(eventName);
-        if (listeners == null || listeners.isEmpty()) {
-            Logger.debug(getLogTag(), "No listeners found for event " + eventName);
-            if (retainUntilConsumed) {
-                List<JSObject> argList = retainedEventArguments.get(eventName);
-
-                if (argList == null) {
-                    argList = new ArrayList<JSObject>();
-                }
+        List<PluginCall> listenersCopy;
+        synchronized (eventListeners) {
+            List<PluginCall> listeners = eventListeners.get(eventName);
+            if (listeners == null || listeners.isEmpty()) {
+                Logger.debug(getLogTag(), "No listeners found for event " + eventName);
+                if (retainUntilConsumed) {
+                    List<JSObject> argList = retainedEventArguments.get(eventName);
+
+                    if (argList == null) {
+                        argList = new ArrayList<JSObject>();
+                    }
 
-                argList.add(data);
-                retainedEventArguments.put(eventName, argList);
+                    argList.add(data);
+                    retainedEventArguments.put(eventName, argList);
+                }
+                return;
             }
+            listenersCopy = new ArrayList<>(listeners);
+        }
+
+        EventStream stream = eventStreams.get(eventName);
+        if (stream != null && stream.post(data)) {
             return;
         }
 
-        CopyOnWriteArrayList<PluginCall> listenersCopy = new CopyOnWriteArrayList(listeners);
         for (PluginCall call : listenersCopy) {
             call.resolve(data);
         }
@@ -697,27 +786,26 @@ public class Plugin {
      * Check if there are any listeners for the given event
      */
     protected boolean hasListeners(String eventName) {
-        List<PluginCall> listeners = eventListeners.get(eventName);
-        if (listeners == null) {
-            return false;
+        synchronized (eventListeners) {
+            List<PluginCall> listeners = eventListeners.get(eventName);
+            if (listeners == null) {
+                return false;
+            }
+            return !listeners.isEmpty();
         }
-        return !listeners.isEmpty();
     }
 
     /**
      * Send retained arguments (if any) for this event. This
      * is called only when the first listener for an event is added
      * @param eventName
+     * @param retainedArgs the arguments taken out of the retained ones, or null
      */
-    private void sendRetainedArgumentsForEvent(String eventName) {
-        // copy retained args and null source to prevent potential race conditions
-        List<JSObject> retainedArgs = retainedEventArguments.get(eventName);
+    private void sendRetainedArgumentsForEvent(String eventName, List<JSObject> retainedArgs) {
         if (retainedArgs == null) {
             return;
         }
 
-        retainedEventArguments.remove(eventName);
-
         for (JSObject retained : retainedArgs) {
             notifyListeners(eventName, retained);
         }
@@ -758,12 +846,15 @@ public class Plugin {
     @SuppressWarnings("unused")
     @PluginMethod(returnType = PluginMethod.RETURN_PROMISE)
     public void removeAllListeners(PluginCall call) {
-        eventListeners.clear();
+        removeAllListeners();
         call.resolve();
     }
 
     public void removeAllListeners() {
-        eventListeners.clear();
+        synchronized (eventListeners) {
+            eventListeners.clear();
+            closeEventStreams();
+        }
     }
 
     /**
@@ -1026,11 +1117,16 @@ public class Plugin {
     }
 
     /**
-     * Execute the given runnable on the Bridge's task handler
+     * Execute the given runnable on the plugin's executor, after any plugin method
+     * call already scheduled
      * @param runnable
      */
     public void execute(Runnable runnable) {
-        bridge.execute(runnable);
+        if (handle != null) {
+            handle.execute(runnable);
+        } else {
+            bridge.execute(runnable);
+        }
     }
 
     /**
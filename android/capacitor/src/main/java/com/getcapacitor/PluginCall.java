@@ -23,10 +23,16 @@ public class PluginCall {
     private final String pluginId;
     private final String callbackId;
     private final String methodName;
-    private final JSObject data;
+    // The options of the call, parsed from the raw JSON the first time they are read
+    private volatile JSObject data;
+    private final String rawData;
+    // The ArrayBuffers posted along with the call, referenced by the binary values of its data
+    private final List<byte[]> buffers;
 
     private boolean keepAlive = false;
 
+    private boolean bypassResponseQueue = false;
+
     /**
      * Indicates that this PluginCall was released, and should no longer be used
      */
@@ -34,11 +40,30 @@ public class PluginCall {
     private boolean isReleased = false;
 
     public PluginCall(MessageHandler msgHandler, String pluginId, String callbackId, String methodName, JSObject data) {
+        this(msgHandler, pluginId, callbackId, methodName, data, null);
+    }
+
+    PluginCall(MessageHandler msgHandler, String pluginId, String callbackId, String methodName, JSObject data, List<byte[]> buffers) {
         this.msgHandler = msgHandler;
         this.pluginId = pluginId;
         this.callbackId = callbackId;
         this.methodName = methodName;
         this.data = data;
+        this.rawData = null;
+        this.buffers = buffers;
+    }
+
+    /**
+     * @param rawData the options of the call as raw JSON, or null if it has none. They are parsed
+     *                the first time they are read
+     */
+    PluginCall(MessageHandler msgHandler, String pluginId, String callbackId, String methodName, String rawData, List<byte[]> buffers) {
+        this.msgHandler = msgHandler;
+        this.pluginId = pluginId;
+        this.callbackId = callbackId;
+        this.methodName = methodName;
+        this.rawData = rawData;
+        this.buffers = buffers;
     }
 
     public void successCallback(PluginResult successResult) {
@@ -148,7 +173,44 @@ public class PluginCall {
     }
 
     public JSObject getData() {
-        return this.data;
+        JSObject parsed = this.data;
+        if (parsed == null) {
+            synchronized (this) {
+                if (this.data == null) {
+                    this.data = parseData(this.rawData);
+                }
+                parsed = this.data;
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Get the options of the call as the raw JSON sent by the web layer, without parsing them.
+     * Methods taking a large payload they pass on as is, or parse themselves, can avoid
+     * building the {@link JSObject} of the options by reading them from here only.
+     * @since 7.5.0
+     */
+    public String getRawData() {
+        JSObject parsed = this.data;
+        if (parsed != null || this.rawData == null) {
+            return getData().toString();
+        }
+        return this.rawData;
+    }
+
+    private static JSObject parseData(String rawData) {
+        // Options other than an object are ignored, as they have always been
+        if (rawData == null || !rawData.startsWith("{")) {
+            return new JSObject();
+        }
+
+        try {
+            return new JSObject(rawData);
+        } catch (JSONException ex) {
+            Logger.error(Logger.tags("Plugin"), "Invalid options, the call has no data", ex);
+            return new JSObject();
+        }
     }
 
     @Nullable
@@ -158,7 +220,7 @@ public class PluginCall {
 
     @Nullable
     public String getString(String name, @Nullable String defaultValue) {
-        Object value = this.data.opt(name);
+        Object value = getData().opt(name);
         if (value == null) {
             return defaultValue;
         }
@@ -169,6 +231,21 @@ public class PluginCall {
         return defaultValue;
     }
 
+    /**
+     * Get a binary value, passed from the web layer as an ArrayBuffer or typed array.
+     * A base64 string is decoded as well.
+     */
+    @Nullable
+    public byte[] getBytes(String name) {
+        return this.getBytes(name, null);
+    }
+
+    @Nullable
+    public byte[] getBytes(String name, @Nullable byte[] defaultValue) {
+        byte[] value = BinaryValues.read(getData().opt(name), this.buffers);
+        return value != null ? value : defaultValue;
+    }
+
     @Nullable
     public Integer getInt(String name) {
         return this.getInt(name, null);
@@ -176,7 +253,7 @@ public class PluginCall {
 
     @Nullable
     public Integer getInt(String name, @Nullable Integer defaultValue) {
-        Object value = this.data.opt(name);
+        Object value = getData().opt(name);
         if (value == null) {
             return defaultValue;
         }
@@ -194,7 +271,7 @@ public class PluginCall {
 
     @Nullable
     public Long getLong(String name, @Nullable Long defaultValue) {
-        Object value = this.data.opt(name);
+        Object value = getData().opt(name);
         if (value == null) {
             return defaultValue;
         }
@@ -212,7 +289,7 @@ public class PluginCall {
 
     @Nullable
     public Float getFloat(String name, @Nullable Float defaultValue) {
-        Object value = this.data.opt(name);
+        Object value = getData().opt(name);
         if (value == null) {
             return defaultValue;
         }
@@ -236,7 +313,7 @@ public class PluginCall {
 
     @Nullable
     public Double getDouble(String name, @Nullable Double defaultValue) {
-        Object value = this.data.opt(name);
+        Object value = getData().opt(name);
         if (value == null) {
             return defaultValue;
         }
@@ -260,7 +337,7 @@ public class PluginCall {
 
     @Nullable
     public Boolean getBoolean(String name, @Nullable Boolean defaultValue) {
-        Object value = this.data.opt(name);
+        Object value = getData().opt(name);
         if (value == null) {
             return defaultValue;
         }
@@ -277,7 +354,7 @@ public class PluginCall {
 
     @Nullable
     public JSObject getObject(String name, JSObject defaultValue) {
-        Object value = this.data.opt(name);
+        Object value = getData().opt(name);
         if (value == null) {
             return defaultValue;
         }
@@ -304,7 +381,7 @@ public class PluginCall {
      */
     @Nullable
     public JSArray getArray(String name, JSArray defaultValue) {
-        Object value = this.data.opt(name);
+        Object value = getData().opt(name);
         if (value == null) {
             return defaultValue;
         }
@@ -332,7 +409,7 @@ public class PluginCall {
      */
     @Deprecated
     public boolean hasOption(String name) {
-        return this.data.has(name);
+        return getData().has(name);
     }
 
     /**
@@ -357,6 +434,25 @@ public class PluginCall {
         this.keepAlive = keepAlive;
     }
 
+    /**
+     * Deliver the results of this call to the WebView as soon as they are available,
+     * even when the bridge coalesces responses per frame. Use this for latency
+     * critical calls.
+     *
+     * @param bypassResponseQueue whether to skip the response queue
+     */
+    public void setBypassResponseQueue(boolean bypassResponseQueue) {
+        this.bypassResponseQueue = bypassResponseQueue;
+    }
+
+    /**
+     * Gets whether the results of this call skip the response queue
+     * @return true if results are delivered immediately
+     */
+    public boolean isBypassingResponseQueue() {
+        return bypassResponseQueue;
+    }
+
     public void release(Bridge bridge) {
         this.keepAlive = false;
         bridge.releaseCall(this);
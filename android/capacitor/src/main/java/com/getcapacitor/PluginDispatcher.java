@@ -0,0 +1,166 @@
+package com.getcapacitor;
+
+import android.os.Handler;
+import android.os.Looper;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PluginDispatcher owns the threads plugin methods are executed on.
+ *
+ * Every plugin gets its own serial lane on top of a shared, bounded pool, so
+ * calls to a single plugin keep their order while a slow plugin no longer blocks
+ * the others. Plugins declared with {@code @CapacitorPlugin(concurrent = true)}
+ * dispatch straight to the pool instead. Single methods can pick another
+ * executor with {@code @PluginMethod(thread = ...)}, see {@link #getExecutor(String, Executor)}.
+ *
+ * Synchronous calls from the web layer run on the same executors as the other calls to a
+ * method, so they keep the order of the plugin lane, see {@link PluginHandle#getSyncExecutor(String)}.
+ */
+public class PluginDispatcher {
+
+    private static final String THREAD_NAME_PREFIX = "CapacitorPlugins-";
+    private static final String IO_THREAD_NAME_PREFIX = "CapacitorPluginsIO-";
+    private static final int IO_MAX_THREADS = 16;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static final Executor CALLER_EXECUTOR = Runnable::run;
+
+    private final ThreadPoolExecutor pool;
+    private final ThreadPoolExecutor ioPool;
+    private Executor mainExecutor;
+
+    public PluginDispatcher() {
+        this(Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public PluginDispatcher(int maxThreads) {
+        this.pool = createPool(maxThreads, THREAD_NAME_PREFIX);
+        this.ioPool = createPool(IO_MAX_THREADS, IO_THREAD_NAME_PREFIX);
+    }
+
+    private static ThreadPoolExecutor createPool(int maxThreads, final String threadNamePrefix) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> new Thread(runnable, threadNamePrefix + threadCount.incrementAndGet());
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            maxThreads,
+            maxThreads,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            threadFactory,
+            (runnable, pool) -> Logger.warn("Plugin task dropped, the dispatcher has been shut down")
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Create a new serial lane. Tasks posted to the lane run one at a time, in
+     * the order they were posted, on any thread of the shared pool.
+     * @return the lane
+     */
+    public Executor newSerialLane() {
+        return new SerialLane(pool);
+    }
+
+    /**
+     * The shared pool, for tasks that do not need to be ordered.
+     * @return the executor backing every lane
+     */
+    public Executor getConcurrentExecutor() {
+        return pool;
+    }
+
+    /**
+     * The pool reserved to blocking disk and network work. It allows more threads
+     * than there are cores, as its tasks mostly wait.
+     * @return the IO executor
+     */
+    public Executor getIoExecutor() {
+        return ioPool;
+    }
+
+    /**
+     * An executor posting tasks to the main thread.
+     * @return the main thread executor
+     */
+    public synchronized Executor getMainExecutor() {
+        if (mainExecutor == null) {
+            final Handler mainHandler = new Handler(Looper.getMainLooper());
+            mainExecutor = mainHandler::post;
+        }
+        return mainExecutor;
+    }
+
+    /**
+     * Resolve the executor for one of the {@link PluginMethod} thread constants.
+     * @param thread the thread a method asked for
+     * @param pluginExecutor the executor of the plugin, used for {@link PluginMethod#THREAD_DEFAULT}
+     * @return the executor to run the method on
+     */
+    public Executor getExecutor(String thread, Executor pluginExecutor) {
+        switch (thread) {
+            case PluginMethod.THREAD_MAIN:
+                return getMainExecutor();
+            case PluginMethod.THREAD_BACKGROUND:
+                return pool;
+            case PluginMethod.THREAD_IO:
+                return ioPool;
+            case PluginMethod.THREAD_CALLER:
+                return CALLER_EXECUTOR;
+            case PluginMethod.THREAD_DEFAULT:
+                return pluginExecutor;
+            default:
+                Logger.warn("Unknown plugin method thread \"" + thread + "\", running it on the plugin's executor");
+                return pluginExecutor;
+        }
+    }
+
+    /**
+     * Stop accepting new tasks. Tasks already queued are still executed.
+     */
+    public void shutdown() {
+        pool.shutdown();
+        ioPool.shutdown();
+    }
+
+    private static final class SerialLane implements Executor {
+
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private final Executor executor;
+        private Runnable active;
+
+        SerialLane(Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public synchronized void execute(final Runnable runnable) {
+            tasks.offer(() -> {
+                try {
+                    runnable.run();
+                } finally {
+                    scheduleNext();
+                }
+            });
+
+            if (active == null) {
+                scheduleNext();
+            }
+        }
+
+        private synchronized void scheduleNext() {
+            active = tasks.poll();
+            if (active != null) {
+                executor.execute(active);
+            }
+        }
+    }
+}
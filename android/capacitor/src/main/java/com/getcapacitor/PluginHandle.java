@@ -1,11 +1,19 @@
 package com.getcapacitor;
 
+import android.content.Intent;
+import android.net.Uri;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import com.getcapacitor.annotation.ActivityCallback;
 import com.getcapacitor.annotation.CapacitorPlugin;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * PluginHandle is an instance of a plugin that has been registered
@@ -18,6 +26,10 @@ public class PluginHandle {
 
     private final Map<String, PluginMethodHandle> pluginMethods = new HashMap<>();
 
+    private final Map<String, Executor> methodExecutors = new HashMap<>();
+
+    private final Map<String, Executor> syncExecutors = new HashMap<>();
+
     private final String pluginId;
 
     @SuppressWarnings("deprecation")
@@ -25,7 +37,22 @@ public class PluginHandle {
 
     private CapacitorPlugin pluginAnnotation;
 
-    private Plugin instance;
+    private volatile Plugin instance;
+
+    // Set once the instance has finished loading, calls are only dispatched to loaded instances
+    private volatile boolean loaded;
+
+    // Tasks waiting for a lazily loaded instance, see executeWhenLoaded
+    private final List<Runnable> pendingUntilLoaded = new ArrayList<>();
+
+    // Activity launchers registered before a lazily loaded instance exists
+    private Map<String, ActivityResultLauncher<Intent>> activityLaunchers;
+    private Map<String, ActivityResultLauncher<String[]>> permissionLaunchers;
+
+    // The generated dispatch table of the plugin, null if the plugin was not processed at compile time
+    private PluginInvoker invoker;
+
+    private final Executor executor;
 
     @SuppressWarnings("deprecation")
     private PluginHandle(Class<? extends Plugin> clazz, Bridge bridge) throws InvalidPluginException {
@@ -57,12 +84,51 @@ public class PluginHandle {
             this.pluginAnnotation = pluginAnnotation;
         }
 
-        this.indexMethods(clazz);
+        PluginDispatcher dispatcher = bridge.getPluginDispatcher();
+        if (this.pluginAnnotation != null && this.pluginAnnotation.concurrent()) {
+            this.executor = dispatcher.getConcurrentExecutor();
+        } else {
+            this.executor = dispatcher.newSerialLane();
+        }
+
+        this.indexMethods(clazz, dispatcher);
     }
 
     public PluginHandle(Bridge bridge, Class<? extends Plugin> pluginClass) throws InvalidPluginException, PluginLoadException {
+        this(bridge, pluginClass, false);
+    }
+
+    /**
+     * Create a handle for a plugin class.
+     * @param lazy defer creating and loading the plugin instance until it is first needed. Plugins
+     *             declaring {@link CapacitorPlugin#loadOnStartup()}, legacy plugins, and plugins that
+     *             handle URL loads or new intents are always loaded right away
+     */
+    public PluginHandle(Bridge bridge, Class<? extends Plugin> pluginClass, boolean lazy)
+        throws InvalidPluginException, PluginLoadException {
         this(pluginClass, bridge);
-        this.load();
+        this.attach(lazy);
+    }
+
+    /**
+     * Create a handle for a plugin class without loading it. Indexing only reads the plugin
+     * class and its annotations, so unlike {@link #attach(boolean)} it can run off the main thread.
+     */
+    static PluginHandle index(Bridge bridge, Class<? extends Plugin> pluginClass) throws InvalidPluginException {
+        return new PluginHandle(pluginClass, bridge);
+    }
+
+    /**
+     * Load the plugin of an indexed handle, or prepare it to be loaded on first use.
+     * @param lazy see {@link #PluginHandle(Bridge, Class, boolean)}
+     */
+    void attach(boolean lazy) throws PluginLoadException {
+        if (lazy && !this.mustLoadOnStartup()) {
+            // Activity result callbacks must be registered before the activity is started
+            this.registerActivityLaunchers();
+        } else {
+            this.load();
+        }
     }
 
     public PluginHandle(Bridge bridge, Plugin plugin) throws InvalidPluginException {
@@ -87,45 +153,141 @@ public class PluginHandle {
         return this.pluginAnnotation;
     }
 
+    /**
+     * Get the plugin instance
+     * @return the instance, or null if the plugin is loaded lazily and was not needed yet. The
+     *         instance is available while it loads, see {@link #isLoaded()}
+     */
     public Plugin getInstance() {
         return this.instance;
     }
 
+    public boolean isLoaded() {
+        return this.loaded;
+    }
+
     public Collection<PluginMethodHandle> getMethods() {
         return this.pluginMethods.values();
     }
 
-    public Plugin load() throws PluginLoadException {
+    /**
+     * The executor plugin methods are run on. Unless the plugin is concurrent,
+     * this is a serial lane dedicated to the plugin.
+     */
+    public Executor getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * The executor a plugin method is run on, as chosen with {@link PluginMethod#thread()}.
+     * Falls back to the plugin's executor for unknown methods.
+     * @param methodName the name of the method
+     */
+    public Executor getExecutor(String methodName) {
+        Executor methodExecutor = this.methodExecutors.get(methodName);
+        return methodExecutor != null ? methodExecutor : this.executor;
+    }
+
+    /**
+     * The executor a synchronous call to a plugin method is run on. Methods declared with
+     * {@link PluginMethod#syncSafe()} run inline on the calling thread, the others run on the
+     * same executor as their asynchronous calls, see {@link #getExecutor(String)}. A synchronous
+     * call to a method of the plugin lane so waits for the calls queued before it.
+     * @param methodName the name of the method
+     * @return the executor, or null for unknown methods
+     */
+    public Executor getSyncExecutor(String methodName) {
+        return this.syncExecutors.get(methodName);
+    }
+
+    /**
+     * Run a task on the plugin's executor, ordered with the plugin's method calls.
+     * @param runnable the task to run
+     */
+    public void execute(Runnable runnable) {
+        this.executor.execute(runnable);
+    }
+
+    public synchronized Plugin load() throws PluginLoadException {
         if (this.instance != null) {
             return this.instance;
         }
 
         try {
-            this.instance = this.pluginClass.getDeclaredConstructor().newInstance();
-            return this.loadInstance(instance);
+            Plugin plugin = this.pluginClass.getDeclaredConstructor().newInstance();
+            return this.loadInstance(plugin);
         } catch (Exception ex) {
             throw new PluginLoadException("Unable to load plugin instance. Ensure plugin is publicly accessible");
         }
     }
 
     public Plugin loadInstance(Plugin plugin) {
+        // The instance is available to the plugin's own load(), see getInstance()
         this.instance = plugin;
         this.instance.setPluginHandle(this);
         this.instance.setBridge(this.bridge);
         this.instance.load();
-        this.instance.initializeActivityLaunchers();
+        if (this.activityLaunchers != null) {
+            this.instance.setActivityLaunchers(this.activityLaunchers, this.permissionLaunchers);
+        } else {
+            this.instance.initializeActivityLaunchers();
+        }
+        // Only mark the instance as loaded once it is, other threads check it to dispatch calls
+        this.loaded = true;
         return this.instance;
     }
 
     /**
-     * Call a method on a plugin.
+     * Run a task once the plugin instance is loaded, loading it on the main thread first if
+     * needed. Tasks keep their order, including the ones submitted while the plugin loads.
+     * @param task the task to run
+     */
+    public void executeWhenLoaded(Runnable task) {
+        synchronized (this.pendingUntilLoaded) {
+            if (!this.loaded || !this.pendingUntilLoaded.isEmpty()) {
+                this.pendingUntilLoaded.add(task);
+                if (this.pendingUntilLoaded.size() == 1) {
+                    this.bridge.executeOnMainThread(this::loadPending);
+                }
+                return;
+            }
+        }
+        task.run();
+    }
+
+    private void loadPending() {
+        try {
+            this.load();
+        } catch (PluginLoadException ex) {
+            // Calls fail with the same exception when they try to load the plugin again
+            Logger.error("NativePlugin " + this.pluginClass.getName() + " failed to load", ex);
+        }
+
+        while (true) {
+            Runnable task;
+            synchronized (this.pendingUntilLoaded) {
+                if (this.pendingUntilLoaded.isEmpty()) {
+                    return;
+                }
+                task = this.pendingUntilLoaded.get(0);
+            }
+            task.run();
+            synchronized (this.pendingUntilLoaded) {
+                this.pendingUntilLoaded.remove(0);
+            }
+        }
+    }
+
+    /**
+     * Call a method on a plugin, on the current thread. Use {@link #getExecutor(String)}
+     * to run it on the thread the method asked for.
      * @param methodName the name of the method to call
      * @param call the constructed PluginCall with parameters from the caller
      * @throws InvalidPluginMethodException if no method was found on that plugin
      */
     public void invoke(String methodName, PluginCall call)
         throws PluginLoadException, InvalidPluginMethodException, InvocationTargetException, IllegalAccessException {
-        if (this.instance == null) {
+        if (!this.loaded) {
             // Can throw PluginLoadException
             this.load();
         }
@@ -135,14 +297,38 @@ public class PluginHandle {
             throw new InvalidPluginMethodException("No method " + methodName + " found for plugin " + pluginClass.getName());
         }
 
-        methodMeta.getMethod().invoke(this.instance, call);
+        if (this.invoker == null) {
+            methodMeta.getMethod().invoke(this.instance, call);
+            return;
+        }
+
+        boolean invoked;
+        try {
+            invoked = this.invoker.invoke(this.instance, methodName, call);
+        } catch (Exception ex) {
+            // Match the exceptions thrown by Method.invoke
+            throw new InvocationTargetException(ex);
+        }
+
+        if (!invoked) {
+            throw new InvalidPluginMethodException("No method " + methodName + " found for plugin " + pluginClass.getName());
+        }
     }
 
     /**
-     * Index all the known callable methods for a plugin for faster
-     * invocation later
+     * Index all the known callable methods for a plugin, and the executor
+     * each of them runs on, for faster invocation later
      */
-    private void indexMethods(Class<? extends Plugin> plugin) {
+    private void indexMethods(Class<? extends Plugin> plugin, PluginDispatcher dispatcher) {
+        this.invoker = loadInvoker(plugin);
+        if (this.invoker != null) {
+            for (PluginMethodHandle methodMeta : this.invoker.getMethods()) {
+                pluginMethods.put(methodMeta.getName(), methodMeta);
+                indexExecutors(methodMeta.getName(), methodMeta, dispatcher);
+            }
+            return;
+        }
+
         //Method[] methods = pluginClass.getDeclaredMethods();
         Method[] methods = pluginClass.getMethods();
 
@@ -155,6 +341,102 @@ public class PluginHandle {
 
             PluginMethodHandle methodMeta = new PluginMethodHandle(methodReflect, method);
             pluginMethods.put(methodReflect.getName(), methodMeta);
+            indexExecutors(methodReflect.getName(), methodMeta, dispatcher);
+        }
+    }
+
+    private void indexExecutors(String methodName, PluginMethodHandle methodMeta, PluginDispatcher dispatcher) {
+        Executor methodExecutor = dispatcher.getExecutor(methodMeta.getThread(), this.executor);
+        methodExecutors.put(methodName, methodExecutor);
+        syncExecutors.put(
+            methodName,
+            methodMeta.isSyncSafe() ? dispatcher.getExecutor(PluginMethod.THREAD_CALLER, this.executor) : methodExecutor
+        );
+    }
+
+    /**
+     * Load the {@link PluginInvoker} generated for a plugin, if any
+     * @return the invoker, or null to fall back to reflection
+     */
+    private static PluginInvoker loadInvoker(Class<? extends Plugin> plugin) {
+        try {
+            Class<?> invokerClass = Class.forName(plugin.getName() + PluginInvoker.CLASS_NAME_SUFFIX, true, plugin.getClassLoader());
+            return (PluginInvoker) invokerClass.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException ex) {
+            return null;
+        } catch (Exception ex) {
+            Logger.warn("Unable to load the generated invoker of plugin " + plugin.getName() + ", falling back to reflection");
+            return null;
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private boolean mustLoadOnStartup() {
+        if (this.pluginAnnotation == null || this.pluginAnnotation.loadOnStartup()) {
+            return true;
+        }
+
+        // These are called on every plugin instance, a plugin that was not loaded would miss them
+        return (
+            overridesPluginMethod(this.pluginClass, "shouldOverrideLoad", Uri.class) ||
+            overridesPluginMethod(this.pluginClass, "handleOnNewIntent", Intent.class)
+        );
+    }
+
+    private static boolean overridesPluginMethod(Class<?> pluginClass, String name, Class<?>... parameterTypes) {
+        for (Class<?> cursor = pluginClass; cursor != null && cursor != Plugin.class; cursor = cursor.getSuperclass()) {
+            try {
+                cursor.getDeclaredMethod(name, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException ignored) {}
+        }
+        return false;
+    }
+
+    /**
+     * Register the activity result callbacks of a plugin that is not loaded yet. The callbacks
+     * load the plugin if needed, for instance when the app was restarted while the activity
+     * launched by the plugin was in the foreground.
+     */
+    private void registerActivityLaunchers() {
+        this.activityLaunchers = new HashMap<>();
+        this.permissionLaunchers = new HashMap<>();
+
+        for (final Method method : Plugin.getActivityLauncherMethods(this.pluginClass)) {
+            if (method.isAnnotationPresent(ActivityCallback.class)) {
+                ActivityResultLauncher<Intent> launcher = bridge.registerForActivityResult(
+                    new ActivityResultContracts.StartActivityForResult(),
+                    (result) -> {
+                        Plugin plugin = loadForCallback();
+                        if (plugin != null) {
+                            plugin.triggerActivityCallback(method, result);
+                        }
+                    }
+                );
+
+                this.activityLaunchers.put(method.getName(), launcher);
+            } else {
+                ActivityResultLauncher<String[]> launcher = bridge.registerForActivityResult(
+                    new ActivityResultContracts.RequestMultiplePermissions(),
+                    (permissions) -> {
+                        Plugin plugin = loadForCallback();
+                        if (plugin != null) {
+                            plugin.triggerPermissionCallback(method, permissions);
+                        }
+                    }
+                );
+
+                this.permissionLaunchers.put(method.getName(), launcher);
+            }
+        }
+    }
+
+    private Plugin loadForCallback() {
+        try {
+            return this.load();
+        } catch (PluginLoadException ex) {
+            Logger.error("NativePlugin " + this.pluginClass.getName() + " failed to load", ex);
+            return null;
         }
     }
 }
@@ -0,0 +1,31 @@
+package com.getcapacitor;
+
+/**
+ * A dispatch table for the methods of a plugin, generated at compile time by the
+ * capacitor-processor annotation processor as {@code <PluginClass>_PluginInvoker}.
+ *
+ * When an invoker is available for a plugin, {@link PluginHandle} uses it instead of
+ * scanning the plugin class and calling its methods through reflection.
+ */
+public interface PluginInvoker {
+    /**
+     * Suffix appended to the binary name of a plugin class to get the name of its invoker
+     */
+    String CLASS_NAME_SUFFIX = "_PluginInvoker";
+
+    /**
+     * The metadata of every method of the plugin annotated with {@link PluginMethod}
+     * @return the method handles
+     */
+    PluginMethodHandle[] getMethods();
+
+    /**
+     * Call a method on a plugin instance.
+     * @param plugin the plugin instance
+     * @param methodName the name of the method to call
+     * @param call the call to pass to the method
+     * @return false if the plugin has no such method
+     * @throws Exception any exception thrown by the plugin method
+     */
+    boolean invoke(Plugin plugin, String methodName, PluginCall call) throws Exception;
+}
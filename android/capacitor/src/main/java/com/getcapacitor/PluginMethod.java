@@ -11,5 +11,42 @@ public @interface PluginMethod {
 
     String RETURN_NONE = "none";
 
+    /**
+     * Run on the plugin's executor, a serial lane unless the plugin is concurrent
+     */
+    String THREAD_DEFAULT = "default";
+
+    /**
+     * Run on the main thread
+     */
+    String THREAD_MAIN = "main";
+
+    /**
+     * Run on the shared plugin pool, concurrently with the other calls
+     */
+    String THREAD_BACKGROUND = "background";
+
+    /**
+     * Run on the pool reserved to blocking disk and network work
+     */
+    String THREAD_IO = "io";
+
+    /**
+     * Run inline on the thread that received the message from the WebView
+     */
+    String THREAD_CALLER = "caller";
+
     String returnType() default RETURN_PROMISE;
+
+    String thread() default THREAD_DEFAULT;
+
+    /**
+     * Whether the method can run inline on the thread of a synchronous call from the web layer.
+     * Only set it on methods that resolve the call right away without blocking, like reads of
+     * in-memory values. Synchronous calls to other methods run on the thread set with
+     * {@link #thread()}, by default after the calls already queued on the plugin's lane,
+     * see {@link PluginHandle#getSyncExecutor(String)}.
+     * @since 7.5.0
+     */
+    boolean syncSafe() default false;
 }
@@ -4,12 +4,16 @@ import java.lang.reflect.Method;
 
 public class PluginMethodHandle {
 
-    // The reflect method reference
+    // The reflect method reference, null when the method is called through a generated PluginInvoker
     private final Method method;
     // The name of the method
     private final String name;
     // The return type of the method (see PluginMethod for constants)
     private final String returnType;
+    // The thread the method runs on (see PluginMethod for constants)
+    private final String thread;
+    // Whether the method can run inline on the thread of a synchronous call
+    private final boolean syncSafe;
 
     public PluginMethodHandle(Method method, PluginMethod methodDecorator) {
         this.method = method;
@@ -17,16 +21,61 @@ public class PluginMethodHandle {
         this.name = method.getName();
 
         this.returnType = methodDecorator.returnType();
+
+        this.thread = methodDecorator.thread() != null ? methodDecorator.thread() : PluginMethod.THREAD_DEFAULT;
+
+        this.syncSafe = methodDecorator.syncSafe();
+    }
+
+    /**
+     * Create a handle from the metadata a {@link PluginInvoker} collected at compile time.
+     * @param name the name of the method
+     * @param returnType the return type of the method (see PluginMethod for constants)
+     * @param thread the thread the method runs on (see PluginMethod for constants)
+     */
+    public PluginMethodHandle(String name, String returnType, String thread) {
+        this(name, returnType, thread, false);
+    }
+
+    /**
+     * Create a handle from the metadata a {@link PluginInvoker} collected at compile time.
+     * @param name the name of the method
+     * @param returnType the return type of the method (see PluginMethod for constants)
+     * @param thread the thread the method runs on (see PluginMethod for constants)
+     * @param syncSafe whether the method can run inline on the thread of a synchronous call
+     */
+    public PluginMethodHandle(String name, String returnType, String thread, boolean syncSafe) {
+        this.method = null;
+
+        this.name = name;
+
+        this.returnType = returnType;
+
+        this.thread = thread;
+
+        this.syncSafe = syncSafe;
     }
 
     public String getReturnType() {
         return returnType;
     }
 
+    public String getThread() {
+        return thread;
+    }
+
+    public boolean isSyncSafe() {
+        return syncSafe;
+    }
+
     public String getName() {
         return name;
     }
 
+    /**
+     * The reflect method reference
+     * @return the method, or null if the plugin has a generated {@link PluginInvoker}
+     */
     public Method getMethod() {
         return method;
     }
@@ -3,6 +3,10 @@ package com.getcapacitor;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.TimeZone;
 
 /**
@@ -11,6 +15,8 @@ import java.util.TimeZone;
 public class PluginResult {
 
     private final JSObject json;
+    // Binary values, kept out of the JSON until the result is sent
+    private Map<String, byte[]> bytes;
 
     public PluginResult() {
         this(new JSObject());
@@ -51,20 +57,71 @@ public class PluginResult {
     }
 
     public PluginResult put(String name, PluginResult value) {
-        return this.jsonPut(name, value.json);
+        return this.jsonPut(name, value.toJSON(null));
+    }
+
+    /**
+     * Put a binary value. It is delivered to the web layer as an ArrayBuffer, without
+     * being encoded into the JSON of the result when the WebView supports it.
+     */
+    public PluginResult putBytes(String name, byte[] value) {
+        if (value == null) {
+            return this.jsonPut(name, null);
+        }
+
+        if (this.bytes == null) {
+            this.bytes = new LinkedHashMap<>();
+        }
+        this.bytes.put(name, value);
+        this.json.remove(name);
+        return this;
     }
 
     PluginResult jsonPut(String name, Object value) {
         try {
             this.json.put(name, value);
+            if (this.bytes != null) {
+                this.bytes.remove(name);
+            }
         } catch (Exception ex) {
             Logger.error(Logger.tags("Plugin"), "", ex);
         }
         return this;
     }
 
+    boolean hasBytes() {
+        return this.bytes != null && !this.bytes.isEmpty();
+    }
+
+    /**
+     * Build the JSON of the result, with a marker in place of each binary value.
+     * @param buffers the list the binary values are appended to, to be posted along with the
+     *                JSON, or null to encode them into the JSON
+     */
+    JSObject toJSON(List<byte[]> buffers) {
+        if (!hasBytes()) {
+            return this.json;
+        }
+
+        JSObject ret = new JSObject();
+        Iterator<String> keys = this.json.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            ret.put(key, this.json.opt(key));
+        }
+        for (Map.Entry<String, byte[]> entry : this.bytes.entrySet()) {
+            if (buffers != null) {
+                ret.put(entry.getKey(), BinaryValues.marker(buffers.size()));
+                buffers.add(entry.getValue());
+            } else {
+                ret.put(entry.getKey(), BinaryValues.marker(entry.getValue()));
+            }
+        }
+        return ret;
+    }
+
     public String toString() {
-        return this.json.toString();
+        return this.toJSON(null).toString();
     }
 
     /**
@@ -0,0 +1,401 @@
+package com.getcapacitor;
+
+import android.content.res.AssetFileDescriptor;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The body of a local response, which can be read from any offset to serve byte range requests.
+ *
+ * Files and file descriptors are read with positional {@link FileChannel} reads, so a range
+ * starts at its offset without reading what comes before it, and several ranges can be read
+ * from the same channel. Memory-mapped bodies are read straight from their buffer. Bodies
+ * only available as a stream, like compressed assets, are reopened and skipped for every range.
+ */
+abstract class RangeSource implements Closeable {
+
+    interface StreamOpener {
+        InputStream open() throws IOException;
+    }
+
+    private final long length;
+
+    RangeSource(long length) {
+        this.length = length;
+    }
+
+    /**
+     * @return the exact length of the whole body
+     */
+    long getLength() {
+        return length;
+    }
+
+    /**
+     * Open a part of the body. Closing the returned stream does not close this source.
+     * @param offset the offset of the first byte to read
+     * @param count the number of bytes to read
+     */
+    abstract InputStream open(long offset, long count) throws IOException;
+
+    /**
+     * Open the body of a response to the given ranges, which is the range itself for a single
+     * range or a {@code multipart/byteranges} body otherwise. Closing it closes this source.
+     * @param ranges the satisfiable ranges to serve
+     * @param mimeType the type of the whole body, used in the parts of a multipart body
+     * @param boundary the multipart boundary
+     */
+    InputStream openRanges(List<ByteRange> ranges, String mimeType, String boundary) throws IOException {
+        InputStream body;
+        if (ranges.size() == 1) {
+            ByteRange range = ranges.get(0);
+            body = open(range.start, range.getLength());
+        } else {
+            body = new MultipartInputStream(this, ranges, mimeType, boundary);
+        }
+
+        return new FilterInputStream(body) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    RangeSource.this.close();
+                }
+            }
+        };
+    }
+
+    /**
+     * @return the exact length of the body returned by {@link #openRanges(List, String, String)}
+     */
+    long getRangesLength(List<ByteRange> ranges, String mimeType, String boundary) {
+        if (ranges.size() == 1) {
+            return ranges.get(0).getLength();
+        }
+
+        long total = 0;
+        for (int i = 0; i < ranges.size(); i++) {
+            total += getPartHeader(i, ranges.get(i), mimeType, boundary).length + ranges.get(i).getLength();
+        }
+        return total + getMultipartTrailer(boundary).length;
+    }
+
+    private byte[] getPartHeader(int index, ByteRange range, String mimeType, String boundary) {
+        StringBuilder header = new StringBuilder();
+        if (index > 0) {
+            header.append("\r\n");
+        }
+        header.append("--").append(boundary).append("\r\n");
+        if (mimeType != null) {
+            header.append("Content-Type: ").append(mimeType).append("\r\n");
+        }
+        header.append("Content-Range: ").append(range.toContentRange(length)).append("\r\n\r\n");
+        return header.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] getMultipartTrailer(String boundary) {
+        return ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * A source reading from a file channel, starting at {@code start} in the channel.
+     * @param owner closed with the source, and expected to close the channel
+     */
+    static RangeSource of(FileChannel channel, long start, long length, Closeable owner) {
+        return new ChannelSource(channel, start, length, owner);
+    }
+
+    static RangeSource of(FileInputStream input) throws IOException {
+        FileChannel channel = input.getChannel();
+        return of(channel, 0, channel.size(), input);
+    }
+
+    /**
+     * A source reading the part of a file described by a descriptor, like an uncompressed asset.
+     * @return the source, or null if the length of the descriptor is not known
+     */
+    static RangeSource of(final AssetFileDescriptor descriptor) throws IOException {
+        if (descriptor.getLength() < 0) {
+            descriptor.close();
+            return null;
+        }
+
+        final FileInputStream input = descriptor.createInputStream();
+        return of(input.getChannel(), descriptor.getStartOffset(), descriptor.getLength(), () -> {
+            try {
+                input.close();
+            } finally {
+                descriptor.close();
+            }
+        });
+    }
+
+    /**
+     * A source reopening a stream for every part.
+     */
+    static RangeSource of(StreamOpener opener, long length) {
+        return new StreamSource(opener, length);
+    }
+
+    /**
+     * A source reading from the remaining bytes of a buffer, like a slice of a mapped file.
+     * The buffer itself is never modified.
+     */
+    static RangeSource of(ByteBuffer buffer) {
+        return new BufferSource(buffer);
+    }
+
+    private static final class ChannelSource extends RangeSource {
+
+        private final FileChannel channel;
+        private final long start;
+        private final Closeable owner;
+
+        ChannelSource(FileChannel channel, long start, long length, Closeable owner) {
+            super(length);
+            this.channel = channel;
+            this.start = start;
+            this.owner = owner;
+        }
+
+        @Override
+        InputStream open(final long offset, final long count) {
+            return new InputStream() {
+                private long position = start + offset;
+                private final long end = start + offset + count;
+
+                @Override
+                public int read() throws IOException {
+                    byte[] single = new byte[1];
+                    return read(single, 0, 1) == 1 ? single[0] & 0xFF : -1;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    if (len == 0) {
+                        return 0;
+                    }
+
+                    int toRead = (int) Math.min(len, end - position);
+                    if (toRead <= 0) {
+                        return -1;
+                    }
+
+                    int read = channel.read(ByteBuffer.wrap(b, off, toRead), position);
+                    if (read > 0) {
+                        position += read;
+                    }
+                    return read;
+                }
+
+                @Override
+                public long skip(long n) {
+                    long skipped = Math.max(0, Math.min(n, end - position));
+                    position += skipped;
+                    return skipped;
+                }
+
+                @Override
+                public int available() {
+                    return (int) Math.min(Integer.MAX_VALUE, end - position);
+                }
+            };
+        }
+
+        @Override
+        public void close() throws IOException {
+            owner.close();
+        }
+    }
+
+    private static final class BufferSource extends RangeSource {
+
+        private final ByteBuffer buffer;
+
+        BufferSource(ByteBuffer buffer) {
+            super(buffer.remaining());
+            this.buffer = buffer.slice();
+        }
+
+        @Override
+        InputStream open(long offset, long count) {
+            final ByteBuffer part = buffer.duplicate();
+            part.position((int) offset);
+            part.limit((int) (offset + count));
+
+            return new InputStream() {
+                @Override
+                public int read() {
+                    return part.hasRemaining() ? part.get() & 0xFF : -1;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    if (len == 0) {
+                        return 0;
+                    }
+                    if (!part.hasRemaining()) {
+                        return -1;
+                    }
+
+                    int read = Math.min(len, part.remaining());
+                    part.get(b, off, read);
+                    return read;
+                }
+
+                @Override
+                public long skip(long n) {
+                    int skipped = (int) Math.max(0, Math.min(n, part.remaining()));
+                    part.position(part.position() + skipped);
+                    return skipped;
+                }
+
+                @Override
+                public int available() {
+                    return part.remaining();
+                }
+            };
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    private static final class StreamSource extends RangeSource {
+
+        private final StreamOpener opener;
+
+        StreamSource(StreamOpener opener, long length) {
+            super(length);
+            this.opener = opener;
+        }
+
+        @Override
+        InputStream open(long offset, final long count) throws IOException {
+            InputStream input = opener.open();
+            long remaining = offset;
+            while (remaining > 0) {
+                long skipped = input.skip(remaining);
+                if (skipped <= 0) {
+                    if (input.read() < 0) {
+                        break;
+                    }
+                    skipped = 1;
+                }
+                remaining -= skipped;
+            }
+
+            return new FilterInputStream(input) {
+                private long left = count;
+
+                @Override
+                public int read() throws IOException {
+                    if (left <= 0) {
+                        return -1;
+                    }
+                    int read = super.read();
+                    if (read >= 0) {
+                        left--;
+                    }
+                    return read;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    if (left <= 0) {
+                        return -1;
+                    }
+                    int read = super.read(b, off, (int) Math.min(len, left));
+                    if (read > 0) {
+                        left -= read;
+                    }
+                    return read;
+                }
+
+                @Override
+                public long skip(long n) throws IOException {
+                    long skipped = super.skip(Math.min(n, left));
+                    left -= skipped;
+                    return skipped;
+                }
+
+                @Override
+                public int available() throws IOException {
+                    return (int) Math.min(super.available(), left);
+                }
+            };
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    /**
+     * A {@code multipart/byteranges} body, opening the parts one after the other.
+     */
+    private static final class MultipartInputStream extends InputStream {
+
+        private final List<StreamOpener> segments = new ArrayList<>();
+        private int index;
+        private InputStream current;
+
+        MultipartInputStream(final RangeSource source, List<ByteRange> ranges, String mimeType, String boundary) {
+            for (int i = 0; i < ranges.size(); i++) {
+                final ByteRange range = ranges.get(i);
+                final byte[] header = source.getPartHeader(i, range, mimeType, boundary);
+                segments.add(() -> new ByteArrayInputStream(header));
+                segments.add(() -> source.open(range.start, range.getLength()));
+            }
+            final byte[] trailer = getMultipartTrailer(boundary);
+            segments.add(() -> new ByteArrayInputStream(trailer));
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == 1 ? single[0] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+
+            while (index < segments.size()) {
+                if (current == null) {
+                    current = segments.get(index).open();
+                }
+
+                int read = current.read(b, off, len);
+                if (read > 0) {
+                    return read;
+                }
+
+                current.close();
+                current = null;
+                index++;
+            }
+            return -1;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+            index = segments.size();
+        }
+    }
+}
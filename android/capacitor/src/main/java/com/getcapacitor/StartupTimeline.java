@@ -0,0 +1,179 @@
+package com.getcapacitor;
+
+import android.os.Trace;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Records where the startup of the app goes, from the construction of the {@link Bridge}
+ * to the first page load.
+ *
+ * Sections show up in system traces (Perfetto, systrace) as {@link Trace} sections and are
+ * kept in an in-process timeline, which the WebView plugin returns to JS through
+ * {@code getStartupTimeline()}. Recording starts with the bridge, as the config is not
+ * known yet, and is turned off for good once the config has been loaded unless
+ * {@link CapConfig#isStartupTracing()} is set, after which every call is a single
+ * volatile read. The timeline stops recording after the first page has finished loading.
+ */
+public class StartupTimeline {
+
+    /** Returned by {@link #beginSection(String)} when the timeline is not recording. */
+    public static final long NOT_RECORDING = -1;
+
+    private static final int MAX_SECTION_NAME_LENGTH = 127;
+
+    private final long origin = System.nanoTime();
+    private final long originTimeMillis = System.currentTimeMillis();
+    private final List<Entry> entries = new ArrayList<>();
+    private final Set<String> marks = new HashSet<>();
+
+    private volatile boolean enabled = true;
+    private volatile boolean recording = true;
+
+    /**
+     * Keep or drop the timeline once the config is known.
+     * @param enabled whether startup tracing was turned on in the config
+     */
+    void setEnabled(boolean enabled) {
+        if (!enabled) {
+            this.recording = false;
+            this.enabled = false;
+            synchronized (entries) {
+                entries.clear();
+                marks.clear();
+            }
+        }
+    }
+
+    /**
+     * Stop recording, once the startup is over.
+     */
+    void finish() {
+        this.recording = false;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Begin a section. It must be ended with {@link #endSection(String, long)} on the same thread.
+     * @param name the name of the section
+     * @return the start of the section, to pass to {@link #endSection(String, long)}
+     */
+    public long beginSection(String name) {
+        if (!recording) {
+            return NOT_RECORDING;
+        }
+
+        Trace.beginSection(getTraceName(name));
+        return System.nanoTime();
+    }
+
+    /**
+     * End a section started with {@link #beginSection(String)}.
+     * @param name the name of the section
+     * @param start the value returned by {@link #beginSection(String)}
+     */
+    public void endSection(String name, long start) {
+        if (start == NOT_RECORDING) {
+            return;
+        }
+
+        // Always close the trace section, even if recording stopped in between, to keep them balanced
+        Trace.endSection();
+        add(name, start, System.nanoTime());
+    }
+
+    /**
+     * Record a point in time, as an empty section.
+     * @param name the name of the event
+     */
+    public void mark(String name) {
+        if (!recording) {
+            return;
+        }
+
+        Trace.beginSection(getTraceName(name));
+        Trace.endSection();
+        long now = System.nanoTime();
+        add(name, now, now);
+    }
+
+    /**
+     * Record a point in time the first time it happens only.
+     * @param name the name of the event
+     */
+    public void markOnce(String name) {
+        if (!recording) {
+            return;
+        }
+
+        synchronized (entries) {
+            if (!marks.add(name)) {
+                return;
+            }
+        }
+        mark(name);
+    }
+
+    /**
+     * @return the timeline, with the start and duration of every entry in milliseconds
+     *         since the construction of the bridge
+     */
+    public JSObject toJSObject() {
+        JSArray timeline = new JSArray();
+        synchronized (entries) {
+            for (Entry entry : entries) {
+                JSObject item = new JSObject();
+                item.put("name", entry.name);
+                item.put("thread", entry.thread);
+                item.put("start", toMillis(entry.start - origin));
+                item.put("duration", toMillis(entry.end - entry.start));
+                timeline.put(item);
+            }
+        }
+
+        JSObject ret = new JSObject();
+        ret.put("enabled", enabled);
+        ret.put("origin", originTimeMillis);
+        ret.put("entries", timeline);
+        return ret;
+    }
+
+    private void add(String name, long start, long end) {
+        if (!enabled) {
+            return;
+        }
+
+        Entry entry = new Entry(name, Thread.currentThread().getName(), start, end);
+        synchronized (entries) {
+            entries.add(entry);
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String getTraceName(String name) {
+        return name.length() > MAX_SECTION_NAME_LENGTH ? name.substring(0, MAX_SECTION_NAME_LENGTH) : name;
+    }
+
+    private static final class Entry {
+
+        final String name;
+        final String thread;
+        final long start;
+        final long end;
+
+        Entry(String name, String thread, long start, long end) {
+            this.name = name;
+            this.thread = thread;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.getcapacitor;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A stream whose bytes all go through {@link #read(byte[], int, int)}, which subclasses implement
+ * to change or observe the bytes of the original stream. Single byte reads and skips are read
+ * through it as well, and mark and reset are not supported.
+ */
+abstract class TransformingInputStream extends FilterInputStream {
+
+    TransformingInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public abstract int read(byte[] b, int off, int len) throws IOException;
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) == 1 ? single[0] & 0xFF : -1;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+
+        byte[] skipped = new byte[(int) Math.min(n, 2048)];
+        int read = read(skipped, 0, skipped.length);
+        return Math.max(read, 0);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {}
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+}
@@ -18,29 +18,31 @@ package com.getcapacitor;
 
 import android.net.Uri;
 import com.getcapacitor.util.HostMask;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
+/**
+ * Matches URIs against a tree of registered scheme, authority and path patterns.
+ *
+ * The tree is immutable: {@link #addURI(String, String, String, Object)} copies the nodes on
+ * the path of the new URI and publishes the new root, so {@link #match(Uri)} never takes a lock
+ * and only ever sees complete trees. The children of a node are indexed by their text, and host
+ * masks are parsed once, when their node is created.
+ */
 public class UriMatcher {
 
+    private volatile Node root;
+
     /**
      * Creates the root node of the URI tree.
      *
      * @param code the code to match for the root URI
      */
     public UriMatcher(Object code) {
-        mCode = code;
-        mWhich = -1;
-        mChildren = new ArrayList<>();
-        mText = null;
-    }
-
-    private UriMatcher() {
-        mCode = null;
-        mWhich = -1;
-        mChildren = new ArrayList<>();
-        mText = null;
+        root = new Node(code, -1, null);
     }
 
     /**
@@ -74,41 +76,16 @@ public class UriMatcher {
         }
 
         int numTokens = tokens != null ? tokens.length : 0;
-        UriMatcher node = this;
-        for (int i = -2; i < numTokens; i++) {
-            String token;
-            if (i == -2) token = scheme;
-            else if (i == -1) token = authority;
-            else token = tokens[i];
-            ArrayList<UriMatcher> children = node.mChildren;
-            int numChildren = children.size();
-            UriMatcher child;
-            int j;
-            for (j = 0; j < numChildren; j++) {
-                child = children.get(j);
-                if (token.equals(child.mText)) {
-                    node = child;
-                    break;
-                }
-            }
-            if (j == numChildren) {
-                // Child not found, create it
-                child = new UriMatcher();
-                if (i == -1 && token.contains("*")) {
-                    child.mWhich = MASK;
-                } else if (token.equals("**")) {
-                    child.mWhich = REST;
-                } else if (token.equals("*")) {
-                    child.mWhich = TEXT;
-                } else {
-                    child.mWhich = EXACT;
-                }
-                child.mText = token;
-                node.mChildren.add(child);
-                node = child;
-            }
+        String[] allTokens = new String[numTokens + 2];
+        allTokens[0] = scheme;
+        allTokens[1] = authority;
+        if (tokens != null) {
+            System.arraycopy(tokens, 0, allTokens, 2, numTokens);
+        }
+
+        synchronized (this) {
+            root = root.with(allTokens, 0, code);
         }
-        node.mCode = code;
     }
 
     static final Pattern PATH_SPLIT_PATTERN = Pattern.compile("/");
@@ -121,55 +98,33 @@ public class UriMatcher {
      * or null if there is no matched node.
      */
     public Object match(Uri uri) {
-        final List<String> pathSegments = uri.getPathSegments();
-        final int li = pathSegments.size();
+        return match(uri.getScheme(), uri.getAuthority(), uri.getPathSegments());
+    }
 
-        UriMatcher node = this;
+    Object match(String scheme, String authority, List<String> pathSegments) {
+        final int li = pathSegments.size();
 
-        if (li == 0 && uri.getAuthority() == null) {
-            return this.mCode;
+        Node node = root;
+        if (li == 0 && authority == null) {
+            return node.code;
         }
 
         for (int i = -2; i < li; i++) {
             String u;
-            if (i == -2) u = uri.getScheme();
-            else if (i == -1) u = uri.getAuthority();
+            if (i == -2) u = scheme;
+            else if (i == -1) u = authority;
             else u = pathSegments.get(i);
-            ArrayList<UriMatcher> list = node.mChildren;
-            if (list == null) {
-                break;
-            }
-            node = null;
-            int lj = list.size();
-            for (int j = 0; j < lj; j++) {
-                UriMatcher n = list.get(j);
-                which_switch: switch (n.mWhich) {
-                    case MASK:
-                        if (HostMask.Parser.parse(n.mText).matches(u)) {
-                            node = n;
-                        }
-                        break;
-                    case EXACT:
-                        if (n.mText.equals(u)) {
-                            node = n;
-                        }
-                        break;
-                    case TEXT:
-                        node = n;
-                        break;
-                    case REST:
-                        return n.mCode;
-                }
-                if (node != null) {
-                    break;
-                }
-            }
+
+            node = node.matchChild(u);
             if (node == null) {
                 return null;
             }
+            if (node.which == REST) {
+                return node.code;
+            }
         }
 
-        return node.mCode;
+        return node.code;
     }
 
     private static final int EXACT = 0;
@@ -177,8 +132,100 @@ public class UriMatcher {
     private static final int REST = 2;
     private static final int MASK = 3;
 
-    private Object mCode;
-    private int mWhich;
-    private String mText;
-    private ArrayList<UriMatcher> mChildren;
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final int[] NO_WILDCARDS = new int[0];
+
+    /**
+     * A node of the tree, which is never modified once created.
+     */
+    private static final class Node {
+
+        final Object code;
+        final int which;
+        final String text;
+        final HostMask mask;
+
+        // The children in the order they were added, which is the order they are tried in
+        final Node[] children;
+        // The position of every child by its text
+        final Map<String, Integer> childIndex;
+        // The positions of the children that are not matched by their text alone
+        final int[] wildcards;
+
+        Node(Object code, int which, String text) {
+            this(code, which, text, NO_CHILDREN, new HashMap<>(), NO_WILDCARDS);
+        }
+
+        private Node(Object code, int which, String text, Node[] children, Map<String, Integer> childIndex, int[] wildcards) {
+            this.code = code;
+            this.which = which;
+            this.text = text;
+            this.mask = which == MASK ? HostMask.Parser.parse(text) : null;
+            this.children = children;
+            this.childIndex = childIndex;
+            this.wildcards = wildcards;
+        }
+
+        /**
+         * @return a copy of this node with the given tokens added below it
+         */
+        Node with(String[] tokens, int index, Object newCode) {
+            if (index == tokens.length) {
+                return new Node(newCode, which, text, children, childIndex, wildcards);
+            }
+
+            String token = tokens[index];
+            Integer existing = childIndex.get(token);
+            if (existing != null) {
+                Node[] newChildren = children.clone();
+                newChildren[existing] = children[existing].with(tokens, index + 1, newCode);
+                return new Node(code, which, text, newChildren, childIndex, wildcards);
+            }
+
+            // Child not found, create it
+            int childWhich;
+            if (index == 1 && token.contains("*")) {
+                childWhich = MASK;
+            } else if (token.equals("**")) {
+                childWhich = REST;
+            } else if (token.equals("*")) {
+                childWhich = TEXT;
+            } else {
+                childWhich = EXACT;
+            }
+
+            Node child = new Node(null, childWhich, token).with(tokens, index + 1, newCode);
+            Node[] newChildren = Arrays.copyOf(children, children.length + 1);
+            newChildren[children.length] = child;
+            Map<String, Integer> newChildIndex = new HashMap<>(childIndex);
+            newChildIndex.put(token, children.length);
+            int[] newWildcards = wildcards;
+            if (childWhich != EXACT) {
+                newWildcards = Arrays.copyOf(wildcards, wildcards.length + 1);
+                newWildcards[wildcards.length] = children.length;
+            }
+            return new Node(code, which, text, newChildren, newChildIndex, newWildcards);
+        }
+
+        /**
+         * @return the first child, in the order they were added, matching the given text
+         */
+        Node matchChild(String u) {
+            Integer exact = u != null ? childIndex.get(u) : null;
+            int limit = exact != null && children[exact].which == EXACT ? exact : children.length;
+
+            for (int wildcard : wildcards) {
+                if (wildcard > limit) {
+                    break;
+                }
+
+                Node child = children[wildcard];
+                if (child.which != MASK || child.mask.matches(u)) {
+                    return child;
+                }
+            }
+
+            return limit < children.length ? children[limit] : null;
+        }
+    }
 }
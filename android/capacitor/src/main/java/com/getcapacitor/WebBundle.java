@@ -0,0 +1,218 @@
+package com.getcapacitor;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A web app packed in a single file, served by {@link WebViewLocalServer} when the server base
+ * path points at it instead of a directory.
+ *
+ * The file is mapped in memory once and its entries are served as slices of the mapping, so no
+ * file is opened per request. An update is applied by writing the new bundle next to the old
+ * one and renaming it over it: the bundle being served stays mapped until the server switches
+ * to the new one with {@link Bridge#setServerBasePath(String)}.
+ *
+ * The format is big-endian:
+ * <pre>
+ * "CAPB"                 magic
+ * u8                     version, 1
+ * u32                    number of entries
+ * entries, sorted by path as Java strings:
+ *   u16 + UTF-8 bytes    path, relative to the root of the app, without leading slash
+ *   u8                   method, 0 for stored or 1 for zlib deflated
+ *   u64                  offset of the data in the file
+ *   u64                  length of the data in the file
+ *   u64                  size of the entry once inflated
+ * data of the entries, at their offsets
+ * </pre>
+ */
+class WebBundle {
+
+    static final int METHOD_STORED = 0;
+    static final int METHOD_DEFLATED = 1;
+
+    private static final int MAGIC = 0x43415042;
+    private static final int VERSION = 1;
+    // The length of an index entry with an empty path
+    private static final int MIN_ENTRY_LENGTH = 2 + 1 + 8 + 8 + 8;
+
+    private final ByteBuffer buffer;
+    private final long lastModified;
+    private final String[] paths;
+    private final Entry[] entries;
+
+    private WebBundle(ByteBuffer buffer, long lastModified, String[] paths, Entry[] entries) {
+        this.buffer = buffer;
+        this.lastModified = lastModified;
+        this.paths = paths;
+        this.entries = entries;
+    }
+
+    /**
+     * @return whether the file is a bundle, from its first bytes
+     */
+    static boolean isBundle(File file) {
+        if (!file.isFile()) {
+            return false;
+        }
+
+        try (FileInputStream input = new FileInputStream(file)) {
+            byte[] magic = new byte[4];
+            return input.read(magic) == 4 && ByteBuffer.wrap(magic).getInt() == MAGIC;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Map a bundle in memory and read its index.
+     */
+    static WebBundle open(File file) throws IOException {
+        MappedByteBuffer mapped;
+        try (RandomAccessFile input = new RandomAccessFile(file, "r"); FileChannel channel = input.getChannel()) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Bundle too large: " + file);
+            }
+            // The mapping stays valid once the channel is closed
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            return read(mapped, file.lastModified());
+        } catch (BufferUnderflowException | IllegalArgumentException ex) {
+            throw new IOException("Corrupt bundle: " + file, ex);
+        }
+    }
+
+    private static WebBundle read(ByteBuffer buffer, long lastModified) throws IOException {
+        ByteBuffer index = buffer.duplicate();
+        if (index.getInt() != MAGIC || (index.get() & 0xFF) != VERSION) {
+            throw new IOException("Unsupported bundle format");
+        }
+
+        int count = index.getInt();
+        if (count < 0 || count > index.remaining() / MIN_ENTRY_LENGTH) {
+            throw new IOException("Invalid entry count");
+        }
+
+        String[] paths = new String[count];
+        Entry[] entries = new Entry[count];
+        for (int i = 0; i < count; i++) {
+            byte[] path = new byte[index.getShort() & 0xFFFF];
+            index.get(path);
+            paths[i] = new String(path, StandardCharsets.UTF_8);
+
+            int method = index.get() & 0xFF;
+            long offset = index.getLong();
+            long length = index.getLong();
+            long size = index.getLong();
+            if (method > METHOD_DEFLATED || offset < 0 || length < 0 || length > buffer.capacity() - offset) {
+                throw new IOException("Invalid entry " + paths[i]);
+            }
+            if (method == METHOD_STORED && size != length) {
+                throw new IOException("Invalid size of " + paths[i]);
+            }
+            if (i > 0 && paths[i - 1].compareTo(paths[i]) >= 0) {
+                throw new IOException("Entries not sorted at " + paths[i]);
+            }
+
+            entries[i] = new Entry(method, (int) offset, (int) length, size);
+        }
+
+        return new WebBundle(buffer, lastModified, paths, entries);
+    }
+
+    /**
+     * @param path the path of an entry, with or without leading slash
+     * @return the entry, or null if the bundle has none at that path
+     */
+    Entry get(String path) {
+        int index = Arrays.binarySearch(paths, path.startsWith("/") ? path.substring(1) : path);
+        return index >= 0 ? entries[index] : null;
+    }
+
+    /**
+     * @return the modification time of the bundle file when it was opened
+     */
+    long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Open an entry, inflating it if it is deflated.
+     */
+    InputStream open(String path) throws IOException {
+        Entry entry = get(path);
+        if (entry == null) {
+            throw new FileNotFoundException("Not in the bundle: " + path);
+        }
+
+        InputStream data = RangeSource.of(slice(entry)).open(0, entry.length);
+        if (entry.method == METHOD_DEFLATED) {
+            return new InflaterInputStream(data, new Inflater(), 8192) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        inf.end();
+                    }
+                }
+            };
+        }
+        return data;
+    }
+
+    /**
+     * Open an entry so that it can be read from any offset. Stored entries are read straight
+     * from the mapping, deflated entries are inflated up to the start of every range.
+     */
+    RangeSource openRange(final String path) throws IOException {
+        Entry entry = get(path);
+        if (entry == null) {
+            throw new FileNotFoundException("Not in the bundle: " + path);
+        }
+
+        if (entry.method == METHOD_STORED) {
+            return RangeSource.of(slice(entry));
+        }
+        return RangeSource.of(() -> open(path), entry.size);
+    }
+
+    private ByteBuffer slice(Entry entry) {
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(entry.offset);
+        slice.limit(entry.offset + entry.length);
+        return slice.slice();
+    }
+
+    /**
+     * An entry of the index.
+     */
+    static final class Entry {
+
+        final int method;
+        final int offset;
+        final int length;
+        final long size;
+
+        Entry(int method, int offset, int length, long size) {
+            this.method = method;
+            this.offset = offset;
+            this.length = length;
+            this.size = size;
+        }
+    }
+}
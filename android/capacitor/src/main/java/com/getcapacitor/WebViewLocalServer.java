@@ -18,6 +18,7 @@ package com.getcapacitor;
 import static com.getcapacitor.plugin.util.HttpRequestHandler.isDomainExcludedFromSSL;
 
 import android.content.Context;
+import android.content.pm.PackageManager;
 import android.net.Uri;
 import android.util.Base64;
 import android.webkit.CookieManager;
@@ -25,17 +26,23 @@ import android.webkit.WebResourceRequest;
 import android.webkit.WebResourceResponse;
 import com.getcapacitor.plugin.util.CapacitorHttpUrlConnection;
 import com.getcapacitor.plugin.util.HttpRequestHandler;
+import com.getcapacitor.util.InternalUtils;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Helper class meant to be used with the android.webkit.WebView class to enable hosting assets,
@@ -53,16 +60,33 @@ public class WebViewLocalServer {
 
     private static final String capacitorFileStart = Bridge.CAPACITOR_FILE_START;
     private static final String capacitorContentStart = Bridge.CAPACITOR_CONTENT_START;
+    // The precompressed siblings looked for, by order of preference
+    private static final String[] CONTENT_ENCODINGS = { "br", "gzip" };
+    private static final String[] CONTENT_ENCODING_EXTENSIONS = { ".br", ".gz" };
     private String basePath;
 
     private final UriMatcher uriMatcher;
     private final AndroidProtocolHandler protocolHandler;
     private final ArrayList<String> authorities;
     private boolean isAsset;
+    // Set when the base path is a web bundle file instead of a directory
+    private volatile WebBundle bundle;
     // Whether to route all requests to paths without extensions back to `index.html`
     private final boolean html5mode;
     private final JSInjector jsInjector;
     private final Bridge bridge;
+    private final Context context;
+    private final AssetCache assetCache = new AssetCache();
+    private final AssetIndex assetIndex;
+    // Null unless the app was built with an asset manifest
+    private final AssetManifest assetManifest;
+    // Null unless asset caching is enabled in the config
+    private final AssetCachePolicy cachePolicy;
+    private final MimeTypes mimeTypes;
+    private final AssetPrefetcher prefetcher;
+    private volatile HostingPathHandler hostingHandler;
+    // The Accept-Encoding of the last app page request, to prefetch the siblings the page will get
+    private volatile String prefetchEncoding;
 
     /**
      * A handler that produces responses for paths on the virtual asset server.
@@ -140,6 +164,34 @@ public class WebViewLocalServer {
         this.authorities = authorities;
         this.bridge = bridge;
         this.jsInjector = jsInjector;
+        this.context = context.getApplicationContext();
+        this.context.registerComponentCallbacks(assetCache);
+        this.assetManifest = AssetManifest.get(this.context);
+        this.assetIndex = new AssetIndex(this.context.getAssets(), assetManifest);
+        this.prefetcher = new AssetPrefetcher(new File(new File(this.context.getCodeCacheDir(), "capacitor"), "prefetch"), this::prefetch);
+
+        CapConfig config = bridge.getConfig();
+        this.cachePolicy = config.isAssetCaching()
+            ? new AssetCachePolicy(config.getImmutableAssetPattern(), getAppUpdateTime(this.context))
+            : null;
+        this.mimeTypes = new MimeTypes(config.getMimeTypes());
+    }
+
+    private static long getAppUpdateTime(Context context) {
+        try {
+            return InternalUtils.getPackageInfo(context.getPackageManager(), context.getPackageName()).lastUpdateTime;
+        } catch (PackageManager.NameNotFoundException ex) {
+            return 0;
+        }
+    }
+
+    /**
+     * Release the memory held by the server, once the bridge is destroyed.
+     */
+    void destroy() {
+        context.unregisterComponentCallbacks(assetCache);
+        prefetcher.shutdown();
+        assetCache.clear();
     }
 
     private static Uri parseAndVerifyUrl(String url) {
@@ -181,10 +233,7 @@ public class WebViewLocalServer {
             }
         }
 
-        PathHandler handler;
-        synchronized (uriMatcher) {
-            handler = (PathHandler) uriMatcher.match(request.getUrl());
-        }
+        PathHandler handler = (PathHandler) uriMatcher.match(request.getUrl());
         if (handler == null) {
             return null;
         }
@@ -314,7 +363,7 @@ public class WebViewLocalServer {
         }
 
         if (null == mimeType) {
-            mimeType = getMimeType(request.getUrl().getPath(), inputStream);
+            mimeType = mimeTypes.get(request.getUrl().getPath());
         }
 
         int responseCode = connection.getResponseCode();
@@ -326,39 +375,17 @@ public class WebViewLocalServer {
     private WebResourceResponse handleLocalRequest(WebResourceRequest request, PathHandler handler) {
         String path = request.getUrl().getPath();
 
-        if (request.getRequestHeaders().get("Range") != null) {
-            InputStream responseStream = new LollipopLazyInputStream(handler, request);
-            String mimeType = getMimeType(path, responseStream);
-            Map<String, String> tempResponseHeaders = handler.getResponseHeaders();
-            int statusCode = 206;
-            try {
-                int totalRange = responseStream.available();
-                String rangeString = request.getRequestHeaders().get("Range");
-                String[] parts = rangeString.split("=");
-                String[] streamParts = parts[1].split("-");
-                String fromRange = streamParts[0];
-                int range = totalRange - 1;
-                if (streamParts.length > 1) {
-                    range = Integer.parseInt(streamParts[1]);
-                }
-                tempResponseHeaders.put("Accept-Ranges", "bytes");
-                tempResponseHeaders.put("Content-Range", "bytes " + fromRange + "-" + range + "/" + totalRange);
-            } catch (IOException e) {
-                statusCode = 404;
+        String rangeHeader = request.getRequestHeaders().get("Range");
+        if (rangeHeader != null && handler instanceof HostingPathHandler && isRangeable(request.getUrl(), handler)) {
+            WebResourceResponse response = handleRangeRequest(request, (HostingPathHandler) handler, rangeHeader);
+            if (response != null) {
+                return response;
             }
-            return new WebResourceResponse(
-                mimeType,
-                handler.getEncoding(),
-                statusCode,
-                handler.getReasonPhrase(),
-                tempResponseHeaders,
-                responseStream
-            );
         }
 
         if (isLocalFile(request.getUrl()) || isErrorUrl(request.getUrl())) {
             InputStream responseStream = new LollipopLazyInputStream(handler, request);
-            String mimeType = getMimeType(request.getUrl().getPath(), responseStream);
+            String mimeType = mimeTypes.get(request.getUrl().getPath());
             int statusCode = getStatusCode(responseStream, handler.getStatusCode());
             return new WebResourceResponse(
                 mimeType,
@@ -381,37 +408,53 @@ public class WebViewLocalServer {
             );
         }
 
-        if (path.equals("/") || (!request.getUrl().getLastPathSegment().contains(".") && html5mode)) {
+        String lastPathSegment = request.getUrl().getLastPathSegment();
+        boolean hostedFile = lastPathSegment != null && !lastPathSegment.contains(".") && isHostedFile(request.getUrl(), handler);
+        if (path.equals("/") || (!lastPathSegment.contains(".") && html5mode && !hostedFile)) {
+            StartupTimeline startupTimeline = bridge.getStartupTimeline();
+            long section = startupTimeline.beginSection("index.html");
             InputStream responseStream;
+            LocalPath startPath;
             try {
-                String startPath = this.basePath + "/index.html";
+                String startPathName = this.basePath + "/index.html";
                 if (bridge.getRouteProcessor() != null) {
                     ProcessedRoute processedRoute = bridge.getRouteProcessor().process(this.basePath, "/index.html");
-                    startPath = processedRoute.getPath();
+                    startPathName = processedRoute.getPath();
                     isAsset = processedRoute.isAsset();
+                    startPath = new LocalPath(isAsset ? LocalPath.ASSET : LocalPath.FILE, startPathName);
+                } else if (!isAsset && bundle != null) {
+                    startPath = new LocalPath(LocalPath.BUNDLE, "/index.html");
+                } else {
+                    startPath = new LocalPath(isAsset ? LocalPath.ASSET : LocalPath.FILE, startPathName);
                 }
 
-                if (isAsset) {
-                    responseStream = protocolHandler.openAsset(startPath);
-                } else {
-                    responseStream = protocolHandler.openFile(startPath);
+                if (isPrefetched(startPath)) {
+                    prefetchEncoding = request.getRequestHeaders().get("Accept-Encoding");
+                    prefetcher.start(getCacheKey(startPath));
                 }
+                responseStream = openCached(startPath);
             } catch (IOException e) {
                 Logger.error("Unable to open index.html", e);
+                startupTimeline.endSection("index.html", section);
                 return null;
             }
 
+            if (isPrefetched(startPath)) {
+                responseStream = prefetcher.scan(responseStream, getCacheKey(startPath), path);
+            }
+
             if (jsInjector != null) {
                 responseStream = jsInjector.getInjectedStream(responseStream);
             }
 
             int statusCode = getStatusCode(responseStream, handler.getStatusCode());
+            startupTimeline.endSection("index.html", section);
             return new WebResourceResponse(
                 "text/html",
                 handler.getEncoding(),
                 statusCode,
                 handler.getReasonPhrase(),
-                handler.getResponseHeaders(),
+                getResponseHeaders(startPath, "index.html", handler),
                 responseStream
             );
         }
@@ -425,8 +468,15 @@ public class WebViewLocalServer {
         }
 
         int periodIndex = path.lastIndexOf(".");
-        if (periodIndex >= 0) {
-            String ext = path.substring(path.lastIndexOf("."));
+        if (periodIndex >= 0 || hostedFile) {
+            String ext = periodIndex >= 0 ? path.substring(periodIndex) : "";
+
+            if (handler instanceof HostingPathHandler && !(ext.equals(".html") && jsInjector != null)) {
+                WebResourceResponse response = handleEncodedRequest(request, (HostingPathHandler) handler);
+                if (response != null) {
+                    return response;
+                }
+            }
 
             InputStream responseStream = new LollipopLazyInputStream(handler, request);
 
@@ -435,19 +485,204 @@ public class WebViewLocalServer {
                 responseStream = jsInjector.getInjectedStream(responseStream);
             }
 
-            String mimeType = getMimeType(path, responseStream);
-            int statusCode = getStatusCode(responseStream, handler.getStatusCode());
+            String mimeType = mimeTypes.get(path);
+            int statusCode;
+            Map<String, String> headers = handler.getResponseHeaders();
+            if (handler instanceof HostingPathHandler) {
+                LocalPath localPath = ((HostingPathHandler) handler).resolve(request.getUrl());
+                statusCode = getStatusCode(localPath, responseStream, handler.getStatusCode());
+                headers = getResponseHeaders(localPath, request.getUrl().getLastPathSegment(), handler);
+            } else {
+                statusCode = getStatusCode(responseStream, handler.getStatusCode());
+            }
+            return new WebResourceResponse(mimeType, handler.getEncoding(), statusCode, handler.getReasonPhrase(), headers, responseStream);
+        }
+
+        return null;
+    }
+
+    /**
+     * Whether a request may be answered with byte ranges. The app page is always served whole,
+     * as it may be rewritten on the fly to inject the Capacitor JS.
+     */
+    private boolean isRangeable(Uri url, PathHandler handler) {
+        if (isLocalFile(url)) {
+            return true;
+        }
+
+        String path = url.getPath();
+        String lastPathSegment = url.getLastPathSegment();
+        if (path.equals("/") || lastPathSegment == null) {
+            return false;
+        }
+        if (!lastPathSegment.contains(".") && html5mode && !isHostedFile(url, handler)) {
+            return false;
+        }
+        return !(path.endsWith(".html") && jsInjector != null);
+    }
+
+    /**
+     * Serve the byte ranges requested with a {@code Range} header.
+     * @return the response, or null if the whole body should be served instead
+     */
+    private WebResourceResponse handleRangeRequest(WebResourceRequest request, HostingPathHandler handler, String rangeHeader) {
+        Uri url = request.getUrl();
+        LocalPath localPath = handler.resolve(url);
+        Map<String, String> headers = getResponseHeaders(localPath, url.getLastPathSegment(), handler);
+
+        RangeSource source;
+        try {
+            source = handler.openRange(url);
+        } catch (IOException e) {
+            Logger.error("Unable to open asset URL: " + url);
+            return new WebResourceResponse(null, handler.getEncoding(), 404, "Not Found", headers, null);
+        }
+        if (source == null) {
+            return null;
+        }
+
+        try {
+            long length = source.getLength();
+            List<ByteRange> ranges = ByteRange.parse(rangeHeader, length);
+            if (ranges == null) {
+                source.close();
+                return null;
+            }
+
+            headers.put("Accept-Ranges", "bytes");
+            if (ranges.isEmpty()) {
+                source.close();
+                headers.put("Content-Range", "bytes */" + length);
+                headers.put("Content-Length", "0");
+                return new WebResourceResponse(null, handler.getEncoding(), 416, "Range Not Satisfiable", headers, null);
+            }
+
+            String mimeType = mimeTypes.get(url.getPath());
+
+            String responseMimeType = mimeType;
+            String boundary = null;
+            if (ranges.size() == 1) {
+                headers.put("Content-Range", ranges.get(0).toContentRange(length));
+            } else {
+                boundary = "CapacitorByteRanges" + UUID.randomUUID().toString().replace("-", "");
+                responseMimeType = "multipart/byteranges; boundary=" + boundary;
+            }
+            headers.put("Content-Length", String.valueOf(source.getRangesLength(ranges, mimeType, boundary)));
+
             return new WebResourceResponse(
-                mimeType,
+                responseMimeType,
                 handler.getEncoding(),
-                statusCode,
-                handler.getReasonPhrase(),
-                handler.getResponseHeaders(),
-                responseStream
+                206,
+                "Partial Content",
+                headers,
+                source.openRanges(ranges, mimeType, boundary)
             );
+        } catch (IOException e) {
+            Logger.error("Unable to read asset URL: " + url);
+            try {
+                source.close();
+            } catch (IOException ignored) {}
+            return new WebResourceResponse(null, handler.getEncoding(), 500, "Internal Server Error", headers, null);
         }
+    }
 
-        return null;
+    /**
+     * The headers of a response, copied from the handler so they can be changed per response,
+     * with the caching headers of the asset cache policy for hosted assets and files.
+     * @param localPath where the body is read from
+     * @param fileName the last segment of the requested path
+     */
+    private Map<String, String> getResponseHeaders(LocalPath localPath, String fileName, PathHandler handler) {
+        Map<String, String> headers = new HashMap<>(handler.getResponseHeaders());
+        if (cachePolicy == null || localPath.type == LocalPath.CONTENT || localPath.path.startsWith(capacitorFileStart)) {
+            return headers;
+        }
+
+        AssetManifest.Entry entry = getManifestEntry(localPath);
+        // Read once, the bundle can be replaced by another thread
+        WebBundle bundle = this.bundle;
+        WebBundle.Entry bundled = localPath.type == LocalPath.BUNDLE && bundle != null ? bundle.get(localPath.path) : null;
+        if (localPath.type == LocalPath.FILE) {
+            File file = protocolHandler.getFile(localPath.path);
+            cachePolicy.apply(headers, fileName, file.length(), file.lastModified());
+        } else if (bundled != null) {
+            cachePolicy.apply(headers, fileName, bundled.size, bundle.getLastModified());
+        } else if (entry != null) {
+            cachePolicy.apply(headers, fileName, entry.getHashString());
+        } else {
+            cachePolicy.apply(headers, fileName, -1, 0);
+        }
+        return headers;
+    }
+
+    /**
+     * Serve a precompressed sibling of the requested file, like {@code main.js.br}, when the
+     * request accepts its encoding.
+     * @return the response, or null if the file should be served as is
+     */
+    private WebResourceResponse handleEncodedRequest(WebResourceRequest request, HostingPathHandler handler) {
+        LocalPath variant = handler.resolveEncoded(request.getUrl(), request.getRequestHeaders().get("Accept-Encoding"));
+        if (variant == null) {
+            return null;
+        }
+
+        InputStream responseStream;
+        try {
+            responseStream = openCached(variant);
+            if (variant.inflate) {
+                responseStream = new GZIPInputStream(responseStream);
+            }
+        } catch (IOException e) {
+            Logger.error("Unable to open asset URL: " + request.getUrl());
+            return null;
+        }
+
+        Map<String, String> headers = getResponseHeaders(variant, request.getUrl().getLastPathSegment(), handler);
+        headers.put("Vary", "Accept-Encoding");
+        if (!variant.inflate) {
+            headers.put("Content-Encoding", variant.contentEncoding);
+        }
+
+        return new WebResourceResponse(
+            mimeTypes.get(request.getUrl().getPath()),
+            handler.getEncoding(),
+            handler.getStatusCode(),
+            handler.getReasonPhrase(),
+            headers,
+            responseStream
+        );
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header allows a content coding.
+     */
+    static boolean acceptsEncoding(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (String item : acceptEncoding.split(",")) {
+            String[] parts = item.split(";");
+            String token = parts[0].trim();
+            if (!token.equalsIgnoreCase(coding) && !token.equals("*")) {
+                continue;
+            }
+
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        if (Float.parseFloat(parameter.substring(2)) <= 0) {
+                            return false;
+                        }
+                    } catch (NumberFormatException ex) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -529,27 +764,56 @@ public class WebViewLocalServer {
         return null;
     }
 
-    private String getMimeType(String path, InputStream stream) {
-        String mimeType = null;
-        try {
-            mimeType = URLConnection.guessContentTypeFromName(path); // Does not recognize *.js
-            if (mimeType != null && path.endsWith(".js") && mimeType.equals("image/x-icon")) {
-                Logger.debug("We shouldn't be here");
-            }
-            if (mimeType == null) {
-                if (path.endsWith(".js") || path.endsWith(".mjs")) {
-                    // Make sure JS files get the proper mimetype to support ES modules
-                    mimeType = "application/javascript";
-                } else if (path.endsWith(".wasm")) {
-                    mimeType = "application/wasm";
-                } else {
-                    mimeType = URLConnection.guessContentTypeFromStream(stream);
-                }
-            }
-        } catch (Exception ex) {
-            Logger.error("Unable to get mime type" + path, ex);
+    /**
+     * @return the entry of a hosted asset in the asset manifest, or null if it is not listed
+     */
+    private AssetManifest.Entry getManifestEntry(LocalPath localPath) {
+        if (assetManifest == null || localPath.type != LocalPath.ASSET) {
+            return null;
+        }
+        return assetManifest.get(localPath.path);
+    }
+
+    /**
+     * Whether a URL is known from the asset manifest or the web bundle to be a hosted file, so
+     * that a path without an extension is served as is instead of being routed to the app page.
+     */
+    private boolean isHostedFile(Uri url, PathHandler handler) {
+        if (!(handler instanceof HostingPathHandler) || (assetManifest == null && bundle == null)) {
+            return false;
+        }
+
+        LocalPath localPath = ((HostingPathHandler) handler).resolve(url);
+        if (localPath.type == LocalPath.BUNDLE) {
+            return getBundleEntry(localPath.path) != null;
+        }
+        return getManifestEntry(localPath) != null;
+    }
+
+    private WebBundle.Entry getBundleEntry(String path) {
+        WebBundle bundle = this.bundle;
+        return bundle != null ? bundle.get(path) : null;
+    }
+
+    /**
+     * The status of a hosted response. Files of the web root, bundle entries and assets listed in
+     * the asset manifest are looked up without opening them, so that their lazy body is only
+     * opened when the WebView reads it. Other assets, files of the app data and content URLs are
+     * opened to find out whether they exist.
+     */
+    private int getStatusCode(LocalPath localPath, InputStream stream, int defaultCode) {
+        if (localPath.type == LocalPath.CONTENT || localPath.path.startsWith(capacitorFileStart)) {
+            return getStatusCode(stream, defaultCode);
+        }
+
+        switch (localPath.type) {
+            case LocalPath.FILE:
+                return new File(localPath.path).isFile() ? defaultCode : 404;
+            case LocalPath.BUNDLE:
+                return getBundleEntry(localPath.path) != null ? defaultCode : 404;
+            default:
+                return getManifestEntry(localPath) != null ? defaultCode : getStatusCode(stream, defaultCode);
         }
-        return mimeType;
     }
 
     private int getStatusCode(InputStream stream, int defaultCode) {
@@ -577,9 +841,7 @@ public class WebViewLocalServer {
      * @param handler the handler to use for the uri.
      */
     void register(Uri uri, PathHandler handler) {
-        synchronized (uriMatcher) {
-            uriMatcher.addURI(uri.getScheme(), uri.getAuthority(), uri.getPath(), handler);
-        }
+        uriMatcher.addURI(uri.getScheme(), uri.getAuthority(), uri.getPath(), handler);
     }
 
     /**
@@ -594,6 +856,9 @@ public class WebViewLocalServer {
     public void hostAssets(String assetPath) {
         this.isAsset = true;
         this.basePath = assetPath;
+        this.bundle = null;
+        assetCache.clear();
+        assetIndex.clear();
         createHostingDetails();
     }
 
@@ -601,6 +866,7 @@ public class WebViewLocalServer {
      * Hosts the application's files on an https:// URL. Files from the basePath
      * <code>basePath/...</code> will be available under
      * <code>https://{uuid}.androidplatform.net/...</code>.
+     * The basePath may also be a {@link WebBundle} file, whose entries are then served.
      *
      * @param basePath the local path in the application's data folder which will be made
      *                  available by the server (for example "/www").
@@ -609,9 +875,26 @@ public class WebViewLocalServer {
     public void hostFiles(final String basePath) {
         this.isAsset = false;
         this.basePath = basePath;
+        this.bundle = openBundle(basePath);
+        assetCache.clear();
+        assetIndex.clear();
         createHostingDetails();
     }
 
+    private static WebBundle openBundle(String path) {
+        File file = new File(path);
+        if (!WebBundle.isBundle(file)) {
+            return null;
+        }
+
+        try {
+            return WebBundle.open(file);
+        } catch (IOException e) {
+            Logger.error("Unable to open web bundle " + path, e);
+            return null;
+        }
+    }
+
     private void createHostingDetails() {
         final String assetPath = this.basePath;
 
@@ -619,46 +902,8 @@ public class WebViewLocalServer {
             throw new IllegalArgumentException("assetPath cannot contain the '*' character.");
         }
 
-        PathHandler handler = new PathHandler() {
-            @Override
-            public InputStream handle(Uri url) {
-                InputStream stream = null;
-                String path = url.getPath();
-
-                // Pass path to routeProcessor if present
-                RouteProcessor routeProcessor = bridge.getRouteProcessor();
-                boolean ignoreAssetPath = false;
-                if (routeProcessor != null) {
-                    ProcessedRoute processedRoute = bridge.getRouteProcessor().process("", path);
-                    path = processedRoute.getPath();
-                    isAsset = processedRoute.isAsset();
-                    ignoreAssetPath = processedRoute.isIgnoreAssetPath();
-                }
-
-                try {
-                    if (path.startsWith(capacitorContentStart)) {
-                        stream = protocolHandler.openContentUrl(url);
-                    } else if (path.startsWith(capacitorFileStart)) {
-                        stream = protocolHandler.openFile(path);
-                    } else if (!isAsset) {
-                        if (routeProcessor == null) {
-                            path = basePath + url.getPath();
-                        }
-
-                        stream = protocolHandler.openFile(path);
-                    } else if (ignoreAssetPath) {
-                        stream = protocolHandler.openAsset(path);
-                    } else {
-                        stream = protocolHandler.openAsset(assetPath + path);
-                    }
-                } catch (IOException e) {
-                    Logger.error("Unable to open asset URL: " + url);
-                    return null;
-                }
-
-                return stream;
-            }
-        };
+        HostingPathHandler handler = new HostingPathHandler(assetPath);
+        hostingHandler = handler;
 
         for (String authority : authorities) {
             registerUriForScheme(Bridge.CAPACITOR_HTTP_SCHEME, handler, authority);
@@ -682,6 +927,280 @@ public class WebViewLocalServer {
         register(Uri.withAppendedPath(uriPrefix, "**"), handler);
     }
 
+    /**
+     * Serves the hosted assets or files, and the {@code _capacitor_file_} and
+     * {@code _capacitor_content_} URLs.
+     */
+    private class HostingPathHandler extends PathHandler {
+
+        private final String assetPath;
+
+        HostingPathHandler(String assetPath) {
+            this.assetPath = assetPath;
+        }
+
+        @Override
+        public InputStream handle(Uri url) {
+            LocalPath localPath = resolve(url);
+            try {
+                switch (localPath.type) {
+                    case LocalPath.CONTENT:
+                        return protocolHandler.openContentUrl(url);
+                    case LocalPath.FILE:
+                        if (localPath.path.startsWith(capacitorFileStart)) {
+                            // Files of the app data, outside of the web root, are not cached
+                            return protocolHandler.openFile(localPath.path);
+                        }
+                        return openCached(localPath);
+                    case LocalPath.BUNDLE:
+                        return openBundled(localPath.path);
+                    default:
+                        return openCached(localPath);
+                }
+            } catch (IOException e) {
+                Logger.error("Unable to open asset URL: " + url);
+                return null;
+            }
+        }
+
+        /**
+         * Open the body of a URL so that it can be read from any offset.
+         * @return the body, or null if it can only be streamed from its start
+         */
+        RangeSource openRange(Uri url) throws IOException {
+            LocalPath localPath = resolve(url);
+            switch (localPath.type) {
+                case LocalPath.CONTENT:
+                    return protocolHandler.openContentUrlRange(url);
+                case LocalPath.FILE:
+                    return protocolHandler.openFileRange(localPath.path);
+                case LocalPath.BUNDLE:
+                    return getBundle(localPath.path).openRange(localPath.path);
+                default:
+                    return protocolHandler.openAssetRange(localPath.path);
+            }
+        }
+
+        /**
+         * Find a precompressed sibling of a hosted asset or file. Brotli is preferred over gzip,
+         * and a gzip sibling standing in for a missing file is inflated when the request does not
+         * accept gzip.
+         * @param acceptEncoding the {@code Accept-Encoding} header of the request
+         * @return the sibling to serve, or null to serve the URL as is
+         */
+        LocalPath resolveEncoded(Uri url, String acceptEncoding) {
+            return resolveEncoded(url.getPath(), acceptEncoding);
+        }
+
+        LocalPath resolveEncoded(String urlPath, String acceptEncoding) {
+            LocalPath localPath = resolve(urlPath);
+            if (localPath.type == LocalPath.CONTENT || localPath.path.startsWith(capacitorFileStart)) {
+                return null;
+            }
+
+            for (int i = 0; i < CONTENT_ENCODINGS.length; i++) {
+                String variantPath = localPath.path + CONTENT_ENCODING_EXTENSIONS[i];
+                if (acceptsEncoding(acceptEncoding, CONTENT_ENCODINGS[i]) && exists(localPath.type, variantPath)) {
+                    return new LocalPath(localPath.type, variantPath, CONTENT_ENCODINGS[i], false);
+                }
+            }
+
+            String gzipPath = localPath.path + ".gz";
+            if (!exists(localPath.type, localPath.path) && exists(localPath.type, gzipPath)) {
+                return new LocalPath(localPath.type, gzipPath, "gzip", true);
+            }
+            return null;
+        }
+
+        /**
+         * Resolve where a URL is served from, passing it to the route processor if present.
+         */
+        private LocalPath resolve(Uri url) {
+            return resolve(url.getPath());
+        }
+
+        private LocalPath resolve(String urlPath) {
+            String path = urlPath;
+
+            RouteProcessor routeProcessor = bridge.getRouteProcessor();
+            boolean ignoreAssetPath = false;
+            if (routeProcessor != null) {
+                ProcessedRoute processedRoute = bridge.getRouteProcessor().process("", path);
+                path = processedRoute.getPath();
+                isAsset = processedRoute.isAsset();
+                ignoreAssetPath = processedRoute.isIgnoreAssetPath();
+            }
+
+            if (path.startsWith(capacitorContentStart)) {
+                return new LocalPath(LocalPath.CONTENT, path);
+            } else if (path.startsWith(capacitorFileStart)) {
+                return new LocalPath(LocalPath.FILE, path);
+            } else if (!isAsset) {
+                if (routeProcessor == null) {
+                    if (bundle != null) {
+                        return new LocalPath(LocalPath.BUNDLE, urlPath);
+                    }
+                    path = basePath + urlPath;
+                }
+                return new LocalPath(LocalPath.FILE, path);
+            } else if (ignoreAssetPath) {
+                return new LocalPath(LocalPath.ASSET, path);
+            } else {
+                return new LocalPath(LocalPath.ASSET, assetPath + path);
+            }
+        }
+    }
+
+    /**
+     * Whether the links of a page read from there are prefetched. Bundles are already in
+     * memory, and a route processor may not expect to be called from another thread.
+     */
+    private boolean isPrefetched(LocalPath localPath) {
+        boolean cached = localPath.type == LocalPath.ASSET || localPath.type == LocalPath.FILE;
+        return cached && bridge.getRouteProcessor() == null && !localPath.path.startsWith(capacitorFileStart);
+    }
+
+    /**
+     * Read a path linked from the app page into the asset cache, unless it is cached already.
+     * Called by the {@link AssetPrefetcher} on its own threads.
+     */
+    private void prefetch(String path) throws IOException {
+        HostingPathHandler handler = hostingHandler;
+        if (handler == null || bridge.getRouteProcessor() != null) {
+            return;
+        }
+
+        LocalPath localPath = handler.resolveEncoded(path, prefetchEncoding);
+        if (localPath == null) {
+            localPath = handler.resolve(path);
+        }
+        if (!isPrefetched(localPath) || assetCache.contains(getCacheKey(localPath), getCacheVersion(localPath))) {
+            return;
+        }
+
+        openCached(localPath).close();
+    }
+
+    private boolean exists(int type, String path) {
+        if (type == LocalPath.BUNDLE) {
+            return getBundleEntry(path) != null;
+        }
+        return assetIndex.exists(type == LocalPath.ASSET, path);
+    }
+
+    private WebBundle getBundle(String path) throws FileNotFoundException {
+        WebBundle bundle = this.bundle;
+        if (bundle == null) {
+            throw new FileNotFoundException("No web bundle to read " + path + " from");
+        }
+        return bundle;
+    }
+
+    /**
+     * Open an entry of the web bundle, which is already in memory and is not cached.
+     */
+    private InputStream openBundled(String path) throws IOException {
+        return getBundle(path).open(path);
+    }
+
+    /**
+     * Open a hosted asset or file through the asset cache. Bodies small enough are read
+     * whole and cached, files are cached along with their modification time.
+     */
+    private InputStream openCached(LocalPath localPath) throws IOException {
+        if (localPath.type == LocalPath.BUNDLE) {
+            return openBundled(localPath.path);
+        }
+
+        boolean asset = localPath.type == LocalPath.ASSET;
+        String key = getCacheKey(localPath);
+        File file = asset ? null : protocolHandler.getFile(localPath.path);
+        long version = asset ? 0 : file.lastModified();
+
+        byte[] body = assetCache.get(key, version);
+        if (body != null) {
+            return new ByteArrayInputStream(body);
+        }
+
+        InputStream stream = asset ? protocolHandler.openAsset(localPath.path) : protocolHandler.openFile(localPath.path);
+        // The remaining length of an asset stream is exact, and unlike the manifest never stale
+        long length = asset ? stream.available() : file.length();
+        if (!assetCache.accepts(length)) {
+            return stream;
+        }
+
+        try {
+            body = readFully(stream, (int) length);
+        } finally {
+            stream.close();
+        }
+        assetCache.put(key, version, body);
+        return new ByteArrayInputStream(body);
+    }
+
+    private static String getCacheKey(LocalPath localPath) {
+        return (localPath.type == LocalPath.ASSET ? "asset:" : "file:") + localPath.path;
+    }
+
+    /**
+     * @return the version of a body in the asset cache, the modification time for files
+     */
+    private long getCacheVersion(LocalPath localPath) {
+        return localPath.type == LocalPath.ASSET ? 0 : protocolHandler.getFile(localPath.path).lastModified();
+    }
+
+    private static byte[] readFully(InputStream stream, int expectedLength) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(expectedLength);
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            output.write(buffer, 0, read);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * @return the number of requests served from the asset cache
+     */
+    public long getCacheHitCount() {
+        return assetCache.getHitCount();
+    }
+
+    /**
+     * @return the number of requests for hosted assets and files that were not in the asset cache
+     */
+    public long getCacheMissCount() {
+        return assetCache.getMissCount();
+    }
+
+    /**
+     * Where the body of a hosted URL is read from.
+     */
+    private static final class LocalPath {
+
+        static final int CONTENT = 0;
+        static final int FILE = 1;
+        static final int ASSET = 2;
+        static final int BUNDLE = 3;
+
+        final int type;
+        final String path;
+        // The content coding of a precompressed sibling, and whether it must be inflated before being served
+        final String contentEncoding;
+        final boolean inflate;
+
+        LocalPath(int type, String path) {
+            this(type, path, null, false);
+        }
+
+        LocalPath(int type, String path, String contentEncoding, boolean inflate) {
+            this.type = type;
+            this.path = path;
+            this.contentEncoding = contentEncoding;
+            this.inflate = inflate;
+        }
+    }
+
     /**
      * The KitKat WebView reads the InputStream on a separate threadpool. We can use that to
      * parallelize loading.
@@ -32,4 +32,20 @@ public @interface CapacitorPlugin {
      * easy if the plugin only needs basic permission prompting
      */
     Permission[] permissions() default {};
+
+    /**
+     * By default, the methods of a plugin are executed one at a time, in the order
+     * they were called. Set this to true if the plugin is thread safe and its methods
+     * can be executed in parallel. The listener methods inherited from
+     * {@link com.getcapacitor.Plugin} are safe to execute in parallel.
+     */
+    boolean concurrent() default false;
+
+    /**
+     * When plugins are loaded lazily (see the android.lazyPluginLoading config), the plugin is
+     * only instantiated and loaded when it is first needed. Set this to true if the plugin must
+     * be loaded on startup, for instance because it registers JavaScript interfaces, listeners
+     * or activity result callbacks from {@link com.getcapacitor.Plugin#load()}.
+     */
+    boolean loadOnStartup() default false;
 }
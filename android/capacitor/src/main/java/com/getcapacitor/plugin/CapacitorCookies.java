@@ -13,7 +13,7 @@ import java.net.HttpCookie;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 
-@CapacitorPlugin
+@CapacitorPlugin(loadOnStartup = true)
 public class CapacitorCookies extends Plugin {
 
     CapacitorCookieManager cookieManager;
@@ -20,7 +20,8 @@ import java.util.concurrent.Executors;
     permissions = {
         @Permission(strings = { Manifest.permission.WRITE_EXTERNAL_STORAGE }, alias = "HttpWrite"),
         @Permission(strings = { Manifest.permission.READ_EXTERNAL_STORAGE }, alias = "HttpRead")
-    }
+    },
+    loadOnStartup = true
 )
 public class CapacitorHttp extends Plugin {
 
@@ -36,6 +36,11 @@ public class WebView extends Plugin {
         call.resolve(ret);
     }
 
+    @PluginMethod
+    public void getStartupTimeline(PluginCall call) {
+        call.resolve(bridge.getStartupTimeline().toJSObject());
+    }
+
     @PluginMethod
     public void persistServerBasePath(PluginCall call) {
         String path = bridge.getServerBasePath();
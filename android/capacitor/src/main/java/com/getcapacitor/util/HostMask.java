@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.TreeSet;
 
 public interface HostMask {
     boolean matches(String host);
@@ -23,13 +24,14 @@ public interface HostMask {
 
     class Simple implements HostMask {
 
-        private final List<String> maskParts;
+        // The labels of the mask from the last one, compared in place with the labels of hosts
+        private final String[] labels;
 
         private Simple(List<String> maskParts) {
             if (maskParts == null) {
                 throw new IllegalArgumentException("Mask parts can not be null");
             }
-            this.maskParts = maskParts;
+            this.labels = maskParts.toArray(new String[0]);
         }
 
         static Simple parse(String mask) {
@@ -42,36 +44,70 @@ public interface HostMask {
             if (host == null) {
                 return false;
             }
-            List<String> hostParts = Util.splitAndReverse(host);
-            int hostSize = hostParts.size();
-            int maskSize = maskParts.size();
+            int end = Util.labelsEnd(host);
+            int hostSize = Util.countLabels(host, end);
+            int maskSize = labels.length;
             if (maskSize > 1 && hostSize != maskSize) {
                 return false;
             }
 
             int minSize = Math.min(hostSize, maskSize);
 
+            int labelEnd = end;
             for (int i = 0; i < minSize; i++) {
-                String maskPart = maskParts.get(i);
-                String hostPart = hostParts.get(i);
-                if (!Util.matches(maskPart, hostPart)) {
+                int labelStart = host.lastIndexOf('.', labelEnd - 1) + 1;
+                if (!Util.matches(labels[i], host, labelStart, labelEnd)) {
                     return false;
                 }
+                labelEnd = labelStart - 1;
             }
             return true;
         }
+
+        /**
+         * @return the number of labels at the end of the mask before its last wildcard
+         */
+        int getSuffixSize() {
+            int size = 0;
+            while (size < labels.length && !"*".equals(labels[size])) {
+                size++;
+            }
+            return size;
+        }
+
+        /**
+         * @return the labels at the end of the mask before its last wildcard, as in a host
+         */
+        String getSuffix() {
+            StringBuilder suffix = new StringBuilder();
+            for (int i = getSuffixSize() - 1; i >= 0; i--) {
+                suffix.append(labels[i]);
+                if (i > 0) {
+                    suffix.append('.');
+                }
+            }
+            return suffix.toString();
+        }
     }
 
     class Any implements HostMask {
 
+        // Past this many masks, hosts are only matched against the masks sharing their suffix
+        private static final int INDEX_THRESHOLD = 8;
+
         private final List<? extends HostMask> masks;
+        private final SuffixIndex index;
 
         Any(List<? extends HostMask> masks) {
             this.masks = masks;
+            this.index = masks.size() > INDEX_THRESHOLD ? new SuffixIndex(masks) : null;
         }
 
         @Override
         public boolean matches(String host) {
+            if (index != null) {
+                return index.matches(host);
+            }
             for (HostMask mask : masks) {
                 if (mask.matches(host)) {
                     return true;
@@ -89,6 +125,111 @@ public interface HostMask {
         }
     }
 
+    /**
+     * Masks hashed by the labels at their end, up to their last wildcard, so a host is only
+     * matched against the masks ending like it. Masks ending with a wildcard are always tried.
+     */
+    class SuffixIndex {
+
+        private final List<HostMask> unindexed = new ArrayList<>();
+        private final List<Simple> indexed = new ArrayList<>();
+        private final Entry[] table;
+        private final int[] suffixSizes;
+
+        SuffixIndex(List<? extends HostMask> masks) {
+            TreeSet<Integer> sizes = new TreeSet<>();
+            for (HostMask mask : masks) {
+                if (mask instanceof Simple && ((Simple) mask).getSuffixSize() > 0) {
+                    indexed.add((Simple) mask);
+                    sizes.add(((Simple) mask).getSuffixSize());
+                } else {
+                    unindexed.add(mask);
+                }
+            }
+
+            int capacity = Integer.highestOneBit(Math.max(1, indexed.size()) * 2 - 1) * 2;
+            table = new Entry[capacity];
+            for (Simple mask : indexed) {
+                String suffix = mask.getSuffix();
+                int hash = Util.hash(suffix, 0, suffix.length());
+                int slot = hash & (table.length - 1);
+                table[slot] = new Entry(suffix, hash, mask.getSuffixSize(), mask, table[slot]);
+            }
+
+            suffixSizes = new int[sizes.size()];
+            int i = 0;
+            for (int size : sizes) {
+                suffixSizes[i++] = size;
+            }
+        }
+
+        boolean matches(String host) {
+            if (host == null) {
+                return false;
+            }
+            for (HostMask mask : unindexed) {
+                if (mask.matches(host)) {
+                    return true;
+                }
+            }
+
+            int end = Util.labelsEnd(host);
+            int hostSize = Util.countLabels(host, end);
+            if (hostSize == 0) {
+                // A host made of dots only, which has no suffix to look up
+                for (Simple mask : indexed) {
+                    if (mask.matches(host)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            int dot = end;
+            int seen = 0;
+            for (int size : suffixSizes) {
+                if (size > hostSize) {
+                    break;
+                }
+                while (seen < size) {
+                    dot = host.lastIndexOf('.', dot - 1);
+                    seen++;
+                }
+
+                int start = dot + 1;
+                int hash = Util.hash(host, start, end);
+                for (Entry entry = table[hash & (table.length - 1)]; entry != null; entry = entry.next) {
+                    if (
+                        entry.hash == hash &&
+                        entry.size == size &&
+                        Util.matches(entry.suffix, host, start, end) &&
+                        entry.mask.matches(host)
+                    ) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static final class Entry {
+
+            final String suffix;
+            final int hash;
+            final int size;
+            final Simple mask;
+            final Entry next;
+
+            Entry(String suffix, int hash, int size, Simple mask, Entry next) {
+                this.suffix = suffix;
+                this.hash = hash;
+                this.size = size;
+                this.mask = mask;
+                this.next = next;
+            }
+        }
+    }
+
     class Nothing implements HostMask {
 
         @Override
@@ -111,6 +252,60 @@ public interface HostMask {
             }
         }
 
+        /**
+         * Match a mask label against the label of a host between {@code start} and {@code end},
+         * ignoring case, without copying the label.
+         */
+        static boolean matches(String mask, String host, int start, int end) {
+            if ("*".equals(mask)) {
+                return true;
+            }
+            int length = end - start;
+            return mask.length() == length && host.regionMatches(true, start, mask, 0, length);
+        }
+
+        /**
+         * @return the end of the labels of a host, which like {@link String#split(String)}
+         *         ignores trailing empty labels
+         */
+        static int labelsEnd(String host) {
+            int end = host.length();
+            while (end > 0 && host.charAt(end - 1) == '.') {
+                end--;
+            }
+            return end;
+        }
+
+        /**
+         * @return the number of labels of a host, as the size of {@link #splitAndReverse(String)}
+         */
+        static int countLabels(String host, int end) {
+            if (host.isEmpty()) {
+                return 1;
+            }
+            if (end == 0) {
+                return 0;
+            }
+            int count = 1;
+            for (int i = 0; i < end; i++) {
+                if (host.charAt(i) == '.') {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * A hash of a part of a string that is equal for parts equal ignoring case.
+         */
+        static int hash(String string, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(string.charAt(i)));
+            }
+            return hash;
+        }
+
         static List<String> splitAndReverse(String string) {
             if (string == null) {
                 throw new IllegalArgumentException("Can not split null argument");
@@ -22,6 +22,11 @@ public class Log {
         return 0;
     }
 
+    public static int e(String tag, String msg, Throwable tr) {
+        System.out.println("ERROR: " + tag + ": " + msg);
+        return 0;
+    }
+
     public static int v(String tag, String msg) {
         System.out.println("VERBOSE: " + tag + ": " + msg);
         return 0;
@@ -0,0 +1,55 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class AssetCachePolicyTest {
+
+    private final AssetCachePolicy policy = new AssetCachePolicy(AssetCachePolicy.DEFAULT_IMMUTABLE_PATTERN, 1700000000000L);
+
+    @Test
+    public void recognizesFingerprintedNames() {
+        assertTrue(policy.isImmutable("main.3f2a1c9b.js"));
+        assertTrue(policy.isImmutable("index-BxYz12ab.js"));
+        assertTrue(policy.isImmutable("styles.0a1b2c3d4e5f.css"));
+
+        assertFalse(policy.isImmutable("index.html"));
+        assertFalse(policy.isImmutable("main.js"));
+        assertFalse(policy.isImmutable("my-component.js"));
+        assertFalse(policy.isImmutable("polyfills-12345678.js"));
+        assertFalse(policy.isImmutable(null));
+    }
+
+    @Test
+    public void fallsBackToTheDefaultPattern() {
+        AssetCachePolicy invalid = new AssetCachePolicy("[", 0);
+        assertTrue(invalid.isImmutable("main.3f2a1c9b.js"));
+    }
+
+    @Test
+    public void setsCachingHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Cache-Control", "no-cache");
+
+        policy.apply(headers, "main.3f2a1c9b.js", -1, 0);
+        assertEquals(AssetCachePolicy.CACHE_CONTROL_IMMUTABLE, headers.get("Cache-Control"));
+        assertEquals("Tue, 14 Nov 2023 22:13:20 GMT", headers.get("Last-Modified"));
+
+        policy.apply(headers, "index.html", 1024, 1800000000000L);
+        assertEquals(AssetCachePolicy.CACHE_CONTROL_REVALIDATE, headers.get("Cache-Control"));
+        assertEquals("Fri, 15 Jan 2027 08:00:00 GMT", headers.get("Last-Modified"));
+    }
+
+    @Test
+    public void validatorsChangeWithTheFile() {
+        assertNotEquals(policy.getETag(1024, 1800000000000L), policy.getETag(1025, 1800000000000L));
+        assertNotEquals(policy.getETag(1024, 1800000000000L), policy.getETag(1024, 1800000001000L));
+        assertNotEquals(policy.getETag(-1, 0), new AssetCachePolicy(null, 1700000001000L).getETag(-1, 0));
+    }
+}
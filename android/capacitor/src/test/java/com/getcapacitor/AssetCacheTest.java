@@ -0,0 +1,76 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.content.ComponentCallbacks2;
+import org.junit.Test;
+
+public class AssetCacheTest {
+
+    @Test
+    public void countsHitsAndMisses() {
+        AssetCache cache = new AssetCache(1000);
+        byte[] body = new byte[10];
+
+        assertNull(cache.get("asset:public/index.html", 0));
+        cache.put("asset:public/index.html", 0, body);
+        assertArrayEquals(body, cache.get("asset:public/index.html", 0));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void missesWhenTheVersionChanged() {
+        AssetCache cache = new AssetCache(1000);
+        cache.put("file:/data/www/main.js", 100, new byte[10]);
+
+        assertNull(cache.get("file:/data/www/main.js", 200));
+        assertNotNull(cache.get("file:/data/www/main.js", 100));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedEntries() {
+        AssetCache cache = new AssetCache(1000);
+        cache.put("a", 0, new byte[250]);
+        cache.put("b", 0, new byte[250]);
+        cache.put("c", 0, new byte[250]);
+        cache.get("a", 0);
+        cache.put("d", 0, new byte[250]);
+        cache.put("e", 0, new byte[250]);
+
+        assertNull(cache.get("b", 0));
+        assertNotNull(cache.get("a", 0));
+        assertNotNull(cache.get("e", 0));
+        assertTrue(cache.getSize() <= 1000);
+    }
+
+    @Test
+    public void rejectsLargeBodies() {
+        AssetCache cache = new AssetCache(1000);
+        assertFalse(cache.accepts(251));
+        assertFalse(cache.accepts(-1));
+
+        cache.put("large", 0, new byte[251]);
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void releasesMemoryWhenTrimmed() {
+        AssetCache cache = new AssetCache(1000);
+        cache.put("a", 0, new byte[250]);
+        cache.put("b", 0, new byte[250]);
+        cache.put("c", 0, new byte[250]);
+
+        cache.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+        assertTrue(cache.getSize() <= 500);
+
+        cache.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+        assertEquals(0, cache.getSize());
+    }
+}
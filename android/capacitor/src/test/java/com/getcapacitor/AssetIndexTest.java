@@ -0,0 +1,79 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.content.res.AssetManager;
+import java.io.File;
+import java.io.IOException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AssetIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void findsFilesFromDirectoryListings() throws IOException {
+        File root = folder.newFolder("www");
+        new File(root, "main.js").createNewFile();
+        new File(root, "main.js.br").createNewFile();
+
+        AssetIndex index = new AssetIndex(null, null);
+        assertTrue(index.exists(false, root.getPath() + "/main.js"));
+        assertTrue(index.exists(false, root.getPath() + "/main.js.br"));
+        assertFalse(index.exists(false, root.getPath() + "/main.js.gz"));
+        assertFalse(index.exists(false, root.getPath() + "/missing/main.js"));
+        assertFalse(index.exists(false, root.getPath() + "/"));
+    }
+
+    @Test
+    public void skipsDirectoriesInFileListings() throws IOException {
+        File root = folder.newFolder("www");
+        new File(root, "assets").mkdir();
+        new File(root, "assets.gz").mkdir();
+
+        AssetIndex index = new AssetIndex(null, null);
+        assertFalse(index.exists(false, root.getPath() + "/assets"));
+        assertFalse(index.exists(false, root.getPath() + "/assets.gz"));
+    }
+
+    @Test
+    public void looksAssetsUpInManifest() throws IOException {
+        AssetManager assets = mock(AssetManager.class);
+        AssetIndex index = new AssetIndex(assets, AssetManifestTest.sample());
+        assertTrue(index.exists(true, "public/assets/main.js.br"));
+        verify(assets, never()).list(anyString());
+    }
+
+    @Test
+    public void listsAssetsMissingFromTheManifest() throws IOException {
+        // Added to the assets after the manifest was written
+        AssetManager assets = mock(AssetManager.class);
+        when(assets.list("public/assets")).thenReturn(new String[] { "main.js", "main.js.br", "main.js.gz" });
+
+        AssetIndex index = new AssetIndex(assets, AssetManifestTest.sample());
+        assertTrue(index.exists(true, "public/assets/main.js.gz"));
+        assertFalse(index.exists(true, "public/assets/vendor.js"));
+    }
+
+    @Test
+    public void keepsListingsUntilCleared() throws IOException {
+        File root = folder.newFolder("www");
+        AssetIndex index = new AssetIndex(null, null);
+        assertFalse(index.exists(false, root.getPath() + "/main.js"));
+
+        new File(root, "main.js").createNewFile();
+        assertFalse(index.exists(false, root.getPath() + "/main.js"));
+
+        index.clear();
+        assertTrue(index.exists(false, root.getPath() + "/main.js"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+public class AssetManifestTest {
+
+    @Test
+    public void readsEntries() throws IOException {
+        AssetManifest manifest = sample();
+
+        AssetManifest.Entry main = manifest.get("public/assets/main.js");
+        assertEquals(1234, main.size);
+        assertEquals("00000000cafebabe", main.getHashString());
+        assertEquals(AssetManifest.FLAG_BROTLI, main.flags);
+
+        assertEquals(500, manifest.get("/public/index.html").size);
+        assertNull(manifest.get("public/missing.js"));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherFormats() throws IOException {
+        AssetManifest.read(new ByteArrayInputStream("{\"not\":\"binary\"}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static AssetManifest sample() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeBytes("CAPM");
+        out.writeByte(2);
+        writeString(out, "public");
+        out.writeInt(5);
+        writeEntry(out, "LICENSE", 10, 0);
+        writeEntry(out, "assets/main.js", 1234, AssetManifest.FLAG_BROTLI);
+        writeEntry(out, "assets/main.js.br", 300, 0);
+        writeEntry(out, "index.html", 500, 0);
+        writeEntry(out, "plugins/a/b.js", 20, 0);
+        return AssetManifest.read(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    private static void writeEntry(DataOutputStream out, String path, long size, int flags) throws IOException {
+        writeString(out, path);
+        out.writeLong(size);
+        out.writeLong(0xCAFEBABEL);
+        out.writeByte(flags);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+}
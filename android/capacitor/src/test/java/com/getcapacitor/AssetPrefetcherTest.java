@@ -0,0 +1,90 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AssetPrefetcherTest {
+
+    private static final byte[] PAGE = (
+        "<html><head><script type=\"module\" src=\"/main.js\"></script>" +
+        "<link rel=\"stylesheet\" href=\"/main.css\"></head></html>"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void prefetchesLinksWhileThePageIsRead() throws IOException {
+        List<String> loaded = new ArrayList<>();
+        AssetPrefetcher prefetcher = new AssetPrefetcher(folder.getRoot(), loaded::add, Runnable::run);
+
+        InputStream page = prefetcher.scan(new ByteArrayInputStream(PAGE), "asset:public/index.html", "/");
+        byte[] head = new byte[60];
+        assertEquals(60, page.read(head));
+        assertEquals(Collections.singletonList("/main.js"), loaded);
+
+        assertArrayEquals(Arrays.copyOfRange(PAGE, 60, PAGE.length), readToEnd(page));
+        assertEquals(Arrays.asList("/main.js", "/main.css"), loaded);
+    }
+
+    @Test
+    public void recordsLinksForTheNextLaunch() throws IOException {
+        AssetPrefetcher first = new AssetPrefetcher(folder.getRoot(), path -> {}, Runnable::run);
+        readToEnd(first.scan(new ByteArrayInputStream(PAGE), "asset:public/index.html", "/"));
+
+        List<String> loaded = new ArrayList<>();
+        AssetPrefetcher next = new AssetPrefetcher(folder.getRoot(), loaded::add, Runnable::run);
+        next.start("asset:public/index.html");
+        assertEquals(Arrays.asList("/main.js", "/main.css"), loaded);
+
+        loaded.clear();
+        next.start("file:/data/www/index.html");
+        assertEquals(Collections.emptyList(), loaded);
+    }
+
+    @Test
+    public void keepsPartialReadsUnrecorded() throws IOException {
+        AssetPrefetcher prefetcher = new AssetPrefetcher(folder.getRoot(), path -> {}, Runnable::run);
+        InputStream page = prefetcher.scan(new ByteArrayInputStream(PAGE), "asset:public/index.html", "/");
+        page.read(new byte[PAGE.length]);
+        page.close();
+
+        AssetPrefetcher next = new AssetPrefetcher(folder.getRoot(), path -> {}, Runnable::run);
+        assertEquals(Collections.emptyList(), next.getRecord("asset:public/index.html"));
+    }
+
+    @Test
+    public void ignoresRecordsOfOtherPages() throws IOException {
+        // Both keys have the same hash, so they share a file
+        assertEquals("file:Aa".hashCode(), "file:BB".hashCode());
+        AssetPrefetcher prefetcher = new AssetPrefetcher(folder.getRoot(), path -> {}, Runnable::run);
+        readToEnd(prefetcher.scan(new ByteArrayInputStream(PAGE), "file:Aa", "/"));
+
+        AssetPrefetcher next = new AssetPrefetcher(folder.getRoot(), path -> {}, Runnable::run);
+        assertEquals(Collections.emptyList(), next.getRecord("file:BB"));
+        assertEquals(Arrays.asList("/main.js", "/main.css"), next.getRecord("file:Aa"));
+    }
+
+    private static byte[] readToEnd(InputStream input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[7];
+        int read;
+        while ((read = input.read(buffer, 0, buffer.length)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,56 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class BridgeStartupTest {
+
+    @Test
+    public void phasesRunConcurrently() {
+        BridgeStartup startup = new BridgeStartup(new StartupTimeline());
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        Future<Boolean> first = startup.submit("first", () -> {
+            bothStarted.countDown();
+            return bothStarted.await(5, TimeUnit.SECONDS);
+        });
+        Future<Boolean> second = startup.submit("second", () -> {
+            bothStarted.countDown();
+            return bothStarted.await(5, TimeUnit.SECONDS);
+        });
+
+        assertTrue(startup.join("first", first));
+        assertTrue(startup.join("second", second));
+        startup.finish();
+    }
+
+    @Test
+    public void failedPhaseJoinsToNull() {
+        BridgeStartup startup = new BridgeStartup(new StartupTimeline());
+        Future<String> phase = startup.submit("failing", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertNull(startup.join("failing", phase));
+        startup.finish();
+    }
+
+    @Test
+    public void reportsPhaseTimings() {
+        BridgeStartup startup = new BridgeStartup(new StartupTimeline());
+        assertEquals("done", startup.join("phase", startup.submit("phase", () -> "done")));
+        startup.finish();
+
+        Map<String, Long> timings = startup.getTimings();
+        assertTrue(timings.containsKey("phase"));
+        assertTrue(timings.containsKey("phase (wait)"));
+        assertTrue(timings.containsKey("total"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.junit.Test;
+
+public class ByteRangeTest {
+
+    @Test
+    public void parsesSingleRanges() {
+        assertRange(ByteRange.parse("bytes=0-499", 1000), 0, 499);
+        assertRange(ByteRange.parse("bytes=500-", 1000), 500, 999);
+        assertRange(ByteRange.parse("bytes=-200", 1000), 800, 999);
+        assertRange(ByteRange.parse("Bytes=900-5000", 1000), 900, 999);
+        assertRange(ByteRange.parse("bytes=-5000", 1000), 0, 999);
+    }
+
+    @Test
+    public void parsesMultipleRanges() {
+        List<ByteRange> ranges = ByteRange.parse("bytes=0-9, 20-29,-5", 100);
+        assertEquals(3, ranges.size());
+        assertEquals(20, ranges.get(1).start);
+        assertEquals(29, ranges.get(1).end);
+        assertEquals(95, ranges.get(2).start);
+        assertEquals(5, ranges.get(2).getLength());
+    }
+
+    @Test
+    public void skipsUnsatisfiableRanges() {
+        assertTrue(ByteRange.parse("bytes=1000-", 1000).isEmpty());
+        assertTrue(ByteRange.parse("bytes=-0", 1000).isEmpty());
+        assertTrue(ByteRange.parse("bytes=0-", 0).isEmpty());
+        assertEquals(1, ByteRange.parse("bytes=2000-3000, 0-0", 1000).size());
+    }
+
+    @Test
+    public void ignoresInvalidHeaders() {
+        assertNull(ByteRange.parse("items=0-10", 1000));
+        assertNull(ByteRange.parse("bytes=10-5", 1000));
+        assertNull(ByteRange.parse("bytes=abc", 1000));
+        assertNull(ByteRange.parse("bytes=1-a", 1000));
+        assertNull(ByteRange.parse("bytes=-", 1000));
+    }
+
+    @Test
+    public void formatsContentRange() {
+        assertEquals("bytes 0-499/1000", new ByteRange(0, 499).toContentRange(1000));
+    }
+
+    private static void assertRange(List<ByteRange> ranges, long start, long end) {
+        assertEquals(1, ranges.size());
+        assertEquals(start, ranges.get(0).start);
+        assertEquals(end, ranges.get(0).end);
+    }
+}
@@ -0,0 +1,79 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import org.json.JSONException;
+import org.junit.Test;
+
+public class CallEnvelopeTest {
+
+    @Test
+    public void readsTheEnvelopeAndKeepsTheOptionsRaw() throws JSONException {
+        String options = "{\"path\":\"a}\\\"b\",\"list\":[1,{\"c\":[]}],\"n\":null}";
+        CallEnvelope envelope = CallEnvelope.parse(
+            "{\"callbackId\":\"12\",\"pluginId\":\"Filesystem\",\"methodName\":\"writeFile\",\"options\":" + options + "}"
+        );
+        assertNull(envelope.type);
+        assertEquals("12", envelope.callbackId);
+        assertEquals("Filesystem", envelope.pluginId);
+        assertEquals("writeFile", envelope.methodName);
+        assertEquals(options, envelope.options);
+    }
+
+    @Test
+    public void readsEscapedAndMissingFields() throws JSONException {
+        CallEnvelope envelope = CallEnvelope.parse(
+            " { \"type\" : \"js.error\" , \"extra\" : [\"]\"] , \"pluginId\" : \"A\\u0042\\n\" , \"callbackId\" : 3 } "
+        );
+        assertEquals("js.error", envelope.type);
+        assertEquals("AB\n", envelope.pluginId);
+        assertNull(envelope.callbackId);
+        assertNull(envelope.methodName);
+        assertNull(envelope.options);
+    }
+
+    @Test
+    public void splitsBatches() throws JSONException {
+        assertEquals(
+            Arrays.asList("{\"methodName\":\"a\",\"options\":{\"s\":\"],[\"}}", "{\"methodName\":\"b\"}"),
+            CallEnvelope.split("[{\"methodName\":\"a\",\"options\":{\"s\":\"],[\"}}, {\"methodName\":\"b\"}]")
+        );
+        assertTrue(CallEnvelope.split(" [ ] ").isEmpty());
+    }
+
+    @Test
+    public void rejectsMalformedEnvelopes() {
+        for (String json : Arrays.asList("", "[]", "{\"pluginId\":\"A\"", "{\"options\":{\"a\":1}", "{\"a\":}", "{\"a\":1} x")) {
+            try {
+                CallEnvelope.parse(json);
+                fail("Parsed " + json);
+            } catch (JSONException ex) {
+                // Expected
+            }
+        }
+    }
+
+    @Test
+    public void parsesTheOptionsOfCallsOnFirstRead() {
+        String options = "{\"name\":\"a\",\"count\":2}";
+        PluginCall call = new PluginCall(null, "id", "1", "method", options, null);
+        assertSame(options, call.getRawData());
+        assertEquals("a", call.getString("name"));
+        assertEquals(2, call.getInt("count").intValue());
+        assertSame(call.getData(), call.getData());
+
+        call.getData().put("count", 3);
+        assertTrue(call.getRawData().contains("\"count\":3"));
+    }
+
+    @Test
+    public void ignoresOptionsOtherThanObjects() {
+        assertEquals(0, new PluginCall(null, "id", "1", "method", (String) null, null).getData().length());
+        assertEquals(0, new PluginCall(null, "id", "1", "method", "[1]", null).getData().length());
+    }
+}
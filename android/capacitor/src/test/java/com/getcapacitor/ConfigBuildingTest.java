@@ -3,6 +3,7 @@ package com.getcapacitor;
 import static org.junit.Assert.*;
 
 import android.app.Activity;
+import java.util.Collections;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.Before;
@@ -55,6 +56,12 @@ public class ConfigBuildingTest {
                 .setPluginsConfiguration(pluginConfig)
                 .setServerUrl("http://www.google.com")
                 .setResolveServiceWorkerRequests(false)
+                .setBatchBridgeResponses(true)
+                .setLazyPluginLoading(true)
+                .setStartupTracing(true)
+                .setAssetCaching(true)
+                .setImmutableAssetPattern("^.+\\.hashed\\.js$")
+                .setMimeTypes(Collections.singletonMap("glb", "model/gltf-binary"))
                 .create();
         } catch (Exception e) {
             fail();
@@ -75,6 +82,12 @@ public class ConfigBuildingTest {
         assertEquals("red", config.getBackgroundColor());
         assertEquals("http://www.google.com", config.getServerUrl());
         assertFalse(config.isResolveServiceWorkerRequests());
+        assertTrue(config.isBatchingBridgeResponses());
+        assertTrue(config.isLazyPluginLoading());
+        assertTrue(config.isStartupTracing());
+        assertTrue(config.isAssetCaching());
+        assertEquals("^.+\\.hashed\\.js$", config.getImmutableAssetPattern());
+        assertEquals("model/gltf-binary", config.getMimeTypes().get("glb"));
     }
 
     @Test
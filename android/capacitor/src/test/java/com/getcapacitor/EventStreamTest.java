@@ -0,0 +1,92 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.webkit.WebMessageCompat;
+import androidx.webkit.WebMessagePortCompat;
+import java.lang.reflect.InvocationHandler;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class EventStreamTest {
+
+    @Test
+    public void holdsEventsUntilOpen() {
+        EventStream stream = new EventStream("Motion", "accel");
+        assertTrue(stream.post(new JSObject().put("x", 1)));
+        assertTrue(stream.post(new JSObject().put("x", 2)));
+
+        RecordingPort port = new RecordingPort();
+        stream.open(port);
+        assertTrue(stream.post(new JSObject().put("x", 3)));
+        assertEquals(Arrays.asList("{\"x\":1}", "{\"x\":2}", "{\"x\":3}"), port.messages);
+    }
+
+    @Test
+    public void closesThePort() {
+        EventStream stream = new EventStream("Motion", "accel");
+        RecordingPort port = new RecordingPort();
+        stream.open(port);
+        stream.close();
+        assertTrue(port.closed);
+        assertFalse(stream.post(new JSObject().put("x", 1)));
+        assertTrue(port.messages.isEmpty());
+    }
+
+    @Test
+    public void closesPortsOpenedAfterTheStream() {
+        EventStream stream = new EventStream("Motion", "accel");
+        stream.post(new JSObject().put("x", 1));
+        stream.close();
+
+        RecordingPort port = new RecordingPort();
+        stream.open(port);
+        assertTrue(port.closed);
+        assertTrue(port.messages.isEmpty());
+    }
+
+    @Test
+    public void namesTheStreamInTheHandshake() throws Exception {
+        String handshake = new EventStream("Motion", "accel").getHandshake();
+        assertTrue(handshake.startsWith(EventStream.HANDSHAKE_PREFIX));
+        JSObject stream = new JSObject(handshake.substring(EventStream.HANDSHAKE_PREFIX.length()));
+        assertEquals("Motion", stream.getString("pluginId"));
+        assertEquals("accel", stream.getString("eventName"));
+    }
+
+    private static class RecordingPort extends WebMessagePortCompat {
+
+        final List<String> messages = new ArrayList<>();
+        boolean closed;
+
+        @Override
+        public void postMessage(WebMessageCompat message) {
+            messages.add(message.getData());
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public void setWebMessageCallback(WebMessageCallbackCompat callback) {}
+
+        @Override
+        public void setWebMessageCallback(android.os.Handler handler, WebMessageCallbackCompat callback) {}
+
+        @Override
+        public android.webkit.WebMessagePort getFrameworkPort() {
+            return null;
+        }
+
+        @Override
+        public InvocationHandler getInvocationHandler() {
+            return null;
+        }
+    }
+}
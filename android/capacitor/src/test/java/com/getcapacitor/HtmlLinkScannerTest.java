@@ -0,0 +1,94 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class HtmlLinkScannerTest {
+
+    @Test
+    public void findsModulesAndStylesheets() {
+        String html =
+            "<!doctype html><html><head>" +
+            "<script type=\"module\" crossorigin src=\"/assets/index-3f2a1c9b.js\"></script>" +
+            "<link rel=\"modulepreload\" href=\"/assets/vendor.js\">" +
+            "<link rel=stylesheet href=assets/index.css>" +
+            "<link rel=\"icon\" href=\"/favicon.ico\">" +
+            "<script src=\"/classic.js\"></script>" +
+            "</head><body></body></html>";
+        assertEquals(Arrays.asList("/assets/index-3f2a1c9b.js", "/assets/vendor.js", "/assets/index.css"), scan("/", html));
+    }
+
+    @Test
+    public void notifiesLinksAsTheyAreFound() {
+        final List<String> found = new ArrayList<>();
+        HtmlLinkScanner scanner = new HtmlLinkScanner("/", found::add);
+        byte[] first = "<head><script type=module src=/a.js></script><link rel=stylesh".getBytes(StandardCharsets.UTF_8);
+        scanner.write(first, 0, first.length);
+        assertEquals(Collections.singletonList("/a.js"), found);
+
+        byte[] second = "eet href=/b.css></head>".getBytes(StandardCharsets.UTF_8);
+        scanner.write(second, 0, second.length);
+        assertEquals(Arrays.asList("/a.js", "/b.css"), found);
+    }
+
+    @Test
+    public void resolvesRelativeLinks() {
+        String html = "<link rel=stylesheet href=\"./a.css\"><link rel=stylesheet href=\"../b.css?v=1#x\">";
+        assertEquals(Arrays.asList("/app/a.css", "/b.css"), scan("/app/page", html));
+
+        String based = "<base href=\"/root/\"><script type=\"module\" src=\"main.js\"></script>";
+        assertEquals(Collections.singletonList("/root/main.js"), scan("/", based));
+    }
+
+    @Test
+    public void skipsOtherOrigins() {
+        String html =
+            "<link rel=stylesheet href=\"https://cdn.example.com/a.css\">" +
+            "<link rel=stylesheet href=\"//cdn.example.com/b.css\">" +
+            "<link rel=stylesheet href=\"/../../etc/c.css\">" +
+            "<link rel=\"alternate stylesheet\" href=\"/d.css\">";
+        assertEquals(Collections.emptyList(), scan("/", html));
+    }
+
+    @Test
+    public void skipsCommentsAndRawText() {
+        String html =
+            "<!-- <script type=\"module\" src=\"/commented.js\"></script> -->" +
+            "<script>document.write('<link rel=stylesheet href=/written.css>')</script>" +
+            "<style>a[title=\"<link rel=stylesheet href=/styled.css>\"]{}</style>" +
+            "<div title=\"<link rel=stylesheet href=/attribute.css>\"></div>" +
+            "<SCRIPT TYPE=\"Module\" SRC=\"/upper.js\"></SCRIPT>";
+        assertEquals(Collections.singletonList("/upper.js"), scan("/", html));
+    }
+
+    @Test
+    public void reportsEveryLinkOnce() {
+        String html = "<link rel=modulepreload href=/a.js><script type=module src=/a.js></script>";
+        assertEquals(Collections.singletonList("/a.js"), scan("/", html));
+    }
+
+    @Test
+    public void parsesAttributes() {
+        Map<String, String> attributes = HtmlLinkScanner.parseAttributes("link rel = 'x'  HREF=\"/a?b=1&amp;c=2\" disabled /", 4);
+        assertEquals("x", attributes.get("rel"));
+        assertEquals("/a?b=1&c=2", attributes.get("href"));
+        assertEquals("", attributes.get("disabled"));
+    }
+
+    private static List<String> scan(String documentPath, String html) {
+        HtmlLinkScanner scanner = new HtmlLinkScanner(documentPath, null);
+        byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+        // Byte by byte, so every tag is cut
+        for (int i = 0; i < bytes.length; i++) {
+            scanner.write(bytes, i, 1);
+        }
+        return scanner.getLinks();
+    }
+}
@@ -0,0 +1,131 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+public class InjectingInputStreamTest {
+
+    private static final String SCRIPT = "<script>cap</script>";
+
+    @Test
+    public void injectsAfterHeadTag() throws IOException {
+        assertEquals("<html><head><script>cap</script><title>", inject("<html><head><title>"));
+        assertEquals("<HEAD lang=\"en\"><script>cap</script>x", inject("<HEAD lang=\"en\">x"));
+        assertEquals("<header></header><head><script>cap</script>", inject("<header></header><head>"));
+    }
+
+    @Test
+    public void injectsBeforeClosingHeadTag() throws IOException {
+        assertEquals("<title>a</title><script>cap</script></head><body>", inject("<title>a</title></head><body>"));
+    }
+
+    @Test
+    public void passesDocumentsWithoutHeadThrough() throws IOException {
+        assertEquals("<body>no head</body>", inject("<body>no head</body>"));
+        assertEquals("", inject(""));
+    }
+
+    @Test
+    public void findsTagsCutBetweenReads() throws IOException {
+        String html = "<!doctype html><html lang=\"en\"><head data-x=\"y\"><meta></head>";
+        InputStream injected = new InjectingInputStream(new TrickleInputStream(html), bytes(SCRIPT));
+        assertEquals("<!doctype html><html lang=\"en\"><head data-x=\"y\"><script>cap</script><meta></head>", read(injected));
+    }
+
+    @Test
+    public void readsOnlyUntilHeadTag() throws IOException {
+        StringBuilder html = new StringBuilder("<html><head>");
+        for (int i = 0; i < 100000; i++) {
+            html.append("<p>body</p>");
+        }
+        CountingInputStream source = new CountingInputStream(bytes(html.toString()));
+        InputStream injected = new InjectingInputStream(source, bytes(SCRIPT));
+
+        byte[] start = new byte[32];
+        assertEquals(start.length, injected.readNBytes(start, 0, start.length));
+        assertTrue(source.count <= 8 * 1024);
+        assertEquals("<html><head><script>cap</script>", new String(start, StandardCharsets.UTF_8));
+        assertEquals(html.length() + SCRIPT.length(), start.length + read(injected).length());
+    }
+
+    @Test
+    public void stopsScanningPastLimit() throws IOException {
+        String html = "0123456789<head>";
+        assertEquals(html, read(new InjectingInputStream(new ByteArrayInputStream(bytes(html)), bytes(SCRIPT), 8)));
+    }
+
+    @Test
+    public void passesMissingDocumentsOn() throws IOException {
+        InputStream missing = new InputStream() {
+            @Override
+            public int read() {
+                return -1;
+            }
+
+            @Override
+            public int available() {
+                return -1;
+            }
+        };
+        assertEquals(-1, new InjectingInputStream(missing, bytes(SCRIPT)).available());
+    }
+
+    private static String inject(String html) throws IOException {
+        return read(new InjectingInputStream(new ByteArrayInputStream(bytes(html)), bytes(SCRIPT)));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String read(InputStream input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[3];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        input.close();
+        return out.toString("UTF-8");
+    }
+
+    /**
+     * Returns a single byte per read, like a slow network stream.
+     */
+    private static final class TrickleInputStream extends ByteArrayInputStream {
+
+        TrickleInputStream(String value) {
+            super(bytes(value));
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, 1));
+        }
+    }
+
+    private static final class CountingInputStream extends ByteArrayInputStream {
+
+        int count;
+
+        CountingInputStream(byte[] value) {
+            super(value);
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JSInjectorCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readReturnsNullWhenNothingIsCached() {
+        JSInjectorCache cache = new JSInjectorCache(new File(folder.getRoot(), "capacitor/js-injector.js"), "key");
+
+        assertNull(cache.read());
+    }
+
+    @Test
+    public void readReturnsWrittenScript() {
+        File file = new File(folder.getRoot(), "capacitor/js-injector.js");
+        String script = "window.Capacitor = { config: { appName: \"Café ☕\" } };";
+
+        new JSInjectorCache(file, "key").write(script);
+
+        assertEquals(script, new JSInjectorCache(file, "key").read());
+    }
+
+    @Test
+    public void readReturnsNullWhenKeyChanged() {
+        File file = new File(folder.getRoot(), "capacitor/js-injector.js");
+
+        new JSInjectorCache(file, "1.0.0|plugins").write("window.Capacitor = {};");
+
+        assertNull(new JSInjectorCache(file, "1.0.1|plugins").read());
+    }
+}
@@ -0,0 +1,142 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+import android.webkit.WebView;
+import androidx.webkit.WebViewFeature;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+public class MessageHandlerTest {
+
+    private MockedStatic<Logger> logger;
+    private MockedStatic<WebViewFeature> webViewFeature;
+    private MessageHandler messageHandler;
+
+    @Before
+    public void setup() throws JSONException {
+        logger = mockStatic(Logger.class);
+        webViewFeature = mockStatic(WebViewFeature.class);
+
+        CapConfig config = mock(CapConfig.class);
+        when(config.getPluginConfiguration("SyncBridge")).thenReturn(
+            new PluginConfig(new JSONObject("{\"methodTimeouts\":{\"Slow\":50}}"))
+        );
+        Bridge bridge = mock(Bridge.class);
+        when(bridge.getConfig()).thenReturn(config);
+        doAnswer((invocation) -> {
+            PluginCall call = invocation.getArgument(2);
+            switch (call.getPluginId()) {
+                case "Echo":
+                    // Resolves inline, as syncSafe methods do
+                    call.resolve(new JSObject().put("value", call.getString("value")));
+                    break;
+                case "Lane":
+                    // Resolves later on a thread of its own, the later calls first
+                    long delay = 200 - call.getInt("value") * 50;
+                    new Thread(() -> {
+                        try {
+                            Thread.sleep(delay);
+                        } catch (InterruptedException ignored) {}
+                        call.resolve(new JSObject().put("value", call.getInt("value")));
+                    }).start();
+                    break;
+                case "Failing":
+                    call.reject("darn it");
+                    break;
+                default:
+                    // Never resolves
+                    break;
+            }
+            return null;
+        }).when(bridge).callPluginMethodSync(anyString(), anyString(), any(PluginCall.class));
+
+        messageHandler = new MessageHandler(bridge, mock(WebView.class), null);
+    }
+
+    @After
+    public void tearDown() {
+        webViewFeature.close();
+        logger.close();
+    }
+
+    @Test
+    public void syncTimeoutDefaultsToThirtySeconds() {
+        assertEquals(30000, MessageHandler.getSyncTimeout(new PluginConfig(new JSONObject()), "Preferences", "get"));
+    }
+
+    @Test
+    public void syncTimeoutPrefersTheMethodThenThePlugin() throws JSONException {
+        PluginConfig config = new PluginConfig(
+            new JSONObject("{\"timeout\":5000,\"methodTimeouts\":{\"Preferences.get\":50,\"Preferences\":200}}")
+        );
+        assertEquals(50, MessageHandler.getSyncTimeout(config, "Preferences", "get"));
+        assertEquals(200, MessageHandler.getSyncTimeout(config, "Preferences", "keys"));
+        assertEquals(5000, MessageHandler.getSyncTimeout(config, "Device", "getInfo"));
+    }
+
+    @Test
+    public void syncBatchReturnsTheResultsInCallOrder() throws JSONException {
+        JSONArray results = new JSONArray(
+            messageHandler.callSyncBatch(
+                "[" +
+                call("Lane", 1) +
+                "," +
+                call("Lane", 2) +
+                "," +
+                "{\"pluginId\":\"Echo\",\"methodName\":\"get\",\"options\":{\"value\":\"a\"}}," +
+                "{\"pluginId\":\"Failing\",\"methodName\":\"get\"}" +
+                "]"
+            )
+        );
+
+        assertEquals(4, results.length());
+        assertEquals(1, results.getJSONObject(0).getJSONObject("data").getInt("value"));
+        assertEquals(2, results.getJSONObject(1).getJSONObject("data").getInt("value"));
+        assertEquals("a", results.getJSONObject(2).getJSONObject("data").getString("value"));
+        assertFalse(results.getJSONObject(3).getBoolean("success"));
+        assertEquals("darn it", results.getJSONObject(3).getJSONObject("error").getString("message"));
+    }
+
+    @Test
+    public void syncBatchAnswersMalformedCallsWithAnError() throws JSONException {
+        JSONArray results = new JSONArray(messageHandler.callSyncBatch("[\"oops\"," + call("Lane", 3) + "]"));
+
+        assertFalse(results.getJSONObject(0).getBoolean("success"));
+        assertEquals("Malformed sync call", results.getJSONObject(0).getJSONObject("error").getString("message"));
+        assertTrue(results.getJSONObject(1).getBoolean("success"));
+
+        JSONObject error = new JSONObject(messageHandler.callSyncBatch("{}"));
+        assertFalse(error.getBoolean("success"));
+    }
+
+    @Test
+    public void syncBatchTimesCallsOutOneByOne() throws JSONException {
+        long startTime = System.nanoTime();
+        JSONArray results = new JSONArray(messageHandler.callSyncBatch("[" + call("Slow", 0) + "," + call("Lane", 3) + "]"));
+
+        // The slow call times out after its own 50 ms, not the default 30 s
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) < 5000);
+        assertFalse(results.getJSONObject(0).getBoolean("success"));
+        assertEquals("Sync call timeout after 50 ms", results.getJSONObject(0).getJSONObject("error").getString("message"));
+        assertEquals(3, results.getJSONObject(1).getJSONObject("data").getInt("value"));
+    }
+
+    private static String call(String pluginId, int value) {
+        return "{\"pluginId\":\"" + pluginId + "\",\"methodName\":\"get\",\"options\":{\"value\":" + value + "}}";
+    }
+}
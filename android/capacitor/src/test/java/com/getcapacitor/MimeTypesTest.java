@@ -0,0 +1,64 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class MimeTypesTest {
+
+    @Test
+    public void looksTypesUpByExtension() {
+        MimeTypes mimeTypes = new NoPlatformTypes(null);
+        assertEquals("application/javascript", mimeTypes.get("/assets/main.3f2a1c9b.js"));
+        assertEquals("application/javascript", mimeTypes.get("/module.MJS"));
+        assertEquals("application/wasm", mimeTypes.get("/app.wasm"));
+        assertEquals("image/avif", mimeTypes.get("photo.avif"));
+        assertEquals("font/woff2", mimeTypes.get("/fonts/inter.woff2"));
+        assertEquals("application/json", mimeTypes.get("/main.js.map"));
+        assertNull(mimeTypes.get("/LICENSE"));
+        assertNull(mimeTypes.get("/v1.2/LICENSE"));
+        assertNull(mimeTypes.get("/file."));
+        assertNull(mimeTypes.get("/archive.unknown"));
+    }
+
+    @Test
+    public void addsAndOverridesConfiguredTypes() {
+        Map<String, String> custom = new HashMap<>();
+        custom.put("glb", "model/gltf-binary");
+        custom.put(".JSON", "text/json");
+        custom.put("txt", "");
+
+        MimeTypes mimeTypes = new NoPlatformTypes(custom);
+        assertEquals("model/gltf-binary", mimeTypes.get("/models/scene.glb"));
+        assertEquals("text/json", mimeTypes.get("/data.json"));
+        assertEquals("text/plain", mimeTypes.get("/robots.txt"));
+    }
+
+    @Test
+    public void fallsBackToThePlatformTypes() {
+        MimeTypes mimeTypes = new MimeTypes(null) {
+            @Override
+            String getPlatformType(String extension) {
+                return extension.equals("epub") ? "application/epub+zip" : null;
+            }
+        };
+        assertEquals("application/epub+zip", mimeTypes.get("/books/guide.EPUB"));
+        assertEquals("text/html", mimeTypes.get("/index.html"));
+        assertNull(mimeTypes.get("/archive.unknown"));
+    }
+
+    private static class NoPlatformTypes extends MimeTypes {
+
+        NoPlatformTypes(Map<String, String> custom) {
+            super(custom);
+        }
+
+        @Override
+        String getPlatformType(String extension) {
+            return null;
+        }
+    }
+}
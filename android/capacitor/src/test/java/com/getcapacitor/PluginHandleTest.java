@@ -0,0 +1,198 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.getcapacitor.annotation.CapacitorPlugin;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PluginHandleTest {
+
+    @CapacitorPlugin(name = "Lazy")
+    public static class LazyPlugin extends Plugin {
+
+        static int loadCount = 0;
+
+        @Override
+        public void load() {
+            loadCount++;
+        }
+
+        @PluginMethod
+        public void echo(PluginCall call) {}
+    }
+
+    @CapacitorPlugin(name = "Reentrant")
+    public static class ReentrantPlugin extends Plugin {
+
+        Plugin instanceDuringLoad;
+        Plugin reloadedDuringLoad;
+        boolean loadedDuringLoad;
+
+        @Override
+        public void load() {
+            PluginHandle handle = getPluginHandle();
+            instanceDuringLoad = handle.getInstance();
+            loadedDuringLoad = handle.isLoaded();
+            try {
+                reloadedDuringLoad = handle.load();
+            } catch (PluginLoadException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+    }
+
+    @CapacitorPlugin(name = "Eager", loadOnStartup = true)
+    public static class EagerPlugin extends Plugin {}
+
+    @CapacitorPlugin(name = "Invoked")
+    public static class InvokedPlugin extends Plugin {
+
+        final List<String> invoked = new ArrayList<>();
+
+        @PluginMethod
+        public void reflected(PluginCall call) {
+            invoked.add("reflected");
+        }
+    }
+
+    // Stands in for the invoker the capacitor-processor generates for InvokedPlugin
+    public static class InvokedPlugin_PluginInvoker implements PluginInvoker {
+
+        @Override
+        public PluginMethodHandle[] getMethods() {
+            return new PluginMethodHandle[] {
+                new PluginMethodHandle("generated", PluginMethod.RETURN_PROMISE, PluginMethod.THREAD_CALLER, false),
+                new PluginMethodHandle("failing", PluginMethod.RETURN_PROMISE, PluginMethod.THREAD_DEFAULT, false),
+                new PluginMethodHandle("peek", PluginMethod.RETURN_PROMISE, PluginMethod.THREAD_DEFAULT, true)
+            };
+        }
+
+        @Override
+        public boolean invoke(Plugin plugin, String methodName, PluginCall call) throws Exception {
+            switch (methodName) {
+                case "generated":
+                    ((InvokedPlugin) plugin).invoked.add("generated");
+                    return true;
+                case "failing":
+                    throw new IllegalStateException("failed");
+                default:
+                    return false;
+            }
+        }
+    }
+
+    private final PluginDispatcher dispatcher = new PluginDispatcher(1);
+    private final List<Runnable> mainThreadTasks = new ArrayList<>();
+    private Bridge bridge;
+
+    @Before
+    public void setup() {
+        LazyPlugin.loadCount = 0;
+        bridge = mock(Bridge.class);
+        when(bridge.getPluginDispatcher()).thenReturn(dispatcher);
+        doAnswer((invocation) -> mainThreadTasks.add(invocation.getArgument(0))).when(bridge).executeOnMainThread(any(Runnable.class));
+    }
+
+    @After
+    public void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void lazyPluginIsLoadedOnFirstTask() throws Exception {
+        PluginHandle handle = new PluginHandle(bridge, LazyPlugin.class, true);
+        assertFalse(handle.isLoaded());
+        assertTrue(handle.getMethods().stream().anyMatch((method) -> method.getName().equals("echo")));
+
+        List<Integer> executed = new ArrayList<>();
+        handle.executeWhenLoaded(() -> executed.add(1));
+        handle.executeWhenLoaded(() -> executed.add(2));
+        assertFalse(handle.isLoaded());
+        assertEquals(1, mainThreadTasks.size());
+
+        mainThreadTasks.get(0).run();
+        assertTrue(handle.isLoaded());
+        assertEquals(1, LazyPlugin.loadCount);
+
+        handle.executeWhenLoaded(() -> executed.add(3));
+        assertEquals(List.of(1, 2, 3), executed);
+        assertEquals(1, mainThreadTasks.size());
+    }
+
+    @Test
+    public void pluginIsLoadedEagerlyByDefault() throws Exception {
+        PluginHandle handle = new PluginHandle(bridge, LazyPlugin.class);
+        assertTrue(handle.isLoaded());
+        assertEquals(1, LazyPlugin.loadCount);
+    }
+
+    @Test
+    public void loadOnStartupPluginIgnoresLazyLoading() throws Exception {
+        PluginHandle handle = new PluginHandle(bridge, EagerPlugin.class, true);
+        assertTrue(handle.isLoaded());
+    }
+
+    @Test
+    public void methodsAreDispatchedThroughTheGeneratedInvoker() throws Exception {
+        PluginHandle handle = new PluginHandle(bridge, InvokedPlugin.class);
+        InvokedPlugin plugin = (InvokedPlugin) handle.getInstance();
+        PluginCall call = new PluginCall(null, "Invoked", "1", "generated", (String) null, null);
+
+        assertEquals(List.of("generated", "failing", "peek"), handle.getMethods().stream().map(PluginMethodHandle::getName).toList());
+        assertSame(dispatcher.getExecutor(PluginMethod.THREAD_CALLER, null), handle.getExecutor("generated"));
+
+        handle.invoke("generated", call);
+        assertEquals(List.of("generated"), plugin.invoked);
+
+        // Methods left out of the invoker are not called through reflection
+        assertThrows(InvalidPluginMethodException.class, () -> handle.invoke("reflected", call));
+        InvocationTargetException failure = assertThrows(InvocationTargetException.class, () -> handle.invoke("failing", call));
+        assertEquals("failed", failure.getCause().getMessage());
+    }
+
+    @Test
+    public void syncCallsRunAfterThePluginLane() throws Exception {
+        PluginHandle handle = new PluginHandle(bridge, InvokedPlugin.class);
+
+        assertSame(handle.getExecutor("failing"), handle.getSyncExecutor("failing"));
+        assertSame(handle.getExecutor("generated"), handle.getSyncExecutor("generated"));
+        assertSame(dispatcher.getExecutor(PluginMethod.THREAD_CALLER, null), handle.getSyncExecutor("peek"));
+        assertNull(handle.getSyncExecutor("missing"));
+    }
+
+    @Test
+    public void methodsAreCalledThroughReflectionWithoutAnInvoker() throws Exception {
+        PluginHandle handle = new PluginHandle(bridge, LazyPlugin.class);
+        PluginCall call = new PluginCall(null, "Lazy", "1", "echo", (String) null, null);
+
+        assertNotNull(handle.getMethods().iterator().next().getMethod());
+        handle.invoke("echo", call);
+        assertThrows(InvalidPluginMethodException.class, () -> handle.invoke("missing", call));
+    }
+
+    @Test
+    public void instanceIsAvailableWhileItLoads() throws Exception {
+        PluginHandle handle = new PluginHandle(bridge, ReentrantPlugin.class);
+        ReentrantPlugin plugin = (ReentrantPlugin) handle.getInstance();
+
+        assertSame(plugin, plugin.instanceDuringLoad);
+        assertSame(plugin, plugin.reloadedDuringLoad);
+        assertFalse(plugin.loadedDuringLoad);
+        assertTrue(handle.isLoaded());
+    }
+}
@@ -1,6 +1,8 @@
 package com.getcapacitor;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -40,4 +42,37 @@ public class PluginMethodHandleTest {
 
         assertEquals(pluginMethodHandle.getMethod(), mockMethod);
     }
+
+    @Test
+    public void getThreadReturnsThread() {
+        PluginMethod pluginMethod = mock(PluginMethod.class);
+        Method mockMethod = mock(Method.class);
+
+        given(pluginMethod.thread()).willReturn(PluginMethod.THREAD_IO);
+        PluginMethodHandle pluginMethodHandle = new PluginMethodHandle(mockMethod, pluginMethod);
+
+        assertEquals(pluginMethodHandle.getThread(), PluginMethod.THREAD_IO);
+    }
+
+    @Test
+    public void getThreadDefaultsToPluginThread() {
+        PluginMethod pluginMethod = mock(PluginMethod.class);
+        Method mockMethod = mock(Method.class);
+
+        PluginMethodHandle pluginMethodHandle = new PluginMethodHandle(mockMethod, pluginMethod);
+
+        assertEquals(pluginMethodHandle.getThread(), PluginMethod.THREAD_DEFAULT);
+    }
+
+    @Test
+    public void isSyncSafeReturnsSyncSafe() {
+        PluginMethod pluginMethod = mock(PluginMethod.class);
+        Method mockMethod = mock(Method.class);
+
+        given(pluginMethod.syncSafe()).willReturn(true);
+        PluginMethodHandle pluginMethodHandle = new PluginMethodHandle(mockMethod, pluginMethod);
+
+        assertTrue(pluginMethodHandle.isSyncSafe());
+        assertFalse(new PluginMethodHandle("methodName", PluginMethod.RETURN_PROMISE, PluginMethod.THREAD_DEFAULT).isSyncSafe());
+    }
 }
@@ -0,0 +1,63 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class PluginResultTest {
+
+    @Test
+    public void putsBytesAsBufferMarkers() {
+        byte[] first = { 1, 2, 3 };
+        byte[] second = { 4 };
+        PluginResult result = new PluginResult().put("name", "a").putBytes("first", first).putBytes("second", second);
+        assertTrue(result.hasBytes());
+
+        List<byte[]> buffers = new ArrayList<>();
+        buffers.add(new byte[0]);
+        JSObject json = result.toJSON(buffers);
+        assertEquals("a", json.getString("name"));
+        assertEquals(1, json.getJSObject("first").getInteger(BinaryValues.MARKER).intValue());
+        assertEquals(2, json.getJSObject("second").getInteger(BinaryValues.MARKER).intValue());
+        assertEquals(3, buffers.size());
+        assertSame(first, buffers.get(1));
+        assertSame(second, buffers.get(2));
+    }
+
+    @Test
+    public void replacesValuesOfTheSameName() {
+        PluginResult result = new PluginResult().put("value", "a").putBytes("value", new byte[] { 1 });
+        assertFalse(result.toJSON(new ArrayList<>()).get("value") instanceof String);
+
+        result.put("value", "b");
+        assertFalse(result.hasBytes());
+        assertEquals("b", result.toJSON(new ArrayList<>()).getString("value"));
+    }
+
+    @Test
+    public void keepsTheJSONWithoutBytes() {
+        JSObject json = new JSObject().put("value", 1);
+        List<byte[]> buffers = new ArrayList<>();
+        assertSame(json, new PluginResult(json).toJSON(buffers));
+        assertTrue(buffers.isEmpty());
+    }
+
+    @Test
+    public void readsBytesOfCalls() {
+        byte[] bytes = { 7, 8 };
+        JSObject data = new JSObject().put("bytes", BinaryValues.marker(1)).put("missing", BinaryValues.marker(2)).put("number", 1);
+        PluginCall call = new PluginCall(null, "id", "1", "method", data, Arrays.asList(new byte[0], bytes));
+        assertArrayEquals(bytes, call.getBytes("bytes"));
+        assertNull(call.getBytes("missing"));
+        assertNull(call.getBytes("number"));
+        assertArrayEquals(bytes, call.getBytes("none", bytes));
+    }
+}
@@ -0,0 +1,69 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+public class PluginTest {
+
+    private static final int THREADS = 8;
+    private static final int LISTENERS_PER_THREAD = 2000;
+
+    private final PluginDispatcher dispatcher = new PluginDispatcher(THREADS);
+    private final MessageHandler msgHandler = mock(MessageHandler.class);
+    private MockedStatic<Logger> logger;
+
+    @Before
+    public void setup() {
+        logger = mockStatic(Logger.class);
+    }
+
+    @After
+    public void tearDown() {
+        dispatcher.shutdown();
+        logger.close();
+    }
+
+    @Test
+    public void listenersAddedInParallelAreKept() throws InterruptedException {
+        Plugin plugin = new Plugin();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch added = new CountDownLatch(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            final int thread = i;
+            // Runs the way the listener calls of a concurrent plugin do
+            dispatcher.getConcurrentExecutor().execute(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < LISTENERS_PER_THREAD; j++) {
+                        JSObject options = new JSObject().put("eventName", "accel");
+                        plugin.addListener(new PluginCall(msgHandler, "Motion", thread + "-" + j, "addListener", options));
+                    }
+                } catch (InterruptedException ignored) {
+                } finally {
+                    added.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertTrue(added.await(10, TimeUnit.SECONDS));
+
+        plugin.notifyListeners("accel", new JSObject().put("x", 1));
+        verify(msgHandler, times(THREADS * LISTENERS_PER_THREAD)).sendResponseMessage(
+            any(PluginCall.class),
+            any(PluginResult.class),
+            isNull()
+        );
+    }
+}
@@ -0,0 +1,84 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RangeSourceTest {
+
+    private static final String BODY = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readsFileRangesFromTheirOffset() throws IOException {
+        RangeSource source = RangeSource.of(new FileInputStream(createFile()));
+        assertEquals(BODY.length(), source.getLength());
+        assertEquals("abc", read(source.open(10, 3)));
+        assertEquals("xyz", read(source.open(33, 3)));
+        source.close();
+    }
+
+    @Test
+    public void readsStreamRangesFromTheirOffset() throws IOException {
+        RangeSource source = RangeSource.of(() -> new ByteArrayInputStream(BODY.getBytes(StandardCharsets.US_ASCII)), BODY.length());
+        assertEquals("abc", read(source.open(10, 3)));
+        assertEquals("z", read(source.open(35, 10)));
+    }
+
+    @Test
+    public void servesSingleRangeAsIs() throws IOException {
+        RangeSource source = RangeSource.of(new FileInputStream(createFile()));
+        List<ByteRange> ranges = Collections.singletonList(new ByteRange(5, 12));
+        assertEquals(8, source.getRangesLength(ranges, "text/plain", null));
+        assertEquals("56789abc", read(source.openRanges(ranges, "text/plain", null)));
+    }
+
+    @Test
+    public void servesMultipleRangesAsMultipart() throws IOException {
+        RangeSource source = RangeSource.of(new FileInputStream(createFile()));
+        List<ByteRange> ranges = Arrays.asList(new ByteRange(0, 1), new ByteRange(34, 35));
+
+        String body = read(source.openRanges(ranges, "text/plain", "BOUNDARY"));
+        String expected =
+            "--BOUNDARY\r\nContent-Type: text/plain\r\nContent-Range: bytes 0-1/36\r\n\r\n01" +
+            "\r\n--BOUNDARY\r\nContent-Type: text/plain\r\nContent-Range: bytes 34-35/36\r\n\r\nyz" +
+            "\r\n--BOUNDARY--\r\n";
+        assertEquals(expected, body);
+        assertEquals(expected.length(), source.getRangesLength(ranges, "text/plain", "BOUNDARY"));
+    }
+
+    private File createFile() throws IOException {
+        File file = folder.newFile("body.txt");
+        try (FileOutputStream output = new FileOutputStream(file)) {
+            output.write(BODY.getBytes(StandardCharsets.US_ASCII));
+        }
+        return file;
+    }
+
+    private static String read(InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (InputStream in = input) {
+            byte[] buffer = new byte[7];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+        }
+        return output.toString("US-ASCII");
+    }
+}
@@ -0,0 +1,64 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+public class StartupTimelineTest {
+
+    @Test
+    public void recordsSectionsAndMarks() throws JSONException {
+        StartupTimeline timeline = new StartupTimeline();
+        timeline.setEnabled(true);
+
+        long section = timeline.beginSection("registerPlugin Example");
+        timeline.endSection("registerPlugin Example", section);
+        timeline.markOnce("shouldInterceptRequest");
+        timeline.markOnce("shouldInterceptRequest");
+
+        JSObject result = timeline.toJSObject();
+        assertTrue(result.getBoolean("enabled"));
+        JSONArray entries = result.getJSONArray("entries");
+        assertEquals(2, entries.length());
+
+        JSONObject first = entries.getJSONObject(0);
+        assertEquals("registerPlugin Example", first.getString("name"));
+        assertEquals(Thread.currentThread().getName(), first.getString("thread"));
+        assertTrue(first.getDouble("duration") >= 0);
+        assertEquals("shouldInterceptRequest", entries.getJSONObject(1).getString("name"));
+        assertEquals(0, entries.getJSONObject(1).getDouble("duration"), 0);
+    }
+
+    @Test
+    public void disablingDropsTheTimeline() throws JSONException {
+        StartupTimeline timeline = new StartupTimeline();
+        timeline.mark("before config");
+        timeline.setEnabled(false);
+
+        assertEquals(StartupTimeline.NOT_RECORDING, timeline.beginSection("after config"));
+        timeline.mark("after config");
+
+        JSObject result = timeline.toJSObject();
+        assertFalse(result.getBoolean("enabled"));
+        assertEquals(0, result.getJSONArray("entries").length());
+    }
+
+    @Test
+    public void stopsRecordingWhenFinished() throws JSONException {
+        StartupTimeline timeline = new StartupTimeline();
+        timeline.setEnabled(true);
+        long section = timeline.beginSection("index.html");
+        timeline.finish();
+        timeline.endSection("index.html", section);
+        timeline.mark("after startup");
+
+        JSONArray entries = timeline.toJSObject().getJSONArray("entries");
+        assertEquals(1, entries.length());
+        assertEquals("index.html", entries.getJSONObject(0).getString("name"));
+    }
+}
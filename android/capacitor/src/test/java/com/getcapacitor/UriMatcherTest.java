@@ -0,0 +1,94 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+public class UriMatcherTest {
+
+    @Test
+    public void matchesExactAndWildcardPaths() {
+        UriMatcher matcher = new UriMatcher("root");
+        matcher.addURI("https", "localhost", "/a/b", "exact");
+        matcher.addURI("https", "localhost", "/c/*", "text");
+        matcher.addURI("https", "localhost", "/d/**", "rest");
+
+        assertEquals("root", matcher.match("https", null, Collections.emptyList()));
+        assertEquals("exact", matcher.match("https", "localhost", Arrays.asList("a", "b")));
+        assertEquals("text", matcher.match("https", "localhost", Arrays.asList("c", "x")));
+        assertNull(matcher.match("https", "localhost", Arrays.asList("c", "x", "y")));
+        assertEquals("rest", matcher.match("https", "localhost", Arrays.asList("d", "x", "y")));
+        assertNull(matcher.match("https", "localhost", Arrays.asList("a", "c")));
+        assertNull(matcher.match("http", "localhost", Arrays.asList("a", "b")));
+    }
+
+    @Test
+    public void triesChildrenInTheOrderTheyWereAdded() {
+        UriMatcher matcher = new UriMatcher(null);
+        matcher.addURI("https", "localhost", "/**", "first");
+        matcher.addURI("https", "localhost", "/a", "second");
+        assertEquals("first", matcher.match("https", "localhost", Collections.singletonList("a")));
+
+        matcher = new UriMatcher(null);
+        matcher.addURI("https", "localhost", "/a", "first");
+        matcher.addURI("https", "localhost", "/**", "second");
+        assertEquals("first", matcher.match("https", "localhost", Collections.singletonList("a")));
+        assertEquals("second", matcher.match("https", "localhost", Collections.singletonList("b")));
+    }
+
+    @Test
+    public void matchesHostMasks() {
+        UriMatcher matcher = new UriMatcher(null);
+        matcher.addURI("https", "*.example.org", "/**", "mask");
+        assertEquals("mask", matcher.match("https", "www.example.org", Collections.singletonList("a")));
+        assertNull(matcher.match("https", "www.example.com", Collections.singletonList("a")));
+    }
+
+    @Test
+    public void replacesCodeOfExistingUri() {
+        UriMatcher matcher = new UriMatcher(null);
+        matcher.addURI("https", "localhost", "/**", "old");
+        matcher.addURI("https", "localhost", "/**", "new");
+        assertEquals("new", matcher.match("https", "localhost", Collections.singletonList("a")));
+    }
+
+    @Test
+    public void matchesWhileRoutesAreAdded() throws Exception {
+        final UriMatcher matcher = new UriMatcher(null);
+        matcher.addURI("https", "localhost", "/**", "app");
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                readers.add(
+                    executor.submit(() -> {
+                        for (int i = 0; i < 10000; i++) {
+                            assertEquals("app", matcher.match("https", "localhost", Collections.singletonList("index.html")));
+                        }
+                    })
+                );
+            }
+            for (int i = 0; i < 1000; i++) {
+                matcher.addURI("https", "host" + i, "/**", "route" + i);
+            }
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("route" + i, matcher.match("https", "host" + i, Collections.singletonList("a")));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class WebBundleTest {
+
+    private static final byte[] INDEX = "<html><head></head><body>bundled</body></html>".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SCRIPT = "console.log('bundled');\n".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readsStoredAndDeflatedEntries() throws IOException {
+        WebBundle bundle = WebBundle.open(sample());
+
+        assertEquals(WebBundle.METHOD_DEFLATED, bundle.get("assets/main.js").method);
+        assertEquals(SCRIPT.length, bundle.get("/assets/main.js").size);
+        assertNull(bundle.get("missing.js"));
+
+        try (InputStream input = bundle.open("/index.html")) {
+            assertArrayEquals(INDEX, input.readAllBytes());
+        }
+        try (InputStream input = bundle.open("/assets/main.js")) {
+            assertArrayEquals(SCRIPT, input.readAllBytes());
+        }
+    }
+
+    @Test
+    public void readsRanges() throws IOException {
+        WebBundle bundle = WebBundle.open(sample());
+
+        RangeSource stored = bundle.openRange("/index.html");
+        assertEquals(INDEX.length, stored.getLength());
+        try (InputStream input = stored.open(6, 6)) {
+            assertEquals("<head>", new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        RangeSource deflated = bundle.openRange("/assets/main.js");
+        assertEquals(SCRIPT.length, deflated.getLength());
+        try (InputStream input = deflated.open(SCRIPT.length - 12, 12)) {
+            assertEquals("'bundled');\n", new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test(expected = FileNotFoundException.class)
+    public void failsOnMissingEntries() throws IOException {
+        WebBundle.open(sample()).open("/missing.js");
+    }
+
+    @Test
+    public void detectsBundles() throws IOException {
+        assertTrue(WebBundle.isBundle(sample()));
+        assertFalse(WebBundle.isBundle(folder.newFolder("www")));
+        assertFalse(WebBundle.isBundle(write(new byte[] { 'C', 'A' })));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsTruncatedBundles() throws IOException {
+        byte[] bytes = bundle(new String[] { "index.html" }, new byte[][] { INDEX }, new boolean[] { false });
+        WebBundle.open(write(Arrays.copyOf(bytes, bytes.length - 10)));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsUnsortedBundles() throws IOException {
+        WebBundle.open(
+            write(bundle(new String[] { "index.html", "assets/main.js" }, new byte[][] { INDEX, SCRIPT }, new boolean[] { false, false }))
+        );
+    }
+
+    private File sample() throws IOException {
+        String[] paths = { "assets/main.js", "index.html" };
+        return write(bundle(paths, new byte[][] { SCRIPT, INDEX }, new boolean[] { true, false }));
+    }
+
+    private File write(byte[] bytes) throws IOException {
+        File file = folder.newFile();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(bytes);
+        }
+        return file;
+    }
+
+    private static byte[] bundle(String[] paths, byte[][] contents, boolean[] deflate) throws IOException {
+        byte[][] data = new byte[contents.length][];
+        int indexLength = 4 + 1 + 4;
+        for (int i = 0; i < paths.length; i++) {
+            data[i] = deflate[i] ? deflate(contents[i]) : contents[i];
+            indexLength += 2 + paths[i].getBytes(StandardCharsets.UTF_8).length + 1 + 8 + 8 + 8;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeBytes("CAPB");
+        out.writeByte(1);
+        out.writeInt(paths.length);
+        long offset = indexLength;
+        for (int i = 0; i < paths.length; i++) {
+            byte[] path = paths[i].getBytes(StandardCharsets.UTF_8);
+            out.writeShort(path.length);
+            out.write(path);
+            out.writeByte(deflate[i] ? WebBundle.METHOD_DEFLATED : WebBundle.METHOD_STORED);
+            out.writeLong(offset);
+            out.writeLong(data[i].length);
+            out.writeLong(contents[i].length);
+            offset += data[i].length;
+        }
+        for (byte[] entry : data) {
+            out.write(entry);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] content) {
+        Deflater deflater = new Deflater();
+        deflater.setInput(content);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+}
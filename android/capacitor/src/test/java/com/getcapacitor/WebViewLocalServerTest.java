@@ -0,0 +1,19 @@
+package com.getcapacitor;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class WebViewLocalServerTest {
+
+    @Test
+    public void negotiatesContentEncodings() {
+        assertTrue(WebViewLocalServer.acceptsEncoding("gzip, deflate, br", "br"));
+        assertTrue(WebViewLocalServer.acceptsEncoding("GZIP;q=0.5", "gzip"));
+        assertTrue(WebViewLocalServer.acceptsEncoding("*", "br"));
+        assertFalse(WebViewLocalServer.acceptsEncoding("gzip, br;q=0", "br"));
+        assertFalse(WebViewLocalServer.acceptsEncoding("gzip", "br"));
+        assertFalse(WebViewLocalServer.acceptsEncoding(null, "gzip"));
+    }
+}
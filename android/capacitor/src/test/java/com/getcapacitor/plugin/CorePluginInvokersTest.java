@@ -0,0 +1,40 @@
+package com.getcapacitor.plugin;
+
+import static org.junit.Assert.assertEquals;
+
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginInvoker;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.PluginMethodHandle;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.Test;
+
+public class CorePluginInvokersTest {
+
+    @Test
+    public void corePluginsAreDispatchedThroughGeneratedInvokers() throws Exception {
+        assertInvokerListsThePluginMethods(CapacitorCookies.class);
+        assertInvokerListsThePluginMethods(CapacitorHttp.class);
+        assertInvokerListsThePluginMethods(WebView.class);
+    }
+
+    private static void assertInvokerListsThePluginMethods(Class<? extends Plugin> plugin) throws Exception {
+        Class<?> invokerClass = Class.forName(plugin.getName() + PluginInvoker.CLASS_NAME_SUFFIX);
+        PluginInvoker invoker = (PluginInvoker) invokerClass.getDeclaredConstructor().newInstance();
+
+        Set<String> generated = new TreeSet<>();
+        for (PluginMethodHandle method : invoker.getMethods()) {
+            generated.add(method.getName());
+        }
+
+        Set<String> annotated = new TreeSet<>();
+        for (Method method : plugin.getMethods()) {
+            if (method.isAnnotationPresent(PluginMethod.class)) {
+                annotated.add(method.getName());
+            }
+        }
+        assertEquals(plugin.getSimpleName(), annotated, generated);
+    }
+}
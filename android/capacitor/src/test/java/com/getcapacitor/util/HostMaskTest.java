@@ -3,6 +3,8 @@ package com.getcapacitor.util;
 import static org.junit.Assert.*;
 
 import com.getcapacitor.util.HostMask.Util;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.Test;
 
 public class HostMaskTest {
@@ -66,6 +68,81 @@ public class HostMaskTest {
         assertFalse("Matches NOT 192.168.*.*", mask.matches("192.66.2.5"));
     }
 
+    @Test
+    public void testSimpleLabels() {
+        HostMask mask = HostMask.Simple.parse("WWW.Example.org");
+        assertTrue("Match is case insensitive", mask.matches("www.EXAMPLE.org"));
+        assertTrue("Trailing dots are ignored", mask.matches("www.example.org."));
+        assertFalse(mask.matches("www.example.orgx"));
+        assertFalse(mask.matches("ww.example.org"));
+        assertFalse(mask.matches("www..org"));
+    }
+
+    @Test
+    public void testAnyIndexed() {
+        String[] rawMasks = {
+            "*.example.org",
+            "example.org",
+            "api.example.com",
+            "*.cdn.example.com",
+            "192.168.*.*",
+            "localhost",
+            "*.Mixed.Case.net",
+            "a.*.example.io",
+            "..dots.org",
+            "one.two.three.four",
+            "*"
+        };
+        String[] hosts = {
+            "example.org",
+            "www.example.org",
+            "imap.mail.example.org",
+            "API.example.com",
+            "x.cdn.example.com",
+            "cdn.example.com",
+            "192.168.0.1",
+            "localhost",
+            "www.mixed.case.NET",
+            "a.b.example.io",
+            "..dots.org",
+            "one.two.three.four",
+            "two.three.four",
+            "",
+            ".",
+            "org"
+        };
+
+        for (int count = 1; count <= rawMasks.length; count++) {
+            String[] masks = Arrays.copyOf(rawMasks, count);
+            HostMask indexed = HostMask.Any.parse(masks);
+            for (String host : hosts) {
+                boolean expected = false;
+                for (String raw : masks) {
+                    expected |= referenceMatches(raw, host);
+                }
+                assertEquals(count + " masks, host " + host, expected, indexed.matches(host));
+            }
+            assertFalse(indexed.matches(null));
+        }
+    }
+
+    /**
+     * The original list based matching.
+     */
+    private static boolean referenceMatches(String mask, String host) {
+        List<String> maskParts = Util.splitAndReverse(mask);
+        List<String> hostParts = Util.splitAndReverse(host);
+        if (maskParts.size() > 1 && hostParts.size() != maskParts.size()) {
+            return false;
+        }
+        for (int i = 0; i < Math.min(hostParts.size(), maskParts.size()); i++) {
+            if (!Util.matches(maskParts.get(i), hostParts.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Test
     public void testUtil() {
         assertTrue("Everything matches *", Util.matches("*", "*"));
@@ -0,0 +1,106 @@
+import { createHash } from 'crypto';
+import { pathExists, readFile, remove, writeFile } from 'fs-extra';
+import { relative, resolve } from 'path';
+
+import c from '../colors';
+import { runTask } from '../common';
+import type { Config } from '../definitions';
+import { convertToUnixPath, readdirp } from '../util/fs';
+
+/**
+ * The manifest of the web assets copied to the app, read once by the Android runtime
+ * so it can serve the assets without probing the APK for every request.
+ */
+export const ASSET_MANIFEST_FILE = 'capacitor.assets.bin';
+
+// Must be kept in sync with AssetManifest.java
+const MANIFEST_MAGIC = 'CAPM';
+const MANIFEST_VERSION = 2;
+const FLAG_BROTLI = 1;
+const FLAG_GZIP = 2;
+
+interface ManifestEntry {
+  path: string;
+  size: number;
+  hash: Buffer;
+  flags: number;
+}
+
+/**
+ * Write the manifest of the web assets, once everything has been copied to them.
+ */
+export async function writeAssetManifest(config: Config): Promise<void> {
+  const webDirAbs = config.android.webDirAbs;
+  const manifestPath = resolve(config.android.assetsDirAbs, ASSET_MANIFEST_FILE);
+
+  if (!(await pathExists(webDirAbs))) {
+    // A stale manifest would hide the assets served from elsewhere
+    await remove(manifestPath);
+    return;
+  }
+
+  const assetsRelDir = relative(config.app.rootDir, config.android.assetsDirAbs);
+  await runTask(`Creating ${c.strong(ASSET_MANIFEST_FILE)} in ${assetsRelDir}`, async () => {
+    const root = convertToUnixPath(relative(config.android.assetsDirAbs, webDirAbs));
+    const files = await readdirp(webDirAbs, { filter: (entry) => !entry.stats.isDirectory() });
+    const paths = files.map((file) => convertToUnixPath(relative(webDirAbs, file))).sort();
+    const pathSet = new Set(paths);
+
+    const entries: ManifestEntry[] = [];
+    for (const path of paths) {
+      const content = await readFile(resolve(webDirAbs, path));
+
+      let flags = 0;
+      if (pathSet.has(`${path}.br`)) {
+        flags |= FLAG_BROTLI;
+      }
+      if (pathSet.has(`${path}.gz`)) {
+        flags |= FLAG_GZIP;
+      }
+
+      entries.push({
+        path,
+        size: content.length,
+        hash: createHash('sha256').update(content).digest().subarray(0, 8),
+        flags,
+      });
+    }
+
+    await writeFile(manifestPath, encodeAssetManifest(root, entries));
+  });
+}
+
+/**
+ * Encode the manifest, big-endian: the magic, the version, the root directory, then for every
+ * file its path, size, the first 8 bytes of its SHA-256 and the flags of its precompressed
+ * siblings. MIME types are not recorded, the Android runtime resolves them from the extension.
+ */
+function encodeAssetManifest(root: string, entries: ManifestEntry[]): Buffer {
+  const chunks: Buffer[] = [Buffer.from(MANIFEST_MAGIC, 'ascii'), Buffer.from([MANIFEST_VERSION])];
+  chunks.push(encodeString(root));
+
+  const count = Buffer.alloc(4);
+  count.writeUInt32BE(entries.length);
+  chunks.push(count);
+
+  for (const entry of entries) {
+    const fields = Buffer.alloc(8 + 8 + 1);
+    fields.writeBigUInt64BE(BigInt(entry.size), 0);
+    entry.hash.copy(fields, 8);
+    fields.writeUInt8(entry.flags, 16);
+    chunks.push(encodeString(entry.path), fields);
+  }
+
+  return Buffer.concat(chunks);
+}
+
+function encodeString(value: string): Buffer {
+  const bytes = Buffer.from(value, 'utf8');
+  return Buffer.concat([encodeUInt16(bytes.length), bytes]);
+}
+
+function encodeUInt16(value: number): Buffer {
+  const buffer = Buffer.alloc(2);
+  buffer.writeUInt16BE(value);
+  return buffer;
+}
@@ -24,6 +24,7 @@ import { readdirp, convertToUnixPath } from '../util/fs';
 import { resolveNode } from '../util/node';
 import { extractTemplate } from '../util/template';
 
+import { writeAssetManifest } from './assets';
 import { getAndroidPlugins } from './common';
 
 const platform = 'android';
@@ -47,6 +48,8 @@ export async function updateAndroid(config: Config): Promise<void> {
     await copyTask(config, platform);
   }
   await handleCordovaPluginsJS(cordovaPlugins, config, platform);
+  // The Cordova plugin scripts were rewritten, the manifest must list them
+  await writeAssetManifest(config);
   await checkPluginDependencies(plugins, platform, config.app.extConfig.cordova?.failOnUninstalledPlugins);
   await installGradlePlugins(config, capacitorPlugins, cordovaPlugins);
   await handleCordovaPluginsGradle(config, cordovaPlugins);
@@ -146,14 +149,20 @@ export async function installGradlePlugins(
   }
 
   const capacitorAndroidPath = resolve(dirname(capacitorAndroidPackagePath), 'capacitor');
+  const capacitorProcessorPath = resolve(dirname(capacitorAndroidPackagePath), 'capacitor-processor');
 
   const settingsPath = config.android.platformDirAbs;
   const dependencyPath = config.android.appDirAbs;
   const relativeCapcitorAndroidPath = convertToUnixPath(relative(settingsPath, capacitorAndroidPath));
+  const processorLines = (await pathExists(capacitorProcessorPath))
+    ? `include ':capacitor-processor'
+project(':capacitor-processor').projectDir = new File('${convertToUnixPath(relative(settingsPath, capacitorProcessorPath))}')
+`
+    : '';
   const settingsLines = `// DO NOT EDIT THIS FILE! IT IS GENERATED EACH TIME "capacitor update" IS RUN
 include ':capacitor-android'
 project(':capacitor-android').projectDir = new File('${relativeCapcitorAndroidPath}')
-${capacitorPlugins
+${processorLines}${capacitorPlugins
   .map((p) => {
     if (!p.android) {
       return '';
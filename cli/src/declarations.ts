@@ -289,6 +289,78 @@ export interface CapacitorConfig {
      */
     useLegacyBridge?: boolean;
 
+    /**
+     * Coalesce the plugin results sent to the web view within one frame
+     * into a single message, instead of posting one message per result.
+     * Reduces bridge overhead when many calls resolve at once, at the cost
+     * of up to one frame of added latency. Plugin calls can opt out with
+     * `PluginCall.setBypassResponseQueue(true)`.
+     *
+     * @since 7.5.0
+     * @default false
+     */
+    batchBridgeResponses?: boolean;
+
+    /**
+     * Defer instantiating and loading plugins until they are first called,
+     * instead of loading every registered plugin on startup.
+     * Plugins that need to be loaded on startup can declare it with
+     * `@CapacitorPlugin(loadOnStartup = true)`.
+     *
+     * @since 7.5.0
+     * @default false
+     */
+    lazyPluginLoading?: boolean;
+
+    /**
+     * Record the startup of the app, from loading the config to the first
+     * page load, as `android.os.Trace` sections and as a timeline that can
+     * be read from JS with `WebView.getStartupTimeline()`.
+     *
+     * @since 7.5.0
+     * @default false
+     */
+    startupTracing?: boolean;
+
+    /**
+     * Let the WebView cache the files served by the local server, instead of
+     * sending every response with `Cache-Control: no-cache`.
+     *
+     * Files whose name matches `immutableAssetPattern` are sent as immutable
+     * with a one year max-age. Every other file is sent with `ETag` and
+     * `Last-Modified` validators, derived from the file size and modification
+     * time, and from the app install time for bundled assets.
+     *
+     * @since 7.5.0
+     * @default false
+     */
+    assetCaching?: boolean;
+
+    /**
+     * A regular expression matched against the file name of served files,
+     * to recognize fingerprinted bundles such as `main.3f2a1c9b.js` that can
+     * be cached as immutable. Only used when `assetCaching` is enabled.
+     *
+     * The default matches a hash of at least 8 letters and digits, containing
+     * both, before the extension.
+     *
+     * @since 7.5.0
+     */
+    immutableAssetPattern?: string;
+
+    /**
+     * MIME types of the files served by the local server, by file extension,
+     * added to or overriding the built-in types.
+     *
+     * Types are only looked up from the file extension, in these types, then the
+     * built-in ones, then the types known to Android. Files without a known
+     * extension are served without a type and sniffed by the WebView.
+     * For example `{ "glb": "model/gltf-binary" }`.
+     *
+     * @since 7.5.0
+     */
+    mimeTypes?: { [extension: string]: string };
+
     /**
      * Make service worker requests go through Capacitor bridge.
      * Set it to false to use your own handling.
@@ -1,6 +1,7 @@
 import { copy as fsCopy, pathExists, remove, writeJSON } from 'fs-extra';
 import { basename, join, relative, resolve } from 'path';
 
+import { writeAssetManifest } from '../android/assets';
 import c from '../colors';
 import {
   checkWebDir,
@@ -149,6 +150,11 @@ export async function copy(config: Config, platformName: string, inline = false)
   });
 
   await runHooks(config, platformName, config.app.rootDir, 'capacitor:copy:after');
+
+  if (platformName === config.android.name) {
+    // Written last, so it also lists the assets the hooks changed
+    await writeAssetManifest(config);
+  }
 }
 
 async function copyCapacitorConfig(config: Config, nativeAbsDir: string) {
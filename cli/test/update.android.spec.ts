@@ -27,6 +27,12 @@ describe.each([false, true])('Update: Android (monoRepoLike: %p)', (monoRepoLike
     expect(regex.test(cordovaPluginJSContent)).toBe(true);
   });
 
+  it('Should list the Cordova plugin JS in the asset manifest', async () => {
+    expect(await FS.exists('android/app/src/main/assets/capacitor.assets.bin')).toBe(true);
+    const manifest = await FS.read('android/app/src/main/assets/capacitor.assets.bin');
+    expect(manifest.includes('cordova_plugins.js')).toBe(true);
+  });
+
   // Other test ideas:
   // should install/copy pre-existing cordova/capacitor plugins in package.json
 });
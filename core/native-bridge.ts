@@ -139,6 +139,80 @@ const createProxyUrl = (url: string, win: WindowCapacitor): string => {
   return bridgeUrl.toString();
 };
 
+// Binary values cross the bridge as a marker object, holding either the index
+// of an ArrayBuffer posted along with the message or the bytes as base64
+const BYTES_MARKER = '__capBytes';
+
+const isBinary = (value: any): value is ArrayBuffer | ArrayBufferView =>
+  value instanceof ArrayBuffer || ArrayBuffer.isView(value);
+
+const toArrayBuffer = (value: ArrayBuffer | ArrayBufferView): ArrayBuffer =>
+  value instanceof ArrayBuffer
+    ? value
+    : (value.buffer.slice(value.byteOffset, value.byteOffset + value.byteLength) as ArrayBuffer);
+
+const bytesToBase64 = (buffer: ArrayBuffer): string => {
+  const bytes = new Uint8Array(buffer);
+  let binary = '';
+  // fromCharCode takes the bytes as arguments, so they go in chunks
+  for (let i = 0; i < bytes.length; i += 0x8000) {
+    binary += String.fromCharCode.apply(null, bytes.subarray(i, i + 0x8000) as unknown as number[]);
+  }
+  return btoa(binary);
+};
+
+const base64ToBytes = (base64: string): ArrayBuffer => {
+  const binary = atob(base64);
+  const bytes = new Uint8Array(binary.length);
+  for (let i = 0; i < binary.length; i++) {
+    bytes[i] = binary.charCodeAt(i);
+  }
+  return bytes.buffer;
+};
+
+/**
+ * Replace the binary values of call options with markers. The buffers are
+ * appended to `buffers` if given, otherwise they are encoded as base64.
+ */
+const encodeBinaryValues = (options: any, buffers?: ArrayBuffer[]): any => {
+  if (!options || typeof options !== 'object' || Array.isArray(options)) {
+    return options;
+  }
+
+  let encoded: any = null;
+  for (const key of Object.keys(options)) {
+    const value = options[key];
+    if (isBinary(value)) {
+      encoded = encoded ?? { ...options };
+      if (buffers) {
+        encoded[key] = { [BYTES_MARKER]: buffers.length };
+        buffers.push(toArrayBuffer(value));
+      } else {
+        encoded[key] = { [BYTES_MARKER]: bytesToBase64(toArrayBuffer(value)) };
+      }
+    }
+  }
+  return encoded ?? options;
+};
+
+/**
+ * Replace the markers of result data with ArrayBuffers.
+ */
+const decodeBinaryValues = (data: any, buffers?: ArrayBuffer[]): any => {
+  if (!data || typeof data !== 'object' || Array.isArray(data)) {
+    return data;
+  }
+
+  for (const key of Object.keys(data)) {
+    const value = data[key];
+    if (value && typeof value === 'object' && BYTES_MARKER in value) {
+      const marker = value[BYTES_MARKER];
+      data[key] = typeof marker === 'number' ? buffers?.[marker] : base64ToBytes(marker);
+    }
+  }
+  return data;
+};
+
 const initBridge = (w: any): void => {
   const getPlatformId = (win: WindowCapacitor): 'android' | 'ios' | 'web' => {
     if (win?.androidBridge) {
@@ -1219,7 +1293,7 @@ const initBridge = (w: any): void => {
       
       if (platform === 'android') {
         try {
-          const optionsJson = JSON.stringify(options || {});
+          const optionsJson = JSON.stringify(encodeBinaryValues(options || {}));
           const resultJson = (win as any).androidBridge.callSync(
             pluginId, 
             methodName, 
@@ -1228,7 +1302,7 @@ const initBridge = (w: any): void => {
           const result = JSON.parse(resultJson);
           
           if (result.success) {
-            return result.data;
+            return decodeBinaryValues(result.data);
           } else {
             throw new cap.Exception(result.error?.message || 'Sync call failed');
           }
@@ -1259,9 +1333,43 @@ const initBridge = (w: any): void => {
       
       throw new cap.Exception('Sync bridge not available');
     };
+
+    /**
+     * Run a list of sync calls in a single crossing of the bridge. Each result is
+     * `{ success: true, data }` or `{ success: false, error }`, in the order of the calls,
+     * so one failed call does not fail the others.
+     */
+    const callSyncBatch = (calls: { pluginId: string; methodName: string; options?: any }[]): any[] => {
+      if (getPlatformId(win) === 'android' && typeof (win as any).androidBridge?.callSyncBatch === 'function') {
+        const callsJson = JSON.stringify(
+          calls.map((c) => ({
+            pluginId: c.pluginId,
+            methodName: c.methodName,
+            options: encodeBinaryValues(c.options || {}),
+          })),
+        );
+        const results = JSON.parse((win as any).androidBridge.callSyncBatch(callsJson));
+        if (!Array.isArray(results)) {
+          throw new cap.Exception(results.error?.message || 'Sync batch failed');
+        }
+        return results.map((result: any) =>
+          result.success ? { success: true, data: decodeBinaryValues(result.data) } : result,
+        );
+      }
+
+      // Older native bridges run the calls one by one
+      return calls.map((c) => {
+        try {
+          return { success: true, data: callSync(c.pluginId, c.methodName, c.options) };
+        } catch (e) {
+          return { success: false, error: { message: e.message } };
+        }
+      });
+    };
     
     // 暴露同步调用 API
     (cap as any).callSync = callSync;
+    (cap as any).callSyncBatch = callSyncBatch;
     (cap as any).isSyncAvailable = isSyncBridgeAvailable;
     
     // ==================== 同步调用支持结束 ====================
@@ -1273,13 +1381,52 @@ const initBridge = (w: any): void => {
     // create the postToNative() fn if needed
     if (getPlatformId(win) === 'android') {
       // android platform
-      postToNative = (data) => {
+      // only the object injected for web messages takes ArrayBuffers,
+      // the JavascriptInterface of the legacy bridge takes strings only
+      const canPostBuffers = () =>
+        cap.nativeArrayBuffers === true && typeof (win.androidBridge as any)?.addEventListener === 'function';
+
+      const encodeCall = (data: CallData, buffers?: ArrayBuffer[]): CallData => {
+        if (data.type === 'js.error') {
+          return data;
+        }
+        const options = encodeBinaryValues(data.options, buffers);
+        return options === data.options ? data : { ...data, options };
+      };
+
+      const sendToNative = (payload: CallData | CallData[]) => {
         try {
-          win.androidBridge?.postMessage(JSON.stringify(data));
+          // the buffers go ahead of the message that points at them
+          const buffers: ArrayBuffer[] | undefined = canPostBuffers() ? [] : undefined;
+          const message = Array.isArray(payload)
+            ? payload.map((data) => encodeCall(data, buffers))
+            : encodeCall(payload, buffers);
+          buffers?.forEach((buffer) => (win.androidBridge as any)?.postMessage(buffer));
+          win.androidBridge?.postMessage(JSON.stringify(message));
         } catch (e) {
           win?.console?.error(e);
         }
       };
+
+      // calls made within the same microtask are coalesced into a single
+      // array envelope so native parses and schedules them in one go
+      let pendingCalls: CallData[] = [];
+      const flushPendingCalls = () => {
+        const calls = pendingCalls;
+        pendingCalls = [];
+        sendToNative(calls.length === 1 ? calls[0] : calls);
+      };
+
+      postToNative = (data) => {
+        if (data.type === 'js.error') {
+          sendToNative(data);
+          return;
+        }
+        pendingCalls.push(data);
+        if (pendingCalls.length === 1) {
+          Promise.resolve().then(flushPendingCalls);
+        }
+      };
     } else if (getPlatformId(win) === 'ios') {
       // ios platform
       postToNative = (data) => {
@@ -1325,6 +1472,86 @@ const initBridge = (w: any): void => {
 
     initLogger(win, cap);
 
+    /**
+     * Native plugins may deliver an event through a dedicated message channel.
+     * Its port is handed over when the first listener of the event is added,
+     * and each message of the port is the data of one event, for every
+     * listener of the event. A port is only taken from native, for an event
+     * that has listeners. Native closes the previous stream of an event before
+     * opening another, and posts handshakes in order, so the latest port of an
+     * event replaces the previous one.
+     */
+    const EVENT_STREAM_PREFIX = 'capacitor.eventStream:';
+    const eventListenerIds = new Map<string, Set<string>>();
+    const eventStreamPorts = new Map<string, MessagePort>();
+
+    const closeEventStream = (key: string) => {
+      eventStreamPorts.get(key)?.close?.();
+      eventStreamPorts.delete(key);
+    };
+
+    const trackEventListener = (pluginName: string, methodName: string, options: any, callbackId: string) => {
+      if (methodName === 'addListener' && options?.eventName && callbackId !== '-1') {
+        const key = `${pluginName}:${options.eventName}`;
+        const ids = eventListenerIds.get(key) ?? new Set<string>();
+        ids.add(callbackId);
+        eventListenerIds.set(key, ids);
+      } else if (methodName === 'removeListener' && options?.eventName) {
+        const key = `${pluginName}:${options.eventName}`;
+        const ids = eventListenerIds.get(key);
+        if (ids?.delete(options.callbackId) && ids.size === 0) {
+          closeEventStream(key);
+        }
+      } else if (methodName === 'removeAllListeners') {
+        eventListenerIds.forEach((_, key) => {
+          if (key.startsWith(`${pluginName}:`)) {
+            eventListenerIds.delete(key);
+            closeEventStream(key);
+          }
+        });
+      }
+    };
+
+    if (getPlatformId(win) === 'android' && typeof (win as any).addEventListener === 'function') {
+      (win as any).addEventListener('message', (event: MessageEvent) => {
+        // messages posted by native have no source window
+        if (
+          event.source !== null ||
+          event.ports?.length !== 1 ||
+          typeof event.data !== 'string' ||
+          !event.data.startsWith(EVENT_STREAM_PREFIX)
+        ) {
+          return;
+        }
+        // the port is for the bridge only
+        event.stopImmediatePropagation();
+
+        const stream = JSON.parse(event.data.substring(EVENT_STREAM_PREFIX.length));
+        const key = `${stream.pluginId}:${stream.eventName}`;
+        if (!eventListenerIds.get(key)?.size) {
+          return;
+        }
+
+        const port = event.ports[0];
+        closeEventStream(key);
+        eventStreamPorts.set(key, port);
+        port.onmessage = (message: MessageEvent) => {
+          const ids = eventListenerIds.get(key);
+          if (!ids || ids.size === 0) {
+            return;
+          }
+          const data = JSON.parse(message.data);
+          ids.forEach((id) => {
+            try {
+              callbacks.get(id)?.callback?.(data);
+            } catch (e) {
+              win?.console?.error(e);
+            }
+          });
+        };
+      });
+    }
+
     /**
      * Send a plugin method call to the native layer
      */
@@ -1415,6 +1642,8 @@ const initBridge = (w: any): void => {
             options: options || {},
           };
 
+          trackEventListener(pluginName, methodName, options, callbackId);
+
           if (cap.isLoggingEnabled && pluginName !== 'Console') {
             cap.logToNative(callData);
           }
@@ -1433,9 +1662,16 @@ const initBridge = (w: any): void => {
       return '';
     };
 
+    // the ArrayBuffers of a response arrive ahead of it
+    let pendingBuffers: ArrayBuffer[] = [];
+
     if (win?.androidBridge) {
       win.androidBridge.onmessage = function (event) {
-        returnResult(JSON.parse(event.data));
+        if (typeof event.data !== 'string') {
+          pendingBuffers.push(event.data);
+          return;
+        }
+        returnResults(JSON.parse(event.data));
       };
     }
 
@@ -1443,10 +1679,27 @@ const initBridge = (w: any): void => {
      * Process a response from the native layer.
      */
     cap.fromNative = (result) => {
-      returnResult(result);
+      returnResults(result);
+    };
+
+    /**
+     * The native layer may coalesce the responses produced within
+     * one frame into a single array message.
+     */
+    const returnResults = (results: PluginResult | PluginResult[]) => {
+      if (Array.isArray(results)) {
+        results.forEach((result) => returnResult(result));
+      } else {
+        returnResult(results);
+      }
     };
 
     const returnResult = (result: any) => {
+      if (result.data) {
+        const buffers = result.buffers ? pendingBuffers.splice(0, result.buffers) : undefined;
+        decodeBinaryValues(result.data, buffers);
+      }
+
       if (cap.isLoggingEnabled && result.pluginId !== 'Console') {
         cap.logFromNative(result);
       }
@@ -8,12 +8,49 @@ export interface WebViewPlugin extends Plugin {
   setServerBasePath(options: WebViewPath): Promise<void>;
   getServerBasePath(): Promise<WebViewPath>;
   persistServerBasePath(): Promise<void>;
+  /**
+   * Get the timeline of the app startup, recorded when `android.startupTracing`
+   * is enabled in the Capacitor config.
+   *
+   * Only available on Android.
+   *
+   * @since 7.5.0
+   */
+  getStartupTimeline(): Promise<StartupTimeline>;
 }
 
 export interface WebViewPath {
   path: string;
 }
 
+export interface StartupTimeline {
+  /**
+   * Whether startup tracing is enabled. The timeline is empty when it is not.
+   */
+  enabled: boolean;
+  /**
+   * When the native bridge was created, in milliseconds since the epoch.
+   */
+  origin: number;
+  entries: StartupTimelineEntry[];
+}
+
+export interface StartupTimelineEntry {
+  name: string;
+  /**
+   * The native thread the entry was recorded on.
+   */
+  thread: string;
+  /**
+   * The start of the entry, in milliseconds since `origin`.
+   */
+  start: number;
+  /**
+   * The duration of the entry in milliseconds, 0 for a point in time.
+   */
+  duration: number;
+}
+
 export const WebView = /*#__PURE__*/ registerPlugin<WebViewPlugin>('WebView');
 /******** END WEB VIEW PLUGIN ********/
 
@@ -36,6 +36,12 @@ export interface CapacitorInstance extends CapacitorGlobal {
    */
   getServerUrl: () => string;
 
+  /**
+   * Set by the native layer when binary values of plugin calls
+   * can be posted as ArrayBuffers rather than as base64 strings.
+   */
+  nativeArrayBuffers?: boolean;
+
   /**
    * Low-level API to send data to the native layer.
    * Prefer using `nativeCallback()` or `nativePromise()` instead.
@@ -60,7 +66,7 @@ export interface CapacitorInstance extends CapacitorGlobal {
    * Low-level API used by the native layers to send
    * data back to the webview runtime.
    */
-  fromNative?: (result: PluginResult) => void;
+  fromNative?: (result: PluginResult | PluginResult[]) => void;
 
   /**
    * Low-level API for backwards compatibility.
@@ -123,6 +129,10 @@ export interface PluginResult {
   error?: PluginResultError;
   pluginId?: string;
   save?: boolean;
+  /**
+   * The number of ArrayBuffers posted ahead of the result.
+   */
+  buffers?: number;
 }
 
 /**
@@ -160,7 +170,7 @@ export interface WindowCapacitor {
   WEBVIEW_SERVER_URL?: string;
   androidBridge?: {
     postMessage(data: string): void;
-    onmessage?: (event: { data: string }) => void;
+    onmessage?: (event: { data: string | ArrayBuffer }) => void;
   };
   webkit?: {
     messageHandlers?: {
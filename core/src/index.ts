@@ -29,6 +29,8 @@ export type {
   HttpParams,
   HttpResponse,
   HttpResponseType,
+  StartupTimeline,
+  StartupTimelineEntry,
   WebViewPath,
   WebViewPlugin,
 } from './core-plugins';
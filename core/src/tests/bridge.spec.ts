@@ -70,6 +70,269 @@ describe('bridge', () => {
       .catch(done);
   });
 
+  it('android coalesces calls made in the same microtask', (done) => {
+    const messages: any[] = [];
+    win.androidBridge = {
+      postMessage: (m) => {
+        messages.push(JSON.parse(m));
+      },
+    };
+    initBridge(win);
+
+    cap = createCapacitor(win);
+    cap.nativePromise('id', 'first');
+    cap.nativePromise('id', 'second');
+
+    Promise.resolve()
+      .then(() => {
+        expect(messages.length).toBe(1);
+        expect(Array.isArray(messages[0])).toBe(true);
+        expect(messages[0].map((c: any) => c.methodName)).toEqual(['first', 'second']);
+        done();
+      })
+      .catch(done);
+  });
+
+  it('android unpacks responses coalesced into one message', (done) => {
+    const calls: any[] = [];
+    win.androidBridge = {
+      postMessage: (m) => {
+        calls.push(...[].concat(JSON.parse(m)));
+      },
+    };
+    initBridge(win);
+
+    cap = createCapacitor(win);
+    const first = cap.nativePromise('id', 'first');
+    const second = cap.nativePromise('id', 'second');
+
+    Promise.resolve()
+      .then(() => {
+        win.androidBridge.onmessage({
+          data: JSON.stringify(
+            calls.map((c, i) => ({ callbackId: c.callbackId, methodName: c.methodName, success: true, data: { i } })),
+          ),
+        });
+        return Promise.all([first, second]);
+      })
+      .then((results) => {
+        expect(results).toEqual([{ i: 0 }, { i: 1 }]);
+        done();
+      })
+      .catch(done);
+  });
+
+  it('android posts binary values as ArrayBuffers ahead of the call', (done) => {
+    const messages: any[] = [];
+    win.Capacitor = { nativeArrayBuffers: true } as any;
+    win.androidBridge = {
+      postMessage: (m) => {
+        messages.push(m);
+      },
+      // eslint-disable-next-line @typescript-eslint/no-empty-function
+      addEventListener: () => {},
+    } as any;
+    initBridge(win);
+
+    cap = createCapacitor(win);
+    const result = cap.nativePromise('id', 'method', { bytes: new Uint8Array([1, 2, 3]), name: 'a' });
+
+    Promise.resolve()
+      .then(() => {
+        expect(messages.length).toBe(2);
+        expect(Array.from(new Uint8Array(messages[0]))).toEqual([1, 2, 3]);
+        const call = JSON.parse(messages[1]);
+        expect(call.options).toEqual({ bytes: { __capBytes: 0 }, name: 'a' });
+
+        win.androidBridge.onmessage({ data: new Uint8Array([4, 5]).buffer });
+        win.androidBridge.onmessage({
+          data: JSON.stringify({ callbackId: call.callbackId, success: true, buffers: 1, data: { bytes: { __capBytes: 0 } } }),
+        });
+        return result;
+      })
+      .then((data: any) => {
+        expect(Array.from(new Uint8Array(data.bytes))).toEqual([4, 5]);
+        done();
+      })
+      .catch(done);
+  });
+
+  it('android falls back to base64 for binary values', (done) => {
+    const messages: any[] = [];
+    win.androidBridge = {
+      postMessage: (m) => {
+        messages.push(JSON.parse(m));
+      },
+    };
+    initBridge(win);
+
+    cap = createCapacitor(win);
+    const result = cap.nativePromise('id', 'method', { bytes: new Uint8Array([1, 2, 3]) });
+
+    Promise.resolve()
+      .then(() => {
+        expect(messages.length).toBe(1);
+        expect(messages[0].options).toEqual({ bytes: { __capBytes: 'AQID' } });
+
+        win.androidBridge.onmessage({
+          data: JSON.stringify({ callbackId: messages[0].callbackId, success: true, data: { bytes: { __capBytes: 'BAU=' } } }),
+        });
+        return result;
+      })
+      .then((data: any) => {
+        expect(Array.from(new Uint8Array(data.bytes))).toEqual([4, 5]);
+        done();
+      })
+      .catch(done);
+  });
+
+  it('android delivers streamed events to every listener', () => {
+    let onWindowMessage: any;
+    win.androidBridge = {
+      // eslint-disable-next-line @typescript-eslint/no-empty-function
+      postMessage: () => {},
+    };
+    (win as any).addEventListener = (type: string, listener: any) => {
+      if (type === 'message') {
+        onWindowMessage = listener;
+      }
+    };
+    initBridge(win);
+
+    cap = createCapacitor(win);
+    const events: any[] = [];
+    const first = cap.nativeCallback('Motion', 'addListener', { eventName: 'accel' }, (data) => events.push(['first', data]));
+    cap.nativeCallback('Motion', 'addListener', { eventName: 'accel' }, (data) => events.push(['second', data]));
+
+    const port: any = {};
+    onWindowMessage({
+      source: null,
+      data: 'capacitor.eventStream:' + JSON.stringify({ pluginId: 'Motion', eventName: 'accel' }),
+      ports: [port],
+      // eslint-disable-next-line @typescript-eslint/no-empty-function
+      stopImmediatePropagation: () => {},
+    });
+    port.onmessage({ data: JSON.stringify({ x: 1 }) });
+
+    // eslint-disable-next-line @typescript-eslint/no-empty-function
+    cap.nativeCallback('Motion', 'removeListener', { eventName: 'accel', callbackId: first }, () => {});
+    port.onmessage({ data: JSON.stringify({ x: 2 }) });
+
+    expect(events).toEqual([
+      ['first', { x: 1 }],
+      ['second', { x: 1 }],
+      ['second', { x: 2 }],
+    ]);
+  });
+
+  it('android only takes event stream ports from native', () => {
+    let onWindowMessage: any;
+    win.androidBridge = {
+      // eslint-disable-next-line @typescript-eslint/no-empty-function
+      postMessage: () => {},
+    };
+    (win as any).addEventListener = (type: string, listener: any) => {
+      if (type === 'message') {
+        onWindowMessage = listener;
+      }
+    };
+    initBridge(win);
+
+    cap = createCapacitor(win);
+    const events: any[] = [];
+    cap.nativeCallback('Motion', 'addListener', { eventName: 'accel' }, (data) => events.push(data));
+
+    const handshake = (source: any, eventName: string) => {
+      const port: any = {};
+      onWindowMessage({
+        source,
+        data: 'capacitor.eventStream:' + JSON.stringify({ pluginId: 'Motion', eventName }),
+        ports: [port],
+        // eslint-disable-next-line @typescript-eslint/no-empty-function
+        stopImmediatePropagation: () => {},
+      });
+      return port;
+    };
+    const fromPage = handshake(win, 'accel');
+    const withoutListeners = handshake(null, 'gyro');
+    const port = handshake(null, 'accel');
+
+    expect(fromPage.onmessage).toBeUndefined();
+    expect(withoutListeners.onmessage).toBeUndefined();
+    port.onmessage({ data: JSON.stringify({ x: 1 }) });
+    expect(events).toEqual([{ x: 1 }]);
+  });
+
+  it('android takes the latest event stream port of a re-added listener', () => {
+    let onWindowMessage: any;
+    win.androidBridge = {
+      // eslint-disable-next-line @typescript-eslint/no-empty-function
+      postMessage: () => {},
+    };
+    (win as any).addEventListener = (type: string, listener: any) => {
+      if (type === 'message') {
+        onWindowMessage = listener;
+      }
+    };
+    initBridge(win);
+
+    cap = createCapacitor(win);
+    const events: any[] = [];
+    // eslint-disable-next-line @typescript-eslint/no-empty-function
+    const first = cap.nativeCallback('Motion', 'addListener', { eventName: 'accel' }, () => {});
+    // eslint-disable-next-line @typescript-eslint/no-empty-function
+    cap.nativeCallback('Motion', 'removeListener', { eventName: 'accel', callbackId: first }, () => {});
+    cap.nativeCallback('Motion', 'addListener', { eventName: 'accel' }, (data) => events.push(data));
+
+    // The handshake of the first stream only arrives now, native has already closed it
+    const handshake = (port: any) =>
+      onWindowMessage({
+        source: null,
+        data: 'capacitor.eventStream:' + JSON.stringify({ pluginId: 'Motion', eventName: 'accel' }),
+        ports: [port],
+        // eslint-disable-next-line @typescript-eslint/no-empty-function
+        stopImmediatePropagation: () => {},
+      });
+    const stale: any = { close: jest.fn() };
+    const port: any = {};
+    handshake(stale);
+    handshake(port);
+
+    expect(stale.close).toHaveBeenCalled();
+    port.onmessage({ data: JSON.stringify({ x: 1 }) });
+    expect(events).toEqual([{ x: 1 }]);
+  });
+
+  it('android runs sync calls in one batch', () => {
+    let batch: any[] = [];
+    win.androidBridge = {
+      // eslint-disable-next-line @typescript-eslint/no-empty-function
+      postMessage: () => {},
+      callSyncBatch: (json: string) => {
+        batch = JSON.parse(json);
+        return JSON.stringify([
+          { success: true, data: { value: 'a' } },
+          { success: false, error: { message: 'darn it' } },
+        ]);
+      },
+    } as any;
+    initBridge(win);
+
+    const results = (win.Capacitor as any).callSyncBatch([
+      { pluginId: 'Preferences', methodName: 'get', options: { key: 'a' } },
+      { pluginId: 'Device', methodName: 'getId' },
+    ]);
+
+    expect(batch).toEqual([
+      { pluginId: 'Preferences', methodName: 'get', options: { key: 'a' } },
+      { pluginId: 'Device', methodName: 'getId', options: {} },
+    ]);
+    expect(results).toEqual([
+      { success: true, data: { value: 'a' } },
+      { success: false, error: { message: 'darn it' } },
+    ]);
+  });
+
   it('ios nativeCallback w/ callback error', (done) => {
     mockIosPluginResult({
       data: null,